@@ -0,0 +1,22 @@
+package com.theodore.account.management.cache;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Cache that can read and write many keys with one round-trip to redis.
+ */
+public interface BatchCache {
+
+    /**
+     * @param keys keys to look up
+     * @return the cached values by key, keys that are not cached are left out
+     */
+    Map<String, Object> getAll(Collection<String> keys);
+
+    /**
+     * Stores values that were just loaded from the database.
+     */
+    void putAll(Map<String, ?> entries);
+
+}
@@ -0,0 +1,32 @@
+package com.theodore.account.management.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Receives the invalidations published by the other nodes and evicts the keys from the local caches.
+ * Messages published by this node are ignored since the local cache is already up to date.
+ */
+public class CacheInvalidationListener implements MessageListener {
+
+    private final TwoLevelCacheManager cacheManager;
+    private final String nodeId;
+
+    public CacheInvalidationListener(TwoLevelCacheManager cacheManager, String nodeId) {
+        this.cacheManager = cacheManager;
+        this.nodeId = nodeId;
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8)
+                .split(CacheInvalidationPublisher.SEPARATOR, 3);
+        if (parts.length < 2 || nodeId.equals(parts[0])) {
+            return;
+        }
+        cacheManager.onRemoteInvalidation(parts[1], parts.length == 3 ? parts[2] : null);
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.theodore.account.management.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.util.UUID;
+
+/**
+ * Publishes the keys that changed in a {@link TwoLevelCache} so that the other nodes
+ * drop them from their in-process cache.
+ * Message format is : {@code nodeId:cacheName[:key]} where a missing key means the whole cache.
+ */
+public class CacheInvalidationPublisher {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CacheInvalidationPublisher.class);
+
+    static final String SEPARATOR = ":";
+
+    private final StringRedisTemplate redisTemplate;
+    private final String channel;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    public CacheInvalidationPublisher(StringRedisTemplate redisTemplate, String channel) {
+        this.redisTemplate = redisTemplate;
+        this.channel = channel;
+    }
+
+    public void publishEvict(String cacheName, String key) {
+        publish(nodeId + SEPARATOR + cacheName + SEPARATOR + key);
+    }
+
+    public void publishClear(String cacheName) {
+        publish(nodeId + SEPARATOR + cacheName);
+    }
+
+    public String getChannel() {
+        return channel;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(channel, message);
+        } catch (RuntimeException ex) {
+            // the local entries of the other nodes still expire with their ttl
+            LOGGER.warn("Could not publish cache invalidation on channel {} : {}", channel, ex.getMessage());
+        }
+    }
+
+}
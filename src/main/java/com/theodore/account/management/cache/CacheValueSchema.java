@@ -0,0 +1,24 @@
+package com.theodore.account.management.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary layout of a cached value used by {@link CompactRedisSerializer}.
+ * The version must be changed whenever the layout changes, entries written with
+ * another version are then treated as cache misses instead of being decoded wrongly.
+ *
+ * @param <T> type of the cached value
+ */
+public interface CacheValueSchema<T> {
+
+    byte version();
+
+    Class<T> type();
+
+    void write(T value, DataOutputStream out) throws IOException;
+
+    T read(DataInputStream in) throws IOException;
+
+}
@@ -0,0 +1,110 @@
+package com.theodore.account.management.cache;
+
+import com.theodore.account.management.entities.EmailVerificationToken;
+import com.theodore.account.management.models.VerificationTokenCacheEntry;
+import com.theodore.account.management.models.dto.responses.RegisteredUserResponseDto;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Schemas of the values kept in the redis caches.
+ */
+public final class CacheValueSchemas {
+
+    /**
+     * Plain string stored as raw UTF-8.
+     */
+    public static final CacheValueSchema<String> STRING = new CacheValueSchema<>() {
+        @Override
+        public byte version() {
+            return 1;
+        }
+
+        @Override
+        public Class<String> type() {
+            return String.class;
+        }
+
+        @Override
+        public void write(String value, DataOutputStream out) throws IOException {
+            out.write(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public String read(DataInputStream in) throws IOException {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    };
+
+    /**
+     * Email and phone number, each as a nullable length prefixed string.
+     */
+    public static final CacheValueSchema<RegisteredUserResponseDto> REGISTERED_USER = new CacheValueSchema<>() {
+        @Override
+        public byte version() {
+            return 1;
+        }
+
+        @Override
+        public Class<RegisteredUserResponseDto> type() {
+            return RegisteredUserResponseDto.class;
+        }
+
+        @Override
+        public void write(RegisteredUserResponseDto value, DataOutputStream out) throws IOException {
+            writeNullableString(value.getEmail(), out);
+            writeNullableString(value.getPhoneNumber(), out);
+        }
+
+        @Override
+        public RegisteredUserResponseDto read(DataInputStream in) throws IOException {
+            return new RegisteredUserResponseDto(readNullableString(in), readNullableString(in));
+        }
+    };
+
+    /**
+     * User id and email as nullable length prefixed strings followed by the status ordinal.
+     */
+    public static final CacheValueSchema<VerificationTokenCacheEntry> VERIFICATION_TOKEN = new CacheValueSchema<>() {
+        private final EmailVerificationToken.VerificationStatus[] statuses = EmailVerificationToken.VerificationStatus.values();
+
+        @Override
+        public byte version() {
+            return 1;
+        }
+
+        @Override
+        public Class<VerificationTokenCacheEntry> type() {
+            return VerificationTokenCacheEntry.class;
+        }
+
+        @Override
+        public void write(VerificationTokenCacheEntry value, DataOutputStream out) throws IOException {
+            writeNullableString(value.userId(), out);
+            writeNullableString(value.email(), out);
+            out.writeByte(value.status().ordinal());
+        }
+
+        @Override
+        public VerificationTokenCacheEntry read(DataInputStream in) throws IOException {
+            return new VerificationTokenCacheEntry(readNullableString(in), readNullableString(in), statuses[in.readByte()]);
+        }
+    };
+
+    private CacheValueSchemas() {}
+
+    static void writeNullableString(String value, DataOutputStream out) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+}
@@ -0,0 +1,68 @@
+package com.theodore.account.management.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Redis value serializer that writes a one byte schema version followed by the value in the
+ * layout of its {@link CacheValueSchema}. Unlike the json serializer no type metadata is stored
+ * and no reflection is needed to decode.
+ * Entries with an unknown version (e.g. written by an older release or by the json serializer)
+ * are read as {@code null}, which the cache treats as a miss.
+ *
+ * @param <T> type of the cached value
+ */
+public final class CompactRedisSerializer<T> implements RedisSerializer<T> {
+
+    private final CacheValueSchema<T> schema;
+
+    private CompactRedisSerializer(CacheValueSchema<T> schema) {
+        this.schema = schema;
+    }
+
+    public static <T> CompactRedisSerializer<T> of(CacheValueSchema<T> schema) {
+        return new CompactRedisSerializer<>(schema);
+    }
+
+    @Override
+    public byte[] serialize(T value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            var bytes = new ByteArrayOutputStream(32);
+            var out = new DataOutputStream(bytes);
+            out.writeByte(schema.version());
+            schema.write(value, out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException ex) {
+            throw new SerializationException("Could not serialize " + schema.type().getSimpleName(), ex);
+        }
+    }
+
+    @Override
+    public T deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes[0] != schema.version()) {
+            return null;
+        }
+        try {
+            var in = new DataInputStream(new ByteArrayInputStream(bytes, 1, bytes.length - 1));
+            return schema.read(in);
+        } catch (IOException ex) {
+            throw new SerializationException("Could not deserialize " + schema.type().getSimpleName(), ex);
+        }
+    }
+
+    @Override
+    public Class<?> getTargetType() {
+        return schema.type();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.theodore.account.management.cache;
+
+import java.time.Duration;
+
+/**
+ * Settings of the in-process (L1) part of a {@link TwoLevelCache}.
+ * The ttl should not be longer than the ttl of the redis (L2) cache.
+ *
+ * @param maximumSize maximum number of entries kept in memory
+ * @param ttl         time after write that an entry is dropped from memory
+ */
+public record LocalCacheSpec(long maximumSize, Duration ttl) {
+}
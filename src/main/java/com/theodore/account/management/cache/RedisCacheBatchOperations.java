@@ -0,0 +1,96 @@
+package com.theodore.account.management.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Multi-key reads (MGET) and pipelined writes against the entries of a {@link RedisCache},
+ * using the same key prefix, serializers and ttl as the cache itself.
+ * Failures are logged and reported as misses, same as the cache error handler does for single keys.
+ */
+public class RedisCacheBatchOperations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RedisCacheBatchOperations.class);
+
+    private final RedisConnectionFactory connectionFactory;
+
+    public RedisCacheBatchOperations(RedisConnectionFactory connectionFactory) {
+        this.connectionFactory = connectionFactory;
+    }
+
+    public Map<String, Object> getAll(RedisCache cache, List<String> keys) {
+        Map<String, Object> found = new HashMap<>();
+        if (keys.isEmpty()) {
+            return found;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        byte[][] rawKeys = keys.stream().map(key -> rawKey(cache, key)).toArray(byte[][]::new);
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            List<byte[]> rawValues = connection.stringCommands().mGet(rawKeys);
+            if (rawValues == null) {
+                return found;
+            }
+            for (int i = 0; i < rawValues.size(); i++) {
+                byte[] rawValue = rawValues.get(i);
+                if (rawValue == null) {
+                    continue;
+                }
+                Object value = config.getValueSerializationPair().read(ByteBuffer.wrap(rawValue));
+                if (value != null) {
+                    found.put(keys.get(i), value);
+                }
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Multi-get on cache {} failed, loading {} keys from the database : {}",
+                    cache.getName(), keys.size(), ex.getMessage());
+            found.clear();
+        }
+        return found;
+    }
+
+    public void putAll(RedisCache cache, Map<String, ?> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            connection.openPipeline();
+            try {
+                entries.forEach((key, value) -> {
+                    Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                    byte[] rawValue = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+                    Expiration expiration = ttl.isZero() || ttl.isNegative()
+                            ? Expiration.persistent()
+                            : Expiration.from(ttl);
+                    connection.stringCommands().set(rawKey(cache, key), rawValue, expiration,
+                            RedisStringCommands.SetOption.upsert());
+                });
+            } finally {
+                connection.closePipeline();
+            }
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Pipelined write of {} entries on cache {} failed : {}",
+                    entries.size(), cache.getName(), ex.getMessage());
+        }
+    }
+
+    private static byte[] rawKey(RedisCache cache, String key) {
+        RedisCacheConfiguration config = cache.getCacheConfiguration();
+        String prefixedKey = config.usePrefix() ? config.getKeyPrefixFor(cache.getName()) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(prefixedKey));
+    }
+
+}
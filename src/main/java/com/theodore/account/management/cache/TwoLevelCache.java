@@ -0,0 +1,178 @@
+package com.theodore.account.management.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.cache.RedisCache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache with a bounded in-process (L1) Caffeine cache in front of a redis (L2) cache.
+ * Reads are served from memory when possible and fall back to redis, filling the memory cache.
+ * Writes go to both levels and are published so that the other nodes evict their stale local copy.
+ */
+public class TwoLevelCache implements Cache, BatchCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private final Cache redisCache;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final RedisCacheBatchOperations batchOperations;
+
+    public TwoLevelCache(String name,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> localCache,
+                         Cache redisCache,
+                         CacheInvalidationPublisher invalidationPublisher,
+                         RedisCacheBatchOperations batchOperations) {
+        this.name = name;
+        this.localCache = localCache;
+        this.redisCache = redisCache;
+        this.invalidationPublisher = invalidationPublisher;
+        this.batchOperations = batchOperations;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return redisCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object localValue = localCache.getIfPresent(localKey);
+        if (localValue != null) {
+            return new SimpleValueWrapper(localValue);
+        }
+        ValueWrapper remoteValue = redisCache.get(key);
+        if (remoteValue != null && remoteValue.get() != null) {
+            localCache.put(localKey, remoteValue.get());
+        }
+        return remoteValue;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object localValue = localCache.getIfPresent(localKey);
+        if (localValue != null) {
+            return (T) localValue;
+        }
+        T value = redisCache.get(key, valueLoader);
+        if (value != null) {
+            localCache.put(localKey, value);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        redisCache.put(key, value);
+        String localKey = localKey(key);
+        if (value != null) {
+            localCache.put(localKey, value);
+        } else {
+            localCache.invalidate(localKey);
+        }
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void evict(Object key) {
+        redisCache.evict(key);
+        String localKey = localKey(key);
+        localCache.invalidate(localKey);
+        invalidationPublisher.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        redisCache.clear();
+        localCache.invalidateAll();
+        invalidationPublisher.publishClear(name);
+    }
+
+    @Override
+    public Map<String, Object> getAll(Collection<String> keys) {
+        Map<String, Object> found = new HashMap<>(localCache.getAllPresent(keys));
+        List<String> remoteKeys = new ArrayList<>();
+        for (String key : keys) {
+            if (!found.containsKey(key)) {
+                remoteKeys.add(key);
+            }
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        Map<String, Object> remoteValues;
+        if (batchOperations != null && redisCache instanceof RedisCache cache) {
+            remoteValues = batchOperations.getAll(cache, remoteKeys);
+        } else {
+            remoteValues = new HashMap<>();
+            for (String key : remoteKeys) {
+                ValueWrapper wrapper = redisCache.get(key);
+                if (wrapper != null && wrapper.get() != null) {
+                    remoteValues.put(key, wrapper.get());
+                }
+            }
+        }
+        localCache.putAll(remoteValues);
+        found.putAll(remoteValues);
+        return found;
+    }
+
+    /**
+     * Back-fills both levels. No invalidation is published since the values
+     * are what the database holds right now, not a change of it.
+     */
+    @Override
+    public void putAll(Map<String, ?> entries) {
+        if (batchOperations != null && redisCache instanceof RedisCache cache) {
+            batchOperations.putAll(cache, entries);
+        } else {
+            entries.forEach(redisCache::put);
+        }
+        localCache.putAll(entries);
+    }
+
+    /**
+     * Drops a key only from the in-process cache, used when another node changed it.
+     */
+    public void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    /**
+     * Drops everything only from the in-process cache, used when another node cleared the cache.
+     */
+    public void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+
+}
@@ -0,0 +1,87 @@
+package com.theodore.account.management.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates the {@link RedisCacheManager} so that every redis cache gets an in-process near-cache.
+ * Local settings are taken per cache name, falling back to the defaults.
+ */
+public class TwoLevelCacheManager implements CacheManager, InitializingBean {
+
+    private final RedisCacheManager redisCacheManager;
+    private final LocalCacheSpec defaultLocalSpec;
+    private final Map<String, LocalCacheSpec> localSpecs;
+    private final CacheInvalidationPublisher invalidationPublisher;
+    private final RedisCacheBatchOperations batchOperations;
+
+    private final Map<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager,
+                                LocalCacheSpec defaultLocalSpec,
+                                Map<String, LocalCacheSpec> localSpecs,
+                                CacheInvalidationPublisher invalidationPublisher,
+                                RedisCacheBatchOperations batchOperations) {
+        this.redisCacheManager = redisCacheManager;
+        this.defaultLocalSpec = defaultLocalSpec;
+        this.localSpecs = Map.copyOf(localSpecs);
+        this.invalidationPublisher = invalidationPublisher;
+        this.batchOperations = batchOperations;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // loads the per cache redis configurations
+        redisCacheManager.afterPropertiesSet();
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache redisCache = redisCacheManager.getCache(name);
+        if (redisCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, cacheName -> createCache(cacheName, redisCache));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return redisCacheManager.getCacheNames();
+    }
+
+    /**
+     * Applies an invalidation published by another node to the local caches of this node.
+     */
+    public void onRemoteInvalidation(String cacheName, String key) {
+        TwoLevelCache cache = caches.get(cacheName);
+        if (cache == null) {
+            return;
+        }
+        if (key == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(key);
+        }
+    }
+
+    private TwoLevelCache createCache(String name, Cache redisCache) {
+        LocalCacheSpec spec = localSpecs.getOrDefault(name, defaultLocalSpec);
+        com.github.benmanes.caffeine.cache.Cache<String, Object> localCache = Caffeine.newBuilder()
+                .maximumSize(spec.maximumSize())
+                .expireAfterWrite(spec.ttl())
+                .build();
+        return new TwoLevelCache(name, localCache, redisCache, invalidationPublisher, batchOperations);
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.theodore.account.management.cache;
+
+import com.theodore.account.management.entities.EmailVerificationToken;
+import com.theodore.account.management.models.VerificationTokenCacheEntry;
+import com.theodore.account.management.utils.CacheNames;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+/**
+ * Email verification tokens by jti, written when a token is issued and updated whenever its status changes.
+ * The confirmation flows use it to reject used, revoked or mismatched tokens without reading the database
+ * and to accept a pending token without loading it first.
+ * It is only a shortcut: a miss or a cache failure falls back to the database.
+ * Writes made inside a transaction are applied once it commits, so a rolled back change never reaches the cache.
+ */
+@Component
+public class VerificationTokenCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerificationTokenCache.class);
+
+    private final CacheManager cacheManager;
+
+    public VerificationTokenCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void putPending(String jti, String userId, String email) {
+        afterCommit(() -> put(jti, new VerificationTokenCacheEntry(userId, email,
+                EmailVerificationToken.VerificationStatus.PENDING)));
+    }
+
+    public Optional<VerificationTokenCacheEntry> find(String jti) {
+        Cache cache = cache();
+        if (cache == null || jti == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.ofNullable(cache.get(jti, VerificationTokenCacheEntry.class));
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Verification token cache lookup failed, falling back to the database: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Records the new status of a token, tokens that are not cached are left out.
+     */
+    public void updateStatus(String jti, EmailVerificationToken.VerificationStatus status) {
+        afterCommit(() -> find(jti).ifPresent(entry -> put(jti, entry.withStatus(status))));
+    }
+
+    private void afterCommit(Runnable cacheWrite) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cacheWrite.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cacheWrite.run();
+            }
+        });
+    }
+
+    private void put(String jti, VerificationTokenCacheEntry entry) {
+        Cache cache = cache();
+        if (cache == null) {
+            return;
+        }
+        try {
+            cache.put(jti, entry);
+        } catch (RuntimeException ex) {
+            // a stale pending entry is safe, consuming the token checks its status in the database
+            LOGGER.warn("Could not cache verification token {}: {}", jti, ex.getMessage());
+        }
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheNames.EMAIL_VERIFICATION_TOKEN);
+    }
+
+}
@@ -1,6 +1,15 @@
 package com.theodore.account.management.config.other;
 
+import com.theodore.account.management.cache.CacheInvalidationListener;
+import com.theodore.account.management.cache.CacheInvalidationPublisher;
+import com.theodore.account.management.cache.CacheValueSchema;
+import com.theodore.account.management.cache.CacheValueSchemas;
+import com.theodore.account.management.cache.CompactRedisSerializer;
+import com.theodore.account.management.cache.LocalCacheSpec;
+import com.theodore.account.management.cache.RedisCacheBatchOperations;
+import com.theodore.account.management.cache.TwoLevelCacheManager;
 import com.theodore.account.management.utils.CacheNames;
+import com.theodore.account.management.utils.EmailVerificationJwtProps;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.cache.CacheProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -13,6 +22,9 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
@@ -29,8 +41,17 @@ public class CacheConfig implements CachingConfigurer {
     @Value("${app.cache.key-prefix}")
     private String keyPrefix;
 
+    //defaults of the in-process cache that sits in front of redis
+    @Value("${app.cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+    @Value("${app.cache.local.time-to-live:1m}")
+    private Duration localTtl;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory, CacheProperties cacheProperties
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             CacheProperties cacheProperties,
+                                             CacheInvalidationPublisher cacheInvalidationPublisher,
+                                             EmailVerificationJwtProps emailVerificationJwtProps
     ) {
         var keySerializer = new StringRedisSerializer();
         var valueSerializer = new GenericJackson2JsonRedisSerializer();
@@ -50,13 +71,56 @@ public class CacheConfig implements CachingConfigurer {
                 .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer));
 
         Map<String, RedisCacheConfiguration> perCache = new HashMap<>();
-        perCache.put(CacheNames.USER_EMAIL_FROM_ID, defaults.entryTtl(Duration.ofMinutes(30)));
+        perCache.put(CacheNames.USER_EMAIL_FROM_ID, defaults.entryTtl(Duration.ofMinutes(30))
+                .serializeValuesWith(compactValues(CacheValueSchemas.STRING)));
+        //kept as long as the tokens are valid, so that replayed tokens are rejected for their whole lifetime
+        perCache.put(CacheNames.EMAIL_VERIFICATION_TOKEN, defaults.entryTtl(emailVerificationJwtProps.ttl())
+                .serializeValuesWith(compactValues(CacheValueSchemas.VERIFICATION_TOKEN)));
+
+        //local ttl must stay below the redis ttl of the same cache
+        Map<String, LocalCacheSpec> localPerCache = new HashMap<>();
+        localPerCache.put(CacheNames.USER_EMAIL_FROM_ID, new LocalCacheSpec(50_000, Duration.ofMinutes(5)));
+        localPerCache.put(CacheNames.EMAIL_VERIFICATION_TOKEN,
+                new LocalCacheSpec(10_000, shorterOf(Duration.ofMinutes(1), emailVerificationJwtProps.ttl())));
 
-        return RedisCacheManager.RedisCacheManagerBuilder
+        RedisCacheManager redisCacheManager = RedisCacheManager.RedisCacheManagerBuilder
                 .fromConnectionFactory(connectionFactory)
                 .cacheDefaults(defaults)
                 .withInitialCacheConfigurations(perCache)
                 .build();
+
+        return new TwoLevelCacheManager(redisCacheManager,
+                new LocalCacheSpec(localMaximumSize, localTtl),
+                localPerCache,
+                cacheInvalidationPublisher,
+                new RedisCacheBatchOperations(connectionFactory));
+    }
+
+    private static Duration shorterOf(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static <T> RedisSerializationContext.SerializationPair<T> compactValues(CacheValueSchema<T> schema) {
+        return RedisSerializationContext.SerializationPair.fromSerializer(CompactRedisSerializer.of(schema));
+    }
+
+    @Bean
+    public CacheInvalidationPublisher cacheInvalidationPublisher(StringRedisTemplate stringRedisTemplate) {
+        return new CacheInvalidationPublisher(stringRedisTemplate, keyPrefix + "::cache-invalidation");
+    }
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                            TwoLevelCacheManager cacheManager,
+                                                                            CacheInvalidationPublisher cacheInvalidationPublisher
+    ) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                new CacheInvalidationListener(cacheManager, cacheInvalidationPublisher.getNodeId()),
+                new ChannelTopic(cacheInvalidationPublisher.getChannel())
+        );
+        return container;
     }
 
     @Override
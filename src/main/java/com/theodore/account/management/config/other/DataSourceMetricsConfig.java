@@ -0,0 +1,42 @@
+package com.theodore.account.management.config.other;
+
+import com.theodore.account.management.utils.ConnectionMetricsDataSource;
+import com.theodore.account.management.utils.DataSourceMetricsProps;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+import javax.sql.DataSource;
+
+@Configuration
+@EnableConfigurationProperties(DataSourceMetricsProps.class)
+public class DataSourceMetricsConfig {
+
+    /**
+     * Wraps the data source in {@link ConnectionMetricsDataSource}. The pool stays reachable through unwrap,
+     * so the hikari metrics and health checks of the actuator keep working.
+     * The meter registry is looked up on the first recorded connection, not when the data source is created.
+     */
+    @Bean
+    public static BeanPostProcessor connectionMetricsDataSourcePostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                                                             ObjectProvider<DataSourceMetricsProps> props) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConnectionMetricsDataSource)) {
+                    var metricsProps = props.getObject();
+                    if (metricsProps.enabled()) {
+                        return new ConnectionMetricsDataSource(dataSource,
+                                SingletonSupplier.of(meterRegistry::getObject), metricsProps);
+                    }
+                }
+                return bean;
+            }
+        };
+    }
+
+}
@@ -1,5 +1,9 @@
 package com.theodore.account.management.config.other;
 
+import com.theodore.account.management.utils.MethodMetricsProps;
+import com.theodore.account.management.utils.OutboxRelayProps;
+import com.theodore.account.management.utils.TokenCleanupProps;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -7,5 +11,6 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 @EnableJpaAuditing
 @EnableScheduling
 @Configuration
+@EnableConfigurationProperties({OutboxRelayProps.class, TokenCleanupProps.class, MethodMetricsProps.class})
 public class GeneralConfig {
 }
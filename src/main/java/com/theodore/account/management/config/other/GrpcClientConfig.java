@@ -0,0 +1,37 @@
+package com.theodore.account.management.config.other;
+
+import com.theodore.account.management.utils.AuthServerGrpcProps;
+import net.devh.boot.grpc.client.channelfactory.GrpcChannelConfigurer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(AuthServerGrpcProps.class)
+public class GrpcClientConfig {
+
+    /**
+     * When spring.threads.virtual.enabled is set the grpc client callbacks
+     * (response listeners and future completions) run on virtual threads as well,
+     * instead of the default cached platform thread pool of grpc.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ExecutorService grpcClientVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("grpc-client-", 0).factory());
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public GrpcChannelConfigurer virtualThreadChannelConfigurer(@Qualifier("grpcClientVirtualThreadExecutor")
+                                                                ExecutorService grpcClientVirtualThreadExecutor) {
+        return (channelBuilder, name) -> channelBuilder.executor(grpcClientVirtualThreadExecutor);
+    }
+
+}
@@ -0,0 +1,157 @@
+package com.theodore.account.management.config.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Keeps the client credentials token of one client registration in memory, ready to be sent as a bearer header.
+ * Reading a valid token is a single volatile read. The token is replaced ahead of its expiry by one caller
+ * while the others keep using the current one; only when there is no usable token at all do callers wait,
+ * and then for a single shared refresh.
+ */
+class ClientCredentialsTokenCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ClientCredentialsTokenCache.class);
+
+    static final String REFRESH_METRIC = "grpc.client.token.refresh";
+
+    private final OAuth2AuthorizedClientManager authorizedClientManager;
+    private final OAuth2AuthorizedClientService authorizedClientService;
+    private final String registrationId;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicReference<CachedToken> current = new AtomicReference<>();
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    ClientCredentialsTokenCache(OAuth2AuthorizedClientManager authorizedClientManager,
+                                OAuth2AuthorizedClientService authorizedClientService,
+                                String registrationId,
+                                Duration refreshAhead,
+                                Clock clock,
+                                MeterRegistry meterRegistry) {
+        this.authorizedClientManager = authorizedClientManager;
+        this.authorizedClientService = authorizedClientService;
+        this.registrationId = registrationId;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * @return the value of the Authorization header e.g. "Bearer eyJ..."
+     * @throws IllegalStateException when no token is cached and a new one could not be obtained
+     */
+    String authorizationHeader() {
+        CachedToken token = current.get();
+        Instant now = clock.instant();
+        if (token != null && now.isBefore(token.refreshAt())) {
+            return token.authorizationHeader();
+        }
+
+        if (token != null && now.isBefore(token.expiresAt())) {
+            // still valid, so whoever gets the lock refreshes it and nobody waits
+            if (refreshLock.tryLock()) {
+                try {
+                    if (current.get() == token) {
+                        refreshQuietly();
+                    }
+                } finally {
+                    refreshLock.unlock();
+                }
+            }
+            // read once, invalidate() may drop the token at any time and then a new one is obtained below
+            CachedToken latest = current.get();
+            if (latest != null) {
+                return latest.authorizationHeader();
+            }
+        }
+
+        refreshLock.lock();
+        try {
+            CachedToken latest = current.get();
+            if (latest != null && latest != token && clock.instant().isBefore(latest.expiresAt())) {
+                return latest.authorizationHeader();
+            }
+            return refresh().authorizationHeader();
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached token so that the next call obtains a new one, e.g. after it was rejected by the server.
+     */
+    void invalidate() {
+        current.set(null);
+    }
+
+    private void refreshQuietly() {
+        try {
+            refresh();
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Early refresh of the {} token failed, keeping the current one until it expires: {}",
+                    registrationId, ex.getMessage());
+        }
+    }
+
+    private CachedToken refresh() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "failure";
+        try {
+            // the authorized client manager hands back its stored token until that is practically expired,
+            // removing it is what makes it ask the auth server for a new one
+            authorizedClientService.removeAuthorizedClient(registrationId, registrationId);
+            OAuth2AuthorizedClient client = authorizedClientManager.authorize(OAuth2AuthorizeRequest
+                    .withClientRegistrationId(registrationId)
+                    .principal(registrationId)
+                    .build());
+            if (client == null || client.getAccessToken() == null) {
+                throw new IllegalStateException("Could not obtain access token");
+            }
+
+            CachedToken token = CachedToken.of(client.getAccessToken(), refreshAhead, clock.instant());
+            current.set(token);
+            outcome = "success";
+            LOGGER.debug("Obtained a new {} token valid until {}", registrationId, token.expiresAt());
+            return token;
+        } finally {
+            sample.stop(Timer.builder(REFRESH_METRIC)
+                    .description("Requests for a new client credentials token")
+                    .tag("registration", registrationId)
+                    .tag("outcome", outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    private record CachedToken(String authorizationHeader, Instant refreshAt, Instant expiresAt) {
+
+        static CachedToken of(OAuth2AccessToken accessToken, Duration refreshAhead, Instant now) {
+            String header = "Bearer " + accessToken.getTokenValue();
+            Instant expiresAt = accessToken.getExpiresAt();
+            if (expiresAt == null) {
+                // same as the client credentials provider, a token without an expiry never expires
+                return new CachedToken(header, Instant.MAX, Instant.MAX);
+            }
+            // short lived tokens are refreshed half way through instead of on every call
+            Duration lifetime = Duration.between(now, expiresAt);
+            Duration ahead = refreshAhead.compareTo(lifetime.dividedBy(2)) > 0 ? lifetime.dividedBy(2) : refreshAhead;
+            return new CachedToken(header, expiresAt.minus(ahead), expiresAt);
+        }
+    }
+
+}
@@ -1,24 +1,31 @@
 package com.theodore.account.management.config.security;
 
+import com.theodore.account.management.utils.AuthServerGrpcProps;
 import io.grpc.*;
+import io.micrometer.core.instrument.MeterRegistry;
 import net.devh.boot.grpc.client.interceptor.GrpcGlobalClientInterceptor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
-import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+
 @Component
 @GrpcGlobalClientInterceptor
 public class GrpcClientAuthInterceptor implements ClientInterceptor {
 
-    private static final Logger LOGGER = LoggerFactory.getLogger(GrpcClientAuthInterceptor.class);
+    private static final String REGISTRATION_ID = "auth-server-grpc";
+    private static final Metadata.Key<String> AUTHORIZATION =
+            Metadata.Key.of("Authorization", Metadata.ASCII_STRING_MARSHALLER);
 
-    private final OAuth2AuthorizedClientManager authorizedClientManager;
+    private final ClientCredentialsTokenCache tokenCache;
 
-    public GrpcClientAuthInterceptor(OAuth2AuthorizedClientManager authorizedClientManager) {
-        this.authorizedClientManager = authorizedClientManager;
+    public GrpcClientAuthInterceptor(OAuth2AuthorizedClientManager authorizedClientManager,
+                                     OAuth2AuthorizedClientService authorizedClientService,
+                                     AuthServerGrpcProps grpcProps,
+                                     MeterRegistry meterRegistry) {
+        this.tokenCache = new ClientCredentialsTokenCache(authorizedClientManager, authorizedClientService,
+                REGISTRATION_ID, grpcProps.tokenRefreshAhead(), Clock.systemUTC(), meterRegistry);
     }
 
     @Override
@@ -26,29 +33,22 @@ public class GrpcClientAuthInterceptor implements ClientInterceptor {
             MethodDescriptor<ReqT, RespT> method,
             CallOptions callOptions,
             Channel next) {
-        LOGGER.info("Intercepting grpc to auth server");
         return new ForwardingClientCall.SimpleForwardingClientCall<>(next.newCall(method, callOptions)) {
             @Override
             public void start(Listener<RespT> responseListener, Metadata headers) {
-                String token = getAccessToken();
-                headers.put(Metadata.Key.of("Authorization", Metadata.ASCII_STRING_MARSHALLER), "Bearer " + token);
-                super.start(responseListener, headers);
+                headers.put(AUTHORIZATION, tokenCache.authorizationHeader());
+                super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<>(responseListener) {
+                    @Override
+                    public void onClose(Status status, Metadata trailers) {
+                        // a revoked or otherwise rejected token is not reused until it expires
+                        if (status.getCode() == Status.Code.UNAUTHENTICATED) {
+                            tokenCache.invalidate();
+                        }
+                        super.onClose(status, trailers);
+                    }
+                }, headers);
             }
         };
     }
 
-    private String getAccessToken() {
-        OAuth2AuthorizeRequest authRequest = OAuth2AuthorizeRequest
-                .withClientRegistrationId("auth-server-grpc")
-                .principal("auth-server-grpc")
-                .build();
-
-        OAuth2AuthorizedClient client = authorizedClientManager.authorize(authRequest);
-        if (client == null || client.getAccessToken() == null) {
-            throw new IllegalStateException("Could not obtain access token");
-        }
-
-        LOGGER.trace("GOT TOKEN DEFINITELY");
-        return client.getAccessToken().getTokenValue();
-    }
 }
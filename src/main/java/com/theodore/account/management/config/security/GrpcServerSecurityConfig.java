@@ -0,0 +1,36 @@
+package com.theodore.account.management.config.security;
+
+import net.devh.boot.grpc.server.security.authentication.BearerAuthenticationReader;
+import net.devh.boot.grpc.server.security.authentication.GrpcAuthenticationReader;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationProvider;
+
+/**
+ * Authenticates the calls to the gRPC services with the same bearer tokens and role mapping as the REST api.
+ * Authorization is done with {@code @PreAuthorize} on the service methods.
+ */
+@Configuration
+public class GrpcServerSecurityConfig {
+
+    @Bean
+    GrpcAuthenticationReader grpcAuthenticationReader() {
+        return new BearerAuthenticationReader(BearerTokenAuthenticationToken::new);
+    }
+
+    @Bean
+    AuthenticationManager grpcAuthenticationManager(JwtDecoder jwtDecoder,
+                                                    Converter<Jwt, ? extends AbstractAuthenticationToken> jwtAuthenticationConverter) {
+        var provider = new JwtAuthenticationProvider(jwtDecoder);
+        provider.setJwtAuthenticationConverter(jwtAuthenticationConverter);
+        return new ProviderManager(provider);
+    }
+
+}
@@ -44,12 +44,18 @@ public class ProjectSecurityConfig {
                                         ||
                                         (request.getMethod().equals("POST") &&
                                                 request.getServletPath().startsWith("/admin/"))
+                                        ||
+                                        (request.getMethod().equals("POST") &&
+                                                request.getServletPath().startsWith("/misc/"))
                         )
                 )
                 .authorizeHttpRequests(authorize -> authorize
                         .requestMatchers(HttpMethod.POST, "/register/**").permitAll()
                         .requestMatchers(HttpMethod.POST, "/confirmation/**").permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/**").permitAll()
+                        // health is probed without a token, the other endpoints expose internals
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
+                        .requestMatchers("/actuator/**").hasAnyRole("SYS_ADMIN", "INTERNAL_SERVICE")
                         // any other request requires authentication
                         .anyRequest().authenticated()
                 )
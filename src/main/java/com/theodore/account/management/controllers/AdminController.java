@@ -1,12 +1,16 @@
 package com.theodore.account.management.controllers;
 
+import com.theodore.account.management.models.dto.requests.BulkOrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.models.dto.requests.OrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
 import com.theodore.account.management.models.dto.requests.UserChangeInformationRequestDto;
+import com.theodore.account.management.models.dto.responses.BulkOrganizationRegistrationDecisionResponseDto;
+import com.theodore.account.management.models.dto.responses.CursorSearchResponse;
 import com.theodore.account.management.models.dto.responses.RegistrationProcessResponseDto;
-import com.theodore.infrastructure.common.models.SearchResponse;
+import com.theodore.account.management.services.OrganizationRegistrationBulkDecisionService;
 import com.theodore.account.management.services.OrganizationRegistrationProcessService;
 import com.theodore.account.management.services.ProfileManagementService;
+import com.theodore.infrastructure.common.models.SearchResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -19,11 +23,14 @@ public class AdminController {
 
     private final OrganizationRegistrationProcessService organizationRegistrationProcessService;
     private final ProfileManagementService profileManagementService;
+    private final OrganizationRegistrationBulkDecisionService organizationRegistrationBulkDecisionService;
 
     public AdminController(OrganizationRegistrationProcessService organizationRegistrationProcessService,
-                           ProfileManagementService profileManagementService) {
+                           ProfileManagementService profileManagementService,
+                           OrganizationRegistrationBulkDecisionService organizationRegistrationBulkDecisionService) {
         this.organizationRegistrationProcessService = organizationRegistrationProcessService;
         this.profileManagementService = profileManagementService;
+        this.organizationRegistrationBulkDecisionService = organizationRegistrationBulkDecisionService;
     }
 
     @PostMapping("/manage")
@@ -35,7 +42,7 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
-    @PostMapping("/org-registration/search")
+    @PostMapping(value = "/org-registration/search", params = "page")
     @PreAuthorize("hasRole('SYS_ADMIN')")
     public ResponseEntity<SearchResponse<RegistrationProcessResponseDto>> searchOrganizationRegistrationRequests(
             @RequestParam int page,
@@ -46,6 +53,18 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @PostMapping(value = "/org-registration/search", params = "!page")
+    @PreAuthorize("hasRole('SYS_ADMIN')")
+    public ResponseEntity<CursorSearchResponse<RegistrationProcessResponseDto>> searchOrganizationRegistrationRequestsAfterCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam int pageSize,
+            @RequestParam(defaultValue = "false") boolean withTotal,
+            @RequestBody @Valid SearchRegistrationProcessRequestDto searchRequest
+    ) {
+        var response = organizationRegistrationProcessService.searchOrganizationRegistrationProcess(searchRequest, cursor, pageSize, withTotal);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @PostMapping("/org-registration/decision")
     @PreAuthorize("hasRole('SYS_ADMIN')")
     public ResponseEntity<Void> organizationRegistrationDecision(@RequestBody @Valid OrganizationRegistrationDecisionRequestDto requestDto) {
@@ -53,4 +72,13 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/org-registration/decisions")
+    @PreAuthorize("hasRole('SYS_ADMIN')")
+    public ResponseEntity<BulkOrganizationRegistrationDecisionResponseDto> organizationRegistrationDecisions(
+            @RequestBody @Valid BulkOrganizationRegistrationDecisionRequestDto requestDto
+    ) {
+        var response = organizationRegistrationBulkDecisionService.organizationRegistrationDecisions(requestDto);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
 }
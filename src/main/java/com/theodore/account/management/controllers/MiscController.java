@@ -1,12 +1,12 @@
 package com.theodore.account.management.controllers;
 
+import com.theodore.account.management.models.dto.requests.UserEmailsRequestDto;
+import com.theodore.account.management.models.dto.responses.UserEmailsResponseDto;
 import com.theodore.account.management.services.ProfileManagementService;
+import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
 
 @RestController
 @RequestMapping("/misc")
@@ -24,4 +24,12 @@ public class MiscController {
         return ResponseEntity.ok().body(profileManagementService.getUserEmailByUserId(userId));
     }
 
+    @PostMapping("/driver-emails")
+    @PreAuthorize("hasRole('INTERNAL_SERVICE')")
+    public ResponseEntity<UserEmailsResponseDto> getUserEmailsFromIds(@RequestBody @Valid UserEmailsRequestDto requestDto) {
+        return ResponseEntity.ok().body(
+                new UserEmailsResponseDto(profileManagementService.getUserEmailsByUserIds(requestDto.userIds()))
+        );
+    }
+
 }
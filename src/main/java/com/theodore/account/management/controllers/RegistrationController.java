@@ -1,16 +1,30 @@
 package com.theodore.account.management.controllers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.enums.UserImportFormat;
 import com.theodore.account.management.models.dto.requests.CreateNewOrganizationEntityRequestDto;
 import com.theodore.account.management.models.dto.requests.CreateNewOrganizationUserRequestDto;
 import com.theodore.account.management.models.dto.requests.CreateNewSimpleUserRequestDto;
+import com.theodore.account.management.models.dto.responses.OrganizationUserImportResultDto;
 import com.theodore.account.management.models.dto.responses.RegisteredOrganizationResponseDto;
 import com.theodore.account.management.models.dto.responses.RegisteredUserResponseDto;
+import com.theodore.account.management.services.OrganizationUserImportService;
 import com.theodore.account.management.services.RegistrationService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
 
 
 @RestController
@@ -18,9 +32,15 @@ import org.springframework.web.bind.annotation.*;
 public class RegistrationController {
 
     private final RegistrationService registrationService;
+    private final OrganizationUserImportService organizationUserImportService;
+    private final ObjectMapper objectMapper;
 
-    public RegistrationController(RegistrationService registrationService) {
+    public RegistrationController(RegistrationService registrationService,
+                                  OrganizationUserImportService organizationUserImportService,
+                                  ObjectMapper objectMapper) {
         this.registrationService = registrationService;
+        this.organizationUserImportService = organizationUserImportService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping("/user/simple")
@@ -39,6 +59,32 @@ public class RegistrationController {
         return ResponseEntity.status(HttpStatus.CREATED).body(responseDto);
     }
 
+    /**
+     * Registers the employees of an organization from a csv or ndjson upload.
+     * The outcome of every row is streamed back as ndjson while the upload is still being read.
+     * Organization admins can only import into their own organization, checked before the response starts.
+     */
+    @PostMapping(value = "/user/organization/bulk",
+            consumes = {"text/csv", "application/x-ndjson"},
+            produces = "application/x-ndjson")
+    @PreAuthorize("hasAnyRole('ORGANIZATION_ADMIN', 'SYS_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> importOrganizationUsers(@RequestParam @NotBlank String organizationRegNumber,
+                                                                         @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                                         InputStream upload) {
+        var format = UserImportFormat.fromContentType(contentType);
+
+        organizationUserImportService.checkImportAllowed(organizationRegNumber);
+
+        StreamingResponseBody report = output -> organizationUserImportService.importOrganizationUsers(organizationRegNumber,
+                format,
+                upload,
+                results -> writeResults(output, results));
+
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.parseMediaType(UserImportFormat.NDJSON.getMediaType()))
+                .body(report);
+    }
+
     @PostMapping("/organization")
     public ResponseEntity<RegisteredOrganizationResponseDto> registerNewOrganization(@RequestBody @Valid CreateNewOrganizationEntityRequestDto newOrganizationRequestDto) {
 
@@ -53,4 +99,16 @@ public class RegistrationController {
         return ResponseEntity.noContent().build();
     }
 
+    private void writeResults(OutputStream output, List<OrganizationUserImportResultDto> results) {
+        try {
+            for (OrganizationUserImportResultDto result : results) {
+                output.write(objectMapper.writeValueAsBytes(result));
+                output.write('\n');
+            }
+            output.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
 }
@@ -1,12 +1,13 @@
 package com.theodore.account.management.entities;
 
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.Instant;
 
 @Entity
 @Table(name = "email_verification_token")
-public class EmailVerificationToken {
+public class EmailVerificationToken implements Persistable<String> {
 
     public enum VerificationStatus {PENDING, USED, REVOKED}
 
@@ -33,6 +34,23 @@ public class EmailVerificationToken {
     @Column(name = "status", nullable = false, length = 16)
     private VerificationStatus status = VerificationStatus.PENDING;
 
+    // the jti is assigned when the token is issued, so it cannot tell save() whether the row exists
+    @Transient
+    private boolean persisted;
+
+    @Override
+    public String getId() {
+        return jti;
+    }
+
+    /**
+     * A token that was neither loaded nor persisted is inserted by save() without selecting it by jti first.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted;
+    }
+
     public String getJti() {
         return jti;
     }
@@ -88,4 +106,11 @@ public class EmailVerificationToken {
     public void setStatus(VerificationStatus status) {
         this.status = status;
     }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
 }
@@ -10,7 +10,8 @@ import jakarta.persistence.*;
 public class OrganizationRegistrationProcess extends AuditableUpdateEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "organization_registration_process_id_seq")
+    @SequenceGenerator(name = "organization_registration_process_id_seq", sequenceName = "organization_registration_process_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "organization_name", nullable = false)
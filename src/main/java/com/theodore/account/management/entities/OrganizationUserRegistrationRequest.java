@@ -10,7 +10,8 @@ import jakarta.persistence.*;
 public class OrganizationUserRegistrationRequest extends AuditableUpdateEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registration_request_id_seq")
+    @SequenceGenerator(name = "registration_request_id_seq", sequenceName = "registration_request_id_seq", allocationSize = 50)
     private Long id;
 
     @Enumerated(EnumType.STRING)
@@ -0,0 +1,60 @@
+package com.theodore.account.management.entities;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * Lease of a scheduled job, only the node that holds an unexpired lease runs the job.
+ * The rows are only written through the conditional queries of the repository.
+ */
+@Entity
+@Table(name = "scheduled_job_lease")
+public class ScheduledJobLease {
+
+    @Id
+    @Column(name = "job_name", nullable = false, updatable = false, length = 64)
+    private String jobName;
+
+    @Column(name = "locked_until", nullable = false)
+    private Instant lockedUntil;
+
+    @Column(name = "locked_at", nullable = false)
+    private Instant lockedAt;
+
+    @Column(name = "locked_by", nullable = false)
+    private String lockedBy;
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public void setJobName(String jobName) {
+        this.jobName = jobName;
+    }
+
+    public Instant getLockedUntil() {
+        return lockedUntil;
+    }
+
+    public void setLockedUntil(Instant lockedUntil) {
+        this.lockedUntil = lockedUntil;
+    }
+
+    public Instant getLockedAt() {
+        return lockedAt;
+    }
+
+    public void setLockedAt(Instant lockedAt) {
+        this.lockedAt = lockedAt;
+    }
+
+    public String getLockedBy() {
+        return lockedBy;
+    }
+
+    public void setLockedBy(String lockedBy) {
+        this.lockedBy = lockedBy;
+    }
+
+}
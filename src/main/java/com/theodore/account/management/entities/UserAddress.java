@@ -8,7 +8,8 @@ import jakarta.persistence.*;
 public class UserAddress {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_address_id_seq")
+    @SequenceGenerator(name = "user_address_id_seq", sequenceName = "user_address_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
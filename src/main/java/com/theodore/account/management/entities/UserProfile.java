@@ -3,12 +3,13 @@ package com.theodore.account.management.entities;
 import com.theodore.infrastructure.common.entities.AuditableUpdateEntity;
 import com.theodore.infrastructure.common.utils.MobilityUtils;
 import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
 
 import java.time.LocalDate;
 
 @Entity
 @Table(name = "user_profile")
-public class UserProfile extends AuditableUpdateEntity {
+public class UserProfile extends AuditableUpdateEntity implements Persistable<String> {
 
     @Id
     @Column(name = "id", length = 26, nullable = false)
@@ -37,6 +38,10 @@ public class UserProfile extends AuditableUpdateEntity {
     @ManyToOne(fetch = FetchType.LAZY)
     private Organization organization;
 
+    // the id is assigned from the auth server, so it cannot tell save() whether the row exists
+    @Transient
+    private boolean persisted;
+
     public UserProfile() {
     }
 
@@ -117,10 +122,25 @@ public class UserProfile extends AuditableUpdateEntity {
         this.organization = organization;
     }
 
+    /**
+     * A profile that was neither loaded nor persisted and has no creation date is inserted by save()
+     * without selecting it by id first.
+     */
+    @Override
+    public boolean isNew() {
+        return !persisted && getDateCreated() == null;
+    }
+
     @PrePersist
     @PreUpdate
     public void normalizeEmail() {
         email = MobilityUtils.normalizeEmail(email);
     }
 
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        persisted = true;
+    }
+
 }
@@ -2,17 +2,25 @@ package com.theodore.account.management.entities.specifications;
 
 import com.theodore.account.management.entities.OrganizationRegistrationProcess;
 import com.theodore.account.management.enums.OrganizationRegistrationStatus;
+import com.theodore.account.management.models.SearchCursor;
 import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import org.apache.commons.lang3.ObjectUtils;
 import org.springframework.data.jpa.domain.Specification;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 public class OrganizationRegistrationProcessSpecification {
 
     private static final String STATUS = "adminApprovedStatus";
+    public static final String DATE_CREATED = "dateCreated";
+    public static final String ID = "id";
 
     private OrganizationRegistrationProcessSpecification() {
     }
@@ -42,11 +50,51 @@ public class OrganizationRegistrationProcessSpecification {
                     predicates.add(criteriaBuilder.and(criteriaBuilder.equal(root.get(STATUS), OrganizationRegistrationStatus.REJECTED)));
                     break;
             }
-            if (criteriaQuery != null) {
-                criteriaQuery.distinct(true);
-            }
             return criteriaBuilder.and(predicates.toArray(Predicate[]::new));
         };
     }
 
+    /**
+     * Rows after the cursor in (date created, id) descending order, so that the next page
+     * is read from the composite index instead of skipping an offset.
+     * The redundant {@code date_created <= cursor} is what postgres turns into the index condition, the or
+     * alone is only applied as a filter, which reads every newer row again before reaching the page.
+     */
+    public static Specification<OrganizationRegistrationProcess> seekAfter(SearchCursor cursor) {
+        return (root, criteriaQuery, criteriaBuilder) -> {
+            Path<Comparable<Object>> dateCreated = root.get(DATE_CREATED);
+            Path<Long> id = root.get(ID);
+            Comparable<Object> lastDateCreated = parseDate(dateCreated.getJavaType(), cursor.dateCreated());
+            return criteriaBuilder.and(
+                    criteriaBuilder.lessThanOrEqualTo(dateCreated, lastDateCreated),
+                    criteriaBuilder.or(
+                            criteriaBuilder.lessThan(dateCreated, lastDateCreated),
+                            criteriaBuilder.and(
+                                    criteriaBuilder.equal(dateCreated, lastDateCreated),
+                                    criteriaBuilder.lessThan(id, cursor.id())
+                            )
+                    )
+            );
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Comparable<Object> parseDate(Class<?> type, String value) {
+        try {
+            Comparable<?> parsed;
+            if (Instant.class.equals(type)) {
+                parsed = Instant.parse(value);
+            } else if (OffsetDateTime.class.equals(type)) {
+                parsed = OffsetDateTime.parse(value);
+            } else if (ZonedDateTime.class.equals(type)) {
+                parsed = ZonedDateTime.parse(value);
+            } else {
+                parsed = LocalDateTime.parse(value);
+            }
+            return (Comparable<Object>) parsed;
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
 }
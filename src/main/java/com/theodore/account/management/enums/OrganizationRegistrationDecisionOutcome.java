@@ -0,0 +1,7 @@
+package com.theodore.account.management.enums;
+
+public enum OrganizationRegistrationDecisionOutcome {
+
+    APPROVED, REJECTED, NOT_FOUND, ALREADY_DECIDED, FAILED;
+
+}
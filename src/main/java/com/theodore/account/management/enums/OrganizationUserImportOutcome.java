@@ -0,0 +1,7 @@
+package com.theodore.account.management.enums;
+
+public enum OrganizationUserImportOutcome {
+
+    REGISTERED, INVALID, DUPLICATE, FAILED;
+
+}
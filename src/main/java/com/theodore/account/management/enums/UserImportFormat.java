@@ -0,0 +1,30 @@
+package com.theodore.account.management.enums;
+
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum UserImportFormat {
+
+    CSV("text/csv"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    UserImportFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public static UserImportFormat fromContentType(String contentType) {
+        var requested = MediaType.parseMediaType(contentType);
+        return Arrays.stream(values())
+                .filter(format -> MediaType.parseMediaType(format.mediaType).isCompatibleWith(requested))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unsupported import format: " + contentType));
+    }
+
+}
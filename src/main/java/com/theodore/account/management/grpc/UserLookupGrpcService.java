@@ -0,0 +1,41 @@
+package com.theodore.account.management.grpc;
+
+import com.theodore.account.management.grpc.proto.AccountManagementUserLookupGrpc;
+import com.theodore.account.management.grpc.proto.UserEmailsRequest;
+import com.theodore.account.management.grpc.proto.UserEmailsResponse;
+import com.theodore.account.management.models.dto.requests.UserEmailsRequestDto;
+import com.theodore.account.management.services.ProfileManagementService;
+import io.grpc.Status;
+import io.grpc.stub.StreamObserver;
+import net.devh.boot.grpc.server.service.GrpcService;
+import org.springframework.security.access.prepost.PreAuthorize;
+
+/**
+ * gRPC counterpart of the {@code /misc/driver-emails} endpoint for internal services.
+ */
+@GrpcService
+public class UserLookupGrpcService extends AccountManagementUserLookupGrpc.AccountManagementUserLookupImplBase {
+
+    private final ProfileManagementService profileManagementService;
+
+    public UserLookupGrpcService(ProfileManagementService profileManagementService) {
+        this.profileManagementService = profileManagementService;
+    }
+
+    @Override
+    @PreAuthorize("hasRole('INTERNAL_SERVICE')")
+    public void getUserEmails(UserEmailsRequest request, StreamObserver<UserEmailsResponse> responseObserver) {
+        if (request.getUserIdsCount() == 0 || request.getUserIdsCount() > UserEmailsRequestDto.MAX_USER_IDS) {
+            responseObserver.onError(Status.INVALID_ARGUMENT
+                    .withDescription("Between 1 and " + UserEmailsRequestDto.MAX_USER_IDS + " user ids per request")
+                    .asRuntimeException());
+            return;
+        }
+
+        var emails = profileManagementService.getUserEmailsByUserIds(request.getUserIdsList());
+
+        responseObserver.onNext(UserEmailsResponse.newBuilder().putAllEmails(emails).build());
+        responseObserver.onCompleted();
+    }
+
+}
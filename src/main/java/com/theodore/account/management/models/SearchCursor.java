@@ -0,0 +1,36 @@
+package com.theodore.account.management.models;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+
+/**
+ * Position of the last row of a keyset page, ordered by (date created, id) descending.
+ * Sent to clients as an opaque url safe string.
+ *
+ * @param dateCreated creation date of the last row, as printed by its java type
+ * @param id          id of the last row, breaks ties between rows created at the same time
+ */
+public record SearchCursor(String dateCreated, long id) {
+
+    private static final String SEPARATOR = "|";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((dateCreated + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            String dateCreated = decoded.substring(0, separator);
+            // fail here rather than while the query is built
+            DateTimeFormatter.ISO_DATE_TIME.parse(dateCreated);
+            return new SearchCursor(dateCreated, Long.parseLong(decoded.substring(separator + 1)));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid search cursor");
+        }
+    }
+
+}
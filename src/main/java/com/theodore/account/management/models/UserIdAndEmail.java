@@ -0,0 +1,4 @@
+package com.theodore.account.management.models;
+
+public record UserIdAndEmail(String userId, String email) {
+}
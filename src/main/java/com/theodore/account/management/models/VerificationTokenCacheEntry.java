@@ -0,0 +1,20 @@
+package com.theodore.account.management.models;
+
+import com.theodore.account.management.entities.EmailVerificationToken;
+
+/**
+ * What is needed to check an email verification token without reading it from the database.
+ *
+ * @param userId the subject the token was issued to
+ * @param email  the email the token was issued for
+ * @param status the current status of the token
+ */
+public record VerificationTokenCacheEntry(String userId,
+                                          String email,
+                                          EmailVerificationToken.VerificationStatus status) {
+
+    public VerificationTokenCacheEntry withStatus(EmailVerificationToken.VerificationStatus newStatus) {
+        return new VerificationTokenCacheEntry(userId, email, newStatus);
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.theodore.account.management.models.dto.requests;
+
+import com.theodore.account.management.enums.OrganizationRegistrationDecision;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * @param ids      organization registration processes that get the same decision
+ * @param decision the decision made by the system admin
+ */
+public record BulkOrganizationRegistrationDecisionRequestDto(@NotEmpty
+                                                             @Size(max = BulkOrganizationRegistrationDecisionRequestDto.MAX_IDS)
+                                                             List<@NotNull Long> ids,
+                                                             @NotNull OrganizationRegistrationDecision decision) {
+
+    public static final int MAX_IDS = 500;
+
+}
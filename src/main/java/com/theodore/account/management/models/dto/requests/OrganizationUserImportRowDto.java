@@ -0,0 +1,19 @@
+package com.theodore.account.management.models.dto.requests;
+
+import com.theodore.infrastructure.common.utils.StrongPasswordValidator;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * One employee of a bulk import, the organization is the one the import was made for.
+ */
+public record OrganizationUserImportRowDto(@NotBlank String email,
+                                           @NotBlank String mobileNumber,
+                                           @NotBlank String name,
+                                           @NotBlank String surname,
+                                           @StrongPasswordValidator String password) {
+
+    public CreateNewOrganizationUserRequestDto toRequestDto(String email, String organizationRegNumber) {
+        return new CreateNewOrganizationUserRequestDto(email, mobileNumber, name, surname, password, organizationRegNumber);
+    }
+
+}
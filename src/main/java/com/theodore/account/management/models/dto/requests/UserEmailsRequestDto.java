@@ -0,0 +1,15 @@
+package com.theodore.account.management.models.dto.requests;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record UserEmailsRequestDto(@NotEmpty
+                                   @Size(max = UserEmailsRequestDto.MAX_USER_IDS)
+                                   List<@NotBlank String> userIds) {
+
+    public static final int MAX_USER_IDS = 5000;
+
+}
@@ -0,0 +1,9 @@
+package com.theodore.account.management.models.dto.responses;
+
+import java.util.List;
+
+/**
+ * @param results one result per requested id, in the order of the request
+ */
+public record BulkOrganizationRegistrationDecisionResponseDto(List<OrganizationRegistrationDecisionResultDto> results) {
+}
@@ -0,0 +1,19 @@
+package com.theodore.account.management.models.dto.responses;
+
+import java.util.List;
+
+/**
+ * One keyset page of search results.
+ *
+ * @param data          the results of the page
+ * @param pageSize      the requested page size
+ * @param nextCursor    cursor of the next page, null on the last page
+ * @param last          whether this is the last page
+ * @param totalElements total matching results, only counted when requested
+ */
+public record CursorSearchResponse<T>(List<T> data,
+                                      int pageSize,
+                                      String nextCursor,
+                                      boolean last,
+                                      Long totalElements) {
+}
@@ -0,0 +1,11 @@
+package com.theodore.account.management.models.dto.responses;
+
+import com.theodore.account.management.enums.OrganizationRegistrationDecisionOutcome;
+
+/**
+ * @param id      the organization registration process
+ * @param outcome what happened to it
+ * @param reason  why it was not decided, null otherwise
+ */
+public record OrganizationRegistrationDecisionResultDto(Long id, OrganizationRegistrationDecisionOutcome outcome, String reason) {
+}
@@ -0,0 +1,12 @@
+package com.theodore.account.management.models.dto.responses;
+
+import com.theodore.account.management.enums.OrganizationUserImportOutcome;
+
+/**
+ * @param row     the position of the row in the upload, starting from 1 and not counting the csv header
+ * @param email   the email of the row, null if it could not be read
+ * @param outcome what happened to it
+ * @param reason  why it was not registered, null otherwise
+ */
+public record OrganizationUserImportResultDto(long row, String email, OrganizationUserImportOutcome outcome, String reason) {
+}
@@ -0,0 +1,9 @@
+package com.theodore.account.management.models.dto.responses;
+
+import java.util.Map;
+
+/**
+ * @param emails email by user id, unknown user ids are left out
+ */
+public record UserEmailsResponseDto(Map<String, String> emails) {
+}
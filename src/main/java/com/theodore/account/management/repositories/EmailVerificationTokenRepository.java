@@ -1,21 +1,54 @@
 package com.theodore.account.management.repositories;
 
 import com.theodore.account.management.entities.EmailVerificationToken;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
 import java.util.Optional;
 
-public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, Long> {
+public interface EmailVerificationTokenRepository extends JpaRepository<EmailVerificationToken, String> {
 
     @Query(value = "select * from email_verification_token token where token.user_id = ?1 and token.status = 'PENDING'",
             nativeQuery = true)
     Optional<EmailVerificationToken> findByUserIdAndStatusPending(String userId);
 
+    /**
+     * Moves the token to the new status only if it is still in the expected one.
+     *
+     * @return 1 when the token was updated, 0 when it does not exist or its status has already changed
+     */
+    @Transactional
     @Modifying
-    @Query("delete from EmailVerificationToken e where e.status <> :status")
-    int deleteByStatusNot(@Param("status") EmailVerificationToken.VerificationStatus status);
+    @Query("update EmailVerificationToken e set e.status = :status where e.jti = :jti and e.status = :expected")
+    int updateStatusByJti(@Param("jti") String jti,
+                          @Param("expected") EmailVerificationToken.VerificationStatus expected,
+                          @Param("status") EmailVerificationToken.VerificationStatus status);
+
+    /**
+     * Marks the pending token of the user as used in one statement, looked up by its jti.
+     * The expiry bound also lets postgres skip the partitions of tokens that have already expired.
+     *
+     * @return 1 when the token was consumed, 0 when it does not exist, belongs to another user,
+     * has expired or is no longer pending
+     */
+    @Transactional
+    @Modifying
+    @Query("update EmailVerificationToken e set e.status = :used " +
+            "where e.jti = :jti and e.userId = :userId and e.status = :pending and e.expiresAt > :now")
+    int consumePendingToken(@Param("jti") String jti,
+                            @Param("userId") String userId,
+                            @Param("now") Instant now,
+                            @Param("pending") EmailVerificationToken.VerificationStatus pending,
+                            @Param("used") EmailVerificationToken.VerificationStatus used);
+
+    default int consumePendingToken(String jti, String userId, Instant now) {
+        return consumePendingToken(jti, userId, now,
+                EmailVerificationToken.VerificationStatus.PENDING,
+                EmailVerificationToken.VerificationStatus.USED);
+    }
 
 }
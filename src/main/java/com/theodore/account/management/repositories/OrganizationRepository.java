@@ -1,14 +1,28 @@
 package com.theodore.account.management.repositories;
 
 import com.theodore.account.management.entities.Organization;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface OrganizationRepository extends CrudRepository<Organization, String> {
 
-    Optional<Organization> findByRegistrationNumberIgnoreCase(String registrationNumber);
+    // lower(...) instead of the derived IgnoreCase (upper) so that idx_organization_lower_registration_number is used
+    @Query("select o from organization o where lower(o.registrationNumber) = lower(:registrationNumber)")
+    Optional<Organization> findByRegistrationNumberIgnoreCase(@Param("registrationNumber") String registrationNumber);
 
-    boolean existsByRegistrationNumberIgnoreCase(String registrationNumber);
+    @Query("select count(o) > 0 from organization o where lower(o.registrationNumber) = lower(:registrationNumber)")
+    boolean existsByRegistrationNumberIgnoreCase(@Param("registrationNumber") String registrationNumber);
 
-}
\ No newline at end of file
+    /**
+     * @param registrationNumbers lower cased registration numbers
+     * @return the lower cased registration numbers of the given ones that are already taken
+     */
+    @Query("select lower(o.registrationNumber) from organization o where lower(o.registrationNumber) in :registrationNumbers")
+    List<String> findExistingRegistrationNumbers(@Param("registrationNumbers") Collection<String> registrationNumbers);
+
+}
@@ -0,0 +1,17 @@
+package com.theodore.account.management.repositories;
+
+import com.theodore.account.management.entities.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // skip locked : every node relays a different batch instead of waiting on each other
+    @Query(value = "select * from outbox_event event where event.status = 'PENDING' and event.next_attempt_at <= now() " +
+            "order by event.next_attempt_at, event.id limit ?1 for update skip locked",
+            nativeQuery = true)
+    List<OutboxEvent> findDueForUpdate(int batchSize);
+
+}
@@ -0,0 +1,39 @@
+package com.theodore.account.management.repositories;
+
+import com.theodore.account.management.entities.ScheduledJobLease;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ScheduledJobLeaseRepository extends JpaRepository<ScheduledJobLease, String> {
+
+    /**
+     * Takes the lease if nobody holds it or the lease of its holder has expired.
+     * Times come from the database clock so that the clocks of the nodes do not matter.
+     *
+     * @return 1 when the lease was taken, 0 when another node holds it
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "insert into scheduled_job_lease (job_name, locked_until, locked_at, locked_by) " +
+            "values (?1, now() + ?2 * interval '1 millisecond', now(), ?3) " +
+            "on conflict (job_name) do update " +
+            "set locked_until = excluded.locked_until, locked_at = excluded.locked_at, locked_by = excluded.locked_by " +
+            "where scheduled_job_lease.locked_until <= now()",
+            nativeQuery = true)
+    int tryAcquire(String jobName, long lockAtMostForMillis, String nodeId);
+
+    /**
+     * Gives the lease back, it stays taken until at least lockAtLeastForMillis after it was acquired
+     * so that the other nodes do not run the same tick again.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "update scheduled_job_lease " +
+            "set locked_until = greatest(now(), locked_at + ?2 * interval '1 millisecond') " +
+            "where job_name = ?1 and locked_by = ?3",
+            nativeQuery = true)
+    int release(String jobName, long lockAtLeastForMillis, String nodeId);
+
+}
@@ -1,17 +1,48 @@
 package com.theodore.account.management.repositories;
 
 import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.models.UserIdAndEmail;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserProfileRepository extends JpaRepository<UserProfile, String> {
 
-    boolean existsByEmailAndMobileNumberAllIgnoreCase(String email, String mobileNumber);
-
-    Optional<UserProfile> findByEmailIgnoreCase(String email);
-
-    Optional<UserProfile> findByIdAndEmailIgnoreCase(String id, String email);
-
+    // lower(...) instead of the derived IgnoreCase (upper) so that idx_user_profile_lower_email is used
+    @Query("select count(u) > 0 from UserProfile u " +
+            "where lower(u.email) = lower(:email) and lower(u.mobileNumber) = lower(:mobileNumber)")
+    boolean existsByEmailAndMobileNumberAllIgnoreCase(@Param("email") String email,
+                                                      @Param("mobileNumber") String mobileNumber);
+
+    @Query("select u from UserProfile u where lower(u.email) = lower(:email)")
+    Optional<UserProfile> findByEmailIgnoreCase(@Param("email") String email);
+
+    /**
+     * Same as {@link #findByEmailIgnoreCase(String)} with the organization loaded in the same select,
+     * for callers that read it once the repository call has returned.
+     */
+    @Query("select u from UserProfile u left join fetch u.organization where lower(u.email) = lower(:email)")
+    Optional<UserProfile> findWithOrganizationByEmailIgnoreCase(@Param("email") String email);
+
+    @Query("select u from UserProfile u left join fetch u.organization where u.id = :id")
+    Optional<UserProfile> findWithOrganizationById(@Param("id") String id);
+
+    @Query("select u from UserProfile u where u.id = :id and lower(u.email) = lower(:email)")
+    Optional<UserProfile> findByIdAndEmailIgnoreCase(@Param("id") String id, @Param("email") String email);
+
+    @Query("select new com.theodore.account.management.models.UserIdAndEmail(u.id, u.email) " +
+            "from UserProfile u where u.id in :ids")
+    List<UserIdAndEmail> findEmailsByIdIn(@Param("ids") Collection<String> ids);
+
+    /**
+     * @param emails lower cased emails
+     * @return the lower cased emails of the given ones that already belong to a user
+     */
+    @Query("select lower(u.email) from UserProfile u where lower(u.email) in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
 
 }
@@ -0,0 +1,227 @@
+package com.theodore.account.management.saga;
+
+import com.theodore.infrastructure.common.saga.SagaOrchestrator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * A {@link SagaOrchestrator} whose steps, compensations and outcome are timed and counted by {@link SagaMetrics}.
+ * Steps are added in order and {@link #run()} executes them, running the compensations of the completed steps
+ * if one of them fails.
+ * <p>
+ * A step added with {@link #step(String, Runnable, Runnable)} depends on every step before it, as with the orchestrator.
+ * A step added with {@link #step(String, Set, Runnable, Runnable)} only depends on the steps it names, so it runs
+ * concurrently with the other steps whose dependencies are met at the same point. Of steps running together the first
+ * one declared runs on the calling thread and the others on the saga executor. If any of them fails, the ones that
+ * completed are compensated before the failure reaches the orchestrator, which then compensates the earlier steps.
+ */
+public class InstrumentedSaga {
+
+    private final String sagaType;
+    private final SagaOrchestrator orchestrator;
+    private final SagaMetrics sagaMetrics;
+    private final Executor executor;
+    private final List<PlannedStep> steps = new ArrayList<>();
+
+    private volatile String failedStep;
+    private volatile RuntimeException failure;
+
+    InstrumentedSaga(String sagaType, SagaOrchestrator orchestrator, SagaMetrics sagaMetrics, Executor executor) {
+        this.sagaType = sagaType;
+        this.orchestrator = orchestrator;
+        this.sagaMetrics = sagaMetrics;
+        this.executor = executor;
+    }
+
+    public InstrumentedSaga step(String name, Runnable action, Runnable compensation) {
+        return addStep(name, null, action, compensation);
+    }
+
+    /**
+     * Adds a step that only waits for the given steps, which must have been added before it.
+     */
+    public InstrumentedSaga step(String name, Set<String> dependsOn, Runnable action, Runnable compensation) {
+        for (String dependency : dependsOn) {
+            if (steps.stream().noneMatch(step -> step.name().equals(dependency))) {
+                throw new IllegalArgumentException("Saga step " + name + " depends on unknown step " + dependency);
+            }
+        }
+        return addStep(name, dependsOn, action, compensation);
+    }
+
+    public void run() {
+        for (List<PlannedStep> stage : stages()) {
+            if (stage.size() == 1) {
+                var step = stage.getFirst();
+                orchestrator.step(step.name(), () -> execute(step), () -> compensate(step));
+            } else {
+                var concurrentSteps = new ConcurrentSteps(stage);
+                orchestrator.step(concurrentSteps.name(), concurrentSteps::execute, concurrentSteps::compensate);
+            }
+        }
+
+        long started = System.nanoTime();
+        try {
+            orchestrator.run();
+            sagaMetrics.recordSaga(sagaType, SagaMetrics.SUCCESS, System.nanoTime() - started);
+        } catch (RuntimeException ex) {
+            sagaMetrics.recordSaga(sagaType, SagaMetrics.FAILURE, System.nanoTime() - started);
+            // the step exception is the cause worth reporting, the orchestrator may wrap it
+            sagaMetrics.recordFailure(sagaType, failedStep != null ? failedStep : "unknown", failure != null ? failure : ex);
+            throw ex;
+        }
+    }
+
+    private InstrumentedSaga addStep(String name, Set<String> dependsOn, Runnable action, Runnable compensation) {
+        if (steps.stream().anyMatch(step -> step.name().equals(name))) {
+            throw new IllegalArgumentException("Saga step " + name + " is already defined");
+        }
+        steps.add(new PlannedStep(name, dependsOn, action, compensation));
+        return this;
+    }
+
+    /**
+     * Groups the steps into stages that run one after the other, a step goes to the first stage after all its dependencies.
+     */
+    List<List<PlannedStep>> stages() {
+        List<List<PlannedStep>> stages = new ArrayList<>();
+        Map<String, Integer> stageOfStep = new HashMap<>();
+        for (PlannedStep step : steps) {
+            int stage = step.dependsOn() == null
+                    ? stages.size()
+                    : step.dependsOn().stream().mapToInt(dependency -> stageOfStep.get(dependency) + 1).max().orElse(0);
+            if (stage == stages.size()) {
+                stages.add(new ArrayList<>());
+            }
+            stages.get(stage).add(step);
+            stageOfStep.put(step.name(), stage);
+        }
+        return stages;
+    }
+
+    private void execute(PlannedStep step) {
+        long started = System.nanoTime();
+        try {
+            step.action().run();
+            sagaMetrics.recordStep(sagaType, step.name(), SagaMetrics.SUCCESS, System.nanoTime() - started);
+        } catch (RuntimeException ex) {
+            sagaMetrics.recordStep(sagaType, step.name(), SagaMetrics.FAILURE, System.nanoTime() - started);
+            if (failure == null) {
+                failedStep = step.name();
+                failure = ex;
+            }
+            throw ex;
+        }
+    }
+
+    private void compensate(PlannedStep step) {
+        long started = System.nanoTime();
+        try {
+            step.compensation().run();
+            sagaMetrics.recordCompensation(sagaType, step.name(), SagaMetrics.SUCCESS, System.nanoTime() - started);
+        } catch (RuntimeException ex) {
+            sagaMetrics.recordCompensation(sagaType, step.name(), SagaMetrics.FAILURE, System.nanoTime() - started);
+            throw ex;
+        }
+    }
+
+    /**
+     * @param dependsOn null when the step depends on every step before it
+     */
+    record PlannedStep(String name, Set<String> dependsOn, Runnable action, Runnable compensation) {
+    }
+
+    /**
+     * Steps of one stage, run as a single orchestrator step.
+     * Every step is compensated at most once, whether its stage failed or a later one did.
+     */
+    private final class ConcurrentSteps {
+
+        private final List<PlannedStep> stage;
+        private final boolean[] pendingCompensation;
+
+        private ConcurrentSteps(List<PlannedStep> stage) {
+            this.stage = stage;
+            this.pendingCompensation = new boolean[stage.size()];
+        }
+
+        String name() {
+            return String.join("+", stage.stream().map(PlannedStep::name).toList());
+        }
+
+        void execute() {
+            List<CompletableFuture<Void>> others = new ArrayList<>();
+            for (int i = 1; i < stage.size(); i++) {
+                int index = i;
+                others.add(CompletableFuture.runAsync(() -> executeStep(index), executor));
+            }
+
+            RuntimeException stageFailure = null;
+            try {
+                executeStep(0);
+            } catch (RuntimeException ex) {
+                stageFailure = ex;
+            }
+            // every step is waited for, so that nothing is left running when the stage is compensated
+            for (CompletableFuture<Void> other : others) {
+                try {
+                    other.join();
+                } catch (CompletionException ex) {
+                    RuntimeException cause = ex.getCause() instanceof RuntimeException runtime ? runtime : ex;
+                    if (stageFailure == null) {
+                        stageFailure = cause;
+                    } else {
+                        stageFailure.addSuppressed(cause);
+                    }
+                }
+            }
+
+            if (stageFailure != null) {
+                try {
+                    compensate();
+                } catch (RuntimeException ex) {
+                    stageFailure.addSuppressed(ex);
+                }
+                throw stageFailure;
+            }
+        }
+
+        /**
+         * Compensates the completed steps in reverse order, a failing compensation does not stop the others.
+         */
+        void compensate() {
+            RuntimeException compensationFailure = null;
+            for (int i = stage.size() - 1; i >= 0; i--) {
+                if (!pendingCompensation[i]) {
+                    continue;
+                }
+                pendingCompensation[i] = false;
+                try {
+                    InstrumentedSaga.this.compensate(stage.get(i));
+                } catch (RuntimeException ex) {
+                    if (compensationFailure == null) {
+                        compensationFailure = ex;
+                    } else {
+                        compensationFailure.addSuppressed(ex);
+                    }
+                }
+            }
+            if (compensationFailure != null) {
+                throw compensationFailure;
+            }
+        }
+
+        private void executeStep(int index) {
+            InstrumentedSaga.this.execute(stage.get(index));
+            pendingCompensation[index] = true;
+        }
+    }
+
+}
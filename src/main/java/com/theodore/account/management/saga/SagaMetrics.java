@@ -0,0 +1,90 @@
+package com.theodore.account.management.saga;
+
+import com.theodore.infrastructure.common.saga.SagaOrchestrator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the sagas of the service and records how they behave: the duration of every step and of the whole saga,
+ * the compensations that ran and the step and exception that made a saga fail, all tagged by saga type.
+ * Steps that run concurrently with others are executed on the saga step executor.
+ * The numbers are published as regular meters and summarized by {@link SagaMetricsEndpoint}.
+ */
+@Component
+public class SagaMetrics {
+
+    static final String SAGA_TIMER = "saga.duration";
+    static final String STEP_TIMER = "saga.step.duration";
+    static final String COMPENSATION_TIMER = "saga.compensation.duration";
+    static final String FAILURE_COUNTER = "saga.failures";
+
+    static final String SUCCESS = "success";
+    static final String FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+    // the concurrent steps mostly wait on the auth server or the database, a virtual thread per step is enough
+    private final ExecutorService sagaStepExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("saga-step-", 0).factory());
+
+    public SagaMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * A new saga whose steps and outcome are recorded under the given type.
+     */
+    public InstrumentedSaga saga(String sagaType) {
+        return new InstrumentedSaga(sagaType, new SagaOrchestrator(), this, sagaStepExecutor);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sagaStepExecutor.close();
+    }
+
+    void recordSaga(String sagaType, String outcome, long durationNanos) {
+        timer(SAGA_TIMER, "Duration of the sagas", sagaType, null, outcome)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordStep(String sagaType, String step, String outcome, long durationNanos) {
+        timer(STEP_TIMER, "Duration of the saga steps", sagaType, step, outcome)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordCompensation(String sagaType, String step, String outcome, long durationNanos) {
+        timer(COMPENSATION_TIMER, "Duration of the saga compensations", sagaType, step, outcome)
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    void recordFailure(String sagaType, String step, Throwable cause) {
+        Counter.builder(FAILURE_COUNTER)
+                .description("Sagas that failed, by the step that failed and the exception it threw")
+                .tag("saga", sagaType)
+                .tag("step", step)
+                .tag("cause", cause.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private Timer timer(String name, String description, String sagaType, String step, String outcome) {
+        var builder = Timer.builder(name)
+                .description(description)
+                .tag("saga", sagaType)
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .publishPercentileHistogram();
+        if (step != null) {
+            builder.tag("step", step);
+        }
+        return builder.register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.theodore.account.management.saga;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/sagas}) that summarizes the meters of {@link SagaMetrics} per saga type:
+ * how many runs failed, which step takes the time, how often each step was compensated and why the sagas failed.
+ */
+@Component
+@Endpoint(id = "sagas")
+public class SagaMetricsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    public SagaMetricsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public Map<String, SagaSummary> sagas() {
+        Map<String, SagaSummary> sagas = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(SagaMetrics.SAGA_TIMER).timers()) {
+            String sagaType = timer.getId().getTag("saga");
+            sagas.computeIfAbsent(sagaType, this::saga);
+        }
+        return sagas;
+    }
+
+    @ReadOperation
+    public SagaSummary saga(@Selector String sagaType) {
+        long runs = 0;
+        long failedRuns = 0;
+        for (Timer timer : meterRegistry.find(SagaMetrics.SAGA_TIMER).tag("saga", sagaType).timers()) {
+            runs += timer.count();
+            if (SagaMetrics.FAILURE.equals(timer.getId().getTag("outcome"))) {
+                failedRuns += timer.count();
+            }
+        }
+
+        Map<String, StepSummary> steps = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(SagaMetrics.STEP_TIMER).tag("saga", sagaType).timers()) {
+            String step = timer.getId().getTag("step");
+            String outcome = timer.getId().getTag("outcome");
+            steps.merge(step + "." + outcome, stepSummary(timer, compensations(sagaType, step)), (first, second) -> first);
+        }
+
+        Map<String, Long> failures = new TreeMap<>();
+        for (Counter counter : meterRegistry.find(SagaMetrics.FAILURE_COUNTER).tag("saga", sagaType).counters()) {
+            failures.merge(counter.getId().getTag("step") + ":" + counter.getId().getTag("cause"),
+                    (long) counter.count(), Long::sum);
+        }
+
+        return new SagaSummary(runs, failedRuns, steps, failures);
+    }
+
+    private long compensations(String sagaType, String step) {
+        return meterRegistry.find(SagaMetrics.COMPENSATION_TIMER).tag("saga", sagaType).tag("step", step).timers()
+                .stream()
+                .mapToLong(Timer::count)
+                .sum();
+    }
+
+    private static StepSummary stepSummary(Timer timer, long compensations) {
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentilesMs = new TreeMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            percentilesMs.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return new StepSummary(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                percentilesMs, compensations);
+    }
+
+    /**
+     * @param runs     sagas of this type that ran
+     * @param failures runs that failed and were compensated
+     * @param steps    timings of every step, keyed by step and outcome, e.g. {@code create-auth-user.success}
+     * @param causes   failed runs keyed by the failing step and the exception it threw, e.g. {@code create-auth-user:StatusRuntimeException}
+     */
+    public record SagaSummary(long runs, long failures, Map<String, StepSummary> steps, Map<String, Long> causes) {
+    }
+
+    /**
+     * @param count         executions of the step
+     * @param meanMs        mean duration in milliseconds
+     * @param maxMs         maximum duration in milliseconds over the last distribution window
+     * @param percentilesMs p50 and p99 in milliseconds
+     * @param compensations times the compensation of the step ran
+     */
+    public record StepSummary(long count, double meanMs, double maxMs, Map<String, Double> percentilesMs,
+                              long compensations) {
+    }
+
+}
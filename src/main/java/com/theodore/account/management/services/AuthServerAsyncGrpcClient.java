@@ -0,0 +1,321 @@
+package com.theodore.account.management.services;
+
+import com.google.common.util.concurrent.FutureCallback;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.theodore.account.management.models.dto.requests.AuthUserManageAccountRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateNewSimpleAuthUserRequestDto;
+import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
+import com.theodore.account.management.models.dto.responses.OrgAdminInfoResponseDto;
+import com.theodore.account.management.utils.AuthServerGrpcProps;
+import com.theodore.infrastructure.common.entities.enums.RoleType;
+import com.theodore.user.*;
+import io.grpc.Status;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.devh.boot.grpc.client.inject.GrpcClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.theodore.account.management.services.AuthServerGrpcClient.*;
+
+/**
+ * Asynchronous counterpart of {@link AuthServerGrpcClient}.
+ * Every call returns a future so that the caller can do local work while the auth server responds.
+ * Calls have a deadline and the number of calls in flight is bounded, so a slow auth server cannot pile up
+ * an unbounded amount of work. When the limit is reached a call blocks for up to acquire-timeout
+ * waiting for a free slot and then fails with RESOURCE_EXHAUSTED.
+ */
+@Service
+public class AuthServerAsyncGrpcClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuthServerAsyncGrpcClient.class);
+
+    private static final String CALLS_METRIC = "auth.server.grpc.client.calls";
+    private static final String IN_FLIGHT_METRIC = "auth.server.grpc.client.in.flight";
+    private static final String REJECTED_METRIC = "auth.server.grpc.client.rejected";
+
+    @GrpcClient("auth-server")
+    AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationFutureStub authServerRegistrationClient;
+
+    @GrpcClient("auth-server")
+    AuthServerAccountManagementGrpc.AuthServerAccountManagementFutureStub authServerAccountManagementClient;
+
+    private final AuthServerGrpcProps grpcProps;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlightPermits;
+    private final Semaphore bulkPermits;
+    private final Counter rejectedCounter;
+
+    public AuthServerAsyncGrpcClient(AuthServerGrpcProps grpcProps, MeterRegistry meterRegistry) {
+        this.grpcProps = grpcProps;
+        this.meterRegistry = meterRegistry;
+        this.inFlightPermits = new Semaphore(grpcProps.maxInFlight());
+        this.bulkPermits = new Semaphore(grpcProps.bulkMaxInFlight());
+        this.rejectedCounter = Counter.builder(REJECTED_METRIC)
+                .description("Auth server calls rejected because the in flight limit was reached")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, inFlightPermits, permits -> grpcProps.maxInFlight() - permits.availablePermits())
+                .description("Auth server calls currently in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Registers a new simple user via gRPC call to the auth server.
+     *
+     * @param requestDto user registration data
+     * @return future completed with the created user's id
+     */
+    public CompletableFuture<AuthUserIdResponseDto> authServerNewSimpleUserRegistration(CreateNewSimpleAuthUserRequestDto requestDto) {
+        var grpcRequest = CreateNewSimpleAuthUserRequest.newBuilder()
+                .setEmail(requestDto.email())
+                .setMobileNumber(requestDto.mobileNumber())
+                .setPassword(requestDto.password())
+                .build();
+
+        return call(CREATE_SIMPLE_USER, deadline -> registrationClient(deadline).createSimpleUser(grpcRequest), false)
+                .thenApply(newUserCreated -> new AuthUserIdResponseDto(newUserCreated.getUserId()));
+    }
+
+    /**
+     * Registers a new organization user via gRPC call to the auth server.
+     *
+     * @param requestDto user registration data
+     * @param role       the role type that the user will have in the auth server
+     * @return future completed with the created user's id
+     */
+    public CompletableFuture<AuthUserIdResponseDto> authServerNewOrganizationUserRegistration(
+            CreateNewOrganizationAuthUserRequestDto requestDto,
+            RoleType role
+    ) {
+        var grpcRequest = organizationUserRequest(requestDto, role);
+
+        return call(CREATE_ORGANIZATION_USER, deadline -> registrationClient(deadline).createOrganizationUser(grpcRequest), false)
+                .thenApply(newUserCreated -> new AuthUserIdResponseDto(newUserCreated.getUserId()));
+    }
+
+    /**
+     * Registers the organization users of a bulk operation via gRPC calls to the auth server.
+     * At most bulk-max-in-flight of the calls are in flight at a time, so this method blocks
+     * until the last request has been sent: it waits for earlier calls to complete instead of
+     * having the later ones rejected, and leaves the remaining slots to the other callers.
+     *
+     * @param requestDtos user registration data
+     * @param role        the role type that the users will have in the auth server
+     * @return one future per request, in the order of the requests, completed with the created user's id
+     */
+    public List<CompletableFuture<AuthUserIdResponseDto>> authServerNewOrganizationUserRegistrations(
+            List<CreateNewOrganizationAuthUserRequestDto> requestDtos,
+            RoleType role
+    ) {
+        List<CompletableFuture<AuthUserIdResponseDto>> authUsers = new ArrayList<>(requestDtos.size());
+        for (var requestDto : requestDtos) {
+            if (!acquireBulkPermit()) {
+                authUsers.add(CompletableFuture.failedFuture(Status.CANCELLED
+                        .withDescription("Interrupted while waiting to call the auth server")
+                        .asRuntimeException()));
+                continue;
+            }
+            var grpcRequest = organizationUserRequest(requestDto, role);
+            authUsers.add(call(CREATE_ORGANIZATION_USER, deadline -> registrationClient(deadline).createOrganizationUser(grpcRequest), true)
+                    .whenComplete((response, throwable) -> bulkPermits.release())
+                    .thenApply(newUserCreated -> new AuthUserIdResponseDto(newUserCreated.getUserId())));
+        }
+        return authUsers;
+    }
+
+    /**
+     * Confirms user's account via gRPC call to the auth server.
+     *
+     * @param userId user id
+     * @return future completed with the outcome of the confirmation
+     */
+    public CompletableFuture<UserConfirmationResponse> authServerNewUserConfirmation(String userId) {
+        var request = ConfirmUserAccountRequest.newBuilder().setUserId(userId).build();
+        return call(CONFIRM_USER_ACCOUNT, deadline -> registrationClient(deadline).confirmUserAccount(request), false);
+    }
+
+    /**
+     * Fetches all the organization admin info from the auth server for an organization
+     *
+     * @param orgRegistrationNumber organization registration number
+     * @return future completed with the admin info containing their emails and ids
+     */
+    public CompletableFuture<List<OrgAdminInfoResponseDto>> getOrganizationAdminInfoFromAuthServer(String orgRegistrationNumber) {
+        var request = OrgRegistrationNumberRequest.newBuilder().setRegistrationNumber(orgRegistrationNumber).build();
+        return call(GET_ADMIN_ID_AND_EMAILS, deadline -> registrationClient(deadline).getAdminIdAndEmails(request), false)
+                .thenApply(response -> response.getOrganizationAdminInfoList().stream().map(idAndEmail ->
+                                new OrgAdminInfoResponseDto(idAndEmail.getAdminId(), idAndEmail.getAdminEmail())
+                        )
+                        .toList());
+    }
+
+    /**
+     * Confirms admin's account via gRPC call to the auth server.
+     *
+     * @param adminId     user id
+     * @param oldPassword the current password
+     * @param newPassword the new password
+     * @return future completed with the outcome of the confirmation
+     */
+    public CompletableFuture<UserConfirmationResponse> confirmAdminAccount(String adminId, String oldPassword, String newPassword) {
+        var request = ConfirmAdminAccountRequest.newBuilder()
+                .setUserId(adminId)
+                .setOldPassword(oldPassword)
+                .setNewPassword(newPassword)
+                .build();
+        return call(CONFIRM_ORGANIZATION_ADMIN_ACCOUNT,
+                deadline -> registrationClient(deadline).confirmOrganizationAdminAccount(request), false);
+    }
+
+    /**
+     * Sends changes for a user account data via gRPC call to the auth server.
+     *
+     * @param requestDto contains user id, current and new password, phone number , current and new emails
+     * @return future completed when the auth server has applied the changes
+     */
+    public CompletableFuture<Void> manageAuthServerUserAccount(AuthUserManageAccountRequestDto requestDto) {
+        var grpcRequest = ManageAuthUserAccountRequest.newBuilder()
+                .setUserId(requestDto.userId())
+                .setOldEmail(requestDto.oldEmail())
+                .setNewEmail(requestDto.newEmail())
+                .setMobileNumber(requestDto.phoneNumber())
+                .setOldPassword(requestDto.oldPassword())
+                .setNewPassword(requestDto.newPassword())
+                .build();
+
+        return call(MANAGE_USER_ACCOUNT, deadline -> accountManagementClient(deadline).manageUserAccount(grpcRequest), false)
+                .thenApply(response -> null);
+    }
+
+    /**
+     * Waits for an auth server call and rethrows its failure unwrapped,
+     * so that callers see the same exceptions as with {@link AuthServerGrpcClient}.
+     */
+    public static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * @param waitForPermit whether the call waits for a free slot for as long as it takes, as the bulk calls do,
+     *                      instead of for acquire-timeout
+     */
+    private <T> CompletableFuture<T> call(String method, Function<Long, ListenableFuture<T>> invocation, boolean waitForPermit) {
+        if (!acquirePermit(method, waitForPermit)) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(Status.RESOURCE_EXHAUSTED
+                    .withDescription("Too many concurrent calls to the auth server")
+                    .asRuntimeException());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ListenableFuture<T> grpcFuture;
+        try {
+            grpcFuture = invocation.apply(grpcProps.deadlineFor(method).toMillis());
+        } catch (RuntimeException ex) {
+            complete(method, sample, ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+
+        var result = new CompletableFuture<T>();
+        Futures.addCallback(grpcFuture, new FutureCallback<>() {
+            @Override
+            public void onSuccess(T response) {
+                complete(method, sample, null);
+                result.complete(response);
+            }
+
+            @Override
+            public void onFailure(Throwable throwable) {
+                complete(method, sample, throwable);
+                result.completeExceptionally(throwable);
+            }
+        }, MoreExecutors.directExecutor());
+
+        // a caller that gives up cancels the rpc as well
+        result.whenComplete((response, throwable) -> {
+            if (result.isCancelled()) {
+                grpcFuture.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    private boolean acquirePermit(String method, boolean waitForPermit) {
+        try {
+            if (waitForPermit) {
+                inFlightPermits.acquire();
+                return true;
+            }
+            return inFlightPermits.tryAcquire(grpcProps.acquireTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to call {} on the auth server", method);
+            return false;
+        }
+    }
+
+    private boolean acquireBulkPermit() {
+        try {
+            bulkPermits.acquire();
+            return true;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            LOGGER.warn("Interrupted while waiting to send a bulk call to the auth server");
+            return false;
+        }
+    }
+
+    private void complete(String method, Timer.Sample sample, Throwable throwable) {
+        inFlightPermits.release();
+        String outcome = throwable == null ? Status.Code.OK.name() : Status.fromThrowable(throwable).getCode().name();
+        sample.stop(Timer.builder(CALLS_METRIC)
+                .description("Latency of the asynchronous auth server calls")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry));
+        if (throwable != null) {
+            LOGGER.warn("Auth server call {} failed with {}", method, outcome);
+        }
+    }
+
+    private static CreateNewOrganizationAuthUserRequest organizationUserRequest(CreateNewOrganizationAuthUserRequestDto requestDto,
+                                                                               RoleType role) {
+        return CreateNewOrganizationAuthUserRequest.newBuilder()
+                .setEmail(requestDto.email())
+                .setMobileNumber(requestDto.mobileNumber())
+                .setPassword(requestDto.password())
+                .setOrganizationRegNumber(requestDto.organizationRegNumber())
+                .setRole(role.getScopeValue())
+                .build();
+    }
+
+    private AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationFutureStub registrationClient(long deadlineMillis) {
+        return authServerRegistrationClient.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private AuthServerAccountManagementGrpc.AuthServerAccountManagementFutureStub accountManagementClient(long deadlineMillis) {
+        return authServerAccountManagementClient.withDeadlineAfter(deadlineMillis, TimeUnit.MILLISECONDS);
+    }
+
+}
@@ -5,6 +5,7 @@ import com.theodore.account.management.models.dto.requests.CreateNewOrganization
 import com.theodore.account.management.models.dto.requests.CreateNewSimpleAuthUserRequestDto;
 import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
 import com.theodore.account.management.models.dto.responses.OrgAdminInfoResponseDto;
+import com.theodore.account.management.utils.AuthServerGrpcProps;
 import com.theodore.infrastructure.common.entities.enums.RoleType;
 import com.theodore.user.*;
 import net.devh.boot.grpc.client.inject.GrpcClient;
@@ -13,18 +14,33 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class AuthServerGrpcClient {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthServerGrpcClient.class);
 
+    // method names used as keys for the per method deadlines (app.grpc.auth-server.deadlines.*)
+    static final String CREATE_SIMPLE_USER = "create-simple-user";
+    static final String CREATE_ORGANIZATION_USER = "create-organization-user";
+    static final String CONFIRM_USER_ACCOUNT = "confirm-user-account";
+    static final String GET_ADMIN_ID_AND_EMAILS = "get-admin-id-and-emails";
+    static final String CONFIRM_ORGANIZATION_ADMIN_ACCOUNT = "confirm-organization-admin-account";
+    static final String MANAGE_USER_ACCOUNT = "manage-user-account";
+
     @GrpcClient("auth-server")
     AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationBlockingStub authServerRegistrationClient;
 
     @GrpcClient("auth-server")
     AuthServerAccountManagementGrpc.AuthServerAccountManagementBlockingStub authServerAccountManagementClient;
 
+    private final AuthServerGrpcProps grpcProps;
+
+    public AuthServerGrpcClient(AuthServerGrpcProps grpcProps) {
+        this.grpcProps = grpcProps;
+    }
+
     /**
      * Registers a new simple user via gRPC call to the auth server.
      *
@@ -39,7 +55,7 @@ public class AuthServerGrpcClient {
                 .setPassword(requestDto.password())
                 .build();
 
-        var newUserCreated = this.authServerRegistrationClient.createSimpleUser(grpcRequest);
+        var newUserCreated = registrationClient(CREATE_SIMPLE_USER).createSimpleUser(grpcRequest);
 
         LOGGER.info("Auth server responded with user's id : {}", newUserCreated.getUserId());
 
@@ -67,7 +83,7 @@ public class AuthServerGrpcClient {
                 .build();
 
 
-        var newUserCreated = this.authServerRegistrationClient.createOrganizationUser(grpcRequest);
+        var newUserCreated = registrationClient(CREATE_ORGANIZATION_USER).createOrganizationUser(grpcRequest);
 
         LOGGER.info("Auth server responded with user's id : {}", newUserCreated.getUserId());
 
@@ -82,7 +98,7 @@ public class AuthServerGrpcClient {
      */
     public UserConfirmationResponse authServerNewUserConfirmation(String userId) {
         var request = ConfirmUserAccountRequest.newBuilder().setUserId(userId).build();
-        return authServerRegistrationClient.confirmUserAccount(request);
+        return registrationClient(CONFIRM_USER_ACCOUNT).confirmUserAccount(request);
     }
 
     /**
@@ -93,7 +109,7 @@ public class AuthServerGrpcClient {
      */
     public List<OrgAdminInfoResponseDto> getOrganizationAdminInfoFromAuthServer(String orgRegistrationNumber) {
         var request = OrgRegistrationNumberRequest.newBuilder().setRegistrationNumber(orgRegistrationNumber).build();
-        var response = authServerRegistrationClient.getAdminIdAndEmails(request);
+        var response = registrationClient(GET_ADMIN_ID_AND_EMAILS).getAdminIdAndEmails(request);
         return response.getOrganizationAdminInfoList().stream().map(idAndEmail ->
                         new OrgAdminInfoResponseDto(idAndEmail.getAdminId(), idAndEmail.getAdminEmail())
                 )
@@ -114,7 +130,7 @@ public class AuthServerGrpcClient {
                 .setOldPassword(oldPassword)
                 .setNewPassword(newPassword)
                 .build();
-        return authServerRegistrationClient.confirmOrganizationAdminAccount(request);
+        return registrationClient(CONFIRM_ORGANIZATION_ADMIN_ACCOUNT).confirmOrganizationAdminAccount(request);
     }
 
     /**
@@ -133,7 +149,17 @@ public class AuthServerGrpcClient {
                 .setNewPassword(requestDto.newPassword())
                 .build();
 
-        this.authServerAccountManagementClient.manageUserAccount(grpcRequest);
+        accountManagementClient(MANAGE_USER_ACCOUNT).manageUserAccount(grpcRequest);
+    }
+
+    private AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationBlockingStub registrationClient(String method) {
+        return authServerRegistrationClient
+                .withDeadlineAfter(grpcProps.deadlineFor(method).toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private AuthServerAccountManagementGrpc.AuthServerAccountManagementBlockingStub accountManagementClient(String method) {
+        return authServerAccountManagementClient
+                .withDeadlineAfter(grpcProps.deadlineFor(method).toMillis(), TimeUnit.MILLISECONDS);
     }
 
 }
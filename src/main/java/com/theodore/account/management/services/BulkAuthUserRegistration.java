@@ -0,0 +1,105 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
+import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
+import com.theodore.infrastructure.common.entities.enums.RoleType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * The steps the bulk registrations share: the auth server users of a batch are created
+ * through {@link AuthServerAsyncGrpcClient#authServerNewOrganizationUserRegistrations}, then the local rows
+ * that go with them are written in chunks, each chunk in one transaction.
+ * If a chunk cannot be written, its auth server users are rolled back.
+ */
+final class BulkAuthUserRegistration {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkAuthUserRegistration.class);
+
+    // matches hibernate.jdbc.batch_size, so that a chunk is written with one batch per table
+    static final int CHUNK_SIZE = 50;
+
+    private final AuthServerAsyncGrpcClient authServerAsyncGrpcClient;
+    private final SagaCompensationActionService sagaCompensationActionService;
+    private final TransactionTemplate transactionTemplate;
+    private final RoleType role;
+    private final String rollbackLogMsg;
+
+    BulkAuthUserRegistration(AuthServerAsyncGrpcClient authServerAsyncGrpcClient,
+                             SagaCompensationActionService sagaCompensationActionService,
+                             TransactionTemplate transactionTemplate,
+                             RoleType role,
+                             String rollbackLogMsg) {
+        this.authServerAsyncGrpcClient = authServerAsyncGrpcClient;
+        this.sagaCompensationActionService = sagaCompensationActionService;
+        this.transactionTemplate = transactionTemplate;
+        this.role = role;
+        this.rollbackLogMsg = rollbackLogMsg;
+    }
+
+    /**
+     * @param items     what a user is created for
+     * @param toRequest the auth server request of an item
+     * @param onFailure called for every item whose user was not created
+     * @return the items whose user was created, in the order of the items
+     */
+    <T> List<CreatedAuthUser<T>> createAuthUsers(List<T> items,
+                                                 Function<T, CreateNewOrganizationAuthUserRequestDto> toRequest,
+                                                 BiConsumer<T, RuntimeException> onFailure) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<CompletableFuture<AuthUserIdResponseDto>> authUsers = authServerAsyncGrpcClient
+                .authServerNewOrganizationUserRegistrations(items.stream().map(toRequest).toList(), role);
+
+        List<CreatedAuthUser<T>> created = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            try {
+                created.add(new CreatedAuthUser<>(items.get(i), AuthServerAsyncGrpcClient.await(authUsers.get(i)).id()));
+            } catch (RuntimeException ex) {
+                onFailure.accept(items.get(i), ex);
+            }
+        }
+        return created;
+    }
+
+    /**
+     * @param users    the users to write the local rows for
+     * @param emailOf  the email of the auth server user of an item, for the rollback
+     * @param save     writes the rows of a chunk, runs in the transaction of the chunk
+     * @param onSaved  called for every user of a chunk that was written
+     * @param onFailed called for every user of a chunk that was not written, after its auth server user was rolled back
+     */
+    <T> void saveInChunks(List<CreatedAuthUser<T>> users,
+                          Function<T, String> emailOf,
+                          Consumer<List<CreatedAuthUser<T>>> save,
+                          Consumer<CreatedAuthUser<T>> onSaved,
+                          Consumer<CreatedAuthUser<T>> onFailed) {
+        for (int from = 0; from < users.size(); from += CHUNK_SIZE) {
+            var chunk = users.subList(from, Math.min(from + CHUNK_SIZE, users.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> save.accept(chunk));
+                chunk.forEach(onSaved);
+            } catch (RuntimeException ex) {
+                LOGGER.error("Could not save {} users created in the auth server : {}", chunk.size(), ex.getMessage());
+                chunk.forEach(user -> {
+                    sagaCompensationActionService.authServerCredentialsRollback(user.authUserId(),
+                            emailOf.apply(user.item()), rollbackLogMsg);
+                    onFailed.accept(user);
+                });
+            }
+        }
+    }
+
+    record CreatedAuthUser<T>(T item, String authUserId) {
+    }
+
+}
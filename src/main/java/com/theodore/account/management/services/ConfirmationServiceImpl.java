@@ -1,5 +1,6 @@
 package com.theodore.account.management.services;
 
+import com.theodore.account.management.cache.VerificationTokenCache;
 import com.theodore.account.management.entities.EmailVerificationToken;
 import com.theodore.account.management.entities.OrganizationUserRegistrationRequest;
 import com.theodore.account.management.entities.UserProfile;
@@ -15,19 +16,20 @@ import com.theodore.account.management.repositories.UserProfileRepository;
 import com.theodore.infrastructure.common.exceptions.InvalidTokenException;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
 import com.theodore.queue.common.emails.EmailDto;
-import com.theodore.queue.common.services.MessagingService;
 import com.theodore.user.ConfirmationStatus;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jws;
 import io.jsonwebtoken.JwtException;
-import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 public class ConfirmationServiceImpl implements ConfirmationService {
@@ -45,21 +47,27 @@ public class ConfirmationServiceImpl implements ConfirmationService {
     private final UserProfileRepository userProfileRepository;
     private final OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
     private final AuthServerGrpcClient authServerGrpcClient;
-    private final MessagingService messagingService;
+    private final OutboxService outboxService;
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final VerificationTokenCache verificationTokenCache;
+    private final TransactionTemplate transactionTemplate;
 
     public ConfirmationServiceImpl(EmailTokenService emailTokenService,
                                    UserProfileRepository userProfileRepository,
                                    OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository,
                                    AuthServerGrpcClient authServerGrpcClient,
-                                   MessagingService messagingService,
-                                   EmailVerificationTokenRepository emailVerificationTokenRepository) {
+                                   OutboxService outboxService,
+                                   EmailVerificationTokenRepository emailVerificationTokenRepository,
+                                   VerificationTokenCache verificationTokenCache,
+                                   TransactionTemplate transactionTemplate) {
         this.emailTokenService = emailTokenService;
         this.userProfileRepository = userProfileRepository;
         this.organizationUserRegistrationRequestRepository = organizationUserRegistrationRequestRepository;
         this.authServerGrpcClient = authServerGrpcClient;
-        this.messagingService = messagingService;
+        this.outboxService = outboxService;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.verificationTokenCache = verificationTokenCache;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -69,106 +77,120 @@ public class ConfirmationServiceImpl implements ConfirmationService {
 
         String email = claims.getBody().get(EMAIL, String.class);
 
-        var verificationToken = processVerificationToken(claims);
+        var verificationToken = consumeVerificationToken(claims);
 
-        checkUserProfileDetails(verificationToken.getUserId(), email);
+        withTokenReleasedOnFailure(verificationToken, () -> {
+            checkUserProfileDetails(verificationToken.userId(), email);
+
+            //send to auth server that user is authenticated
+            var response = authServerGrpcClient.authServerNewUserConfirmation(verificationToken.userId());
+            if (!response.getConfirmationStatus().equals(ConfirmationStatus.CONFIRMED)) {
+                throw new AccountConfirmationException("Authorization server responded negatively");
+            }
+        });
 
-        //send to auth server that user is authenticated
-        var response = authServerGrpcClient.authServerNewUserConfirmation(verificationToken.getUserId());
-        if (!response.getConfirmationStatus().equals(ConfirmationStatus.CONFIRMED)) {
-            throw new AccountConfirmationException("Authorization server responded negatively");
-        }
         // send successful confirmation email - with rabbitmq to email service
         var successfulConfirmationEmail = new EmailDto(List.of(email),
                 "User Registration Confirmation Successful",
                 "User Account created successfully");
 
-        markTokenAsUsed(verificationToken);
-
-        messagingService.sendToEmailService(successfulConfirmationEmail);
+        outboxService.enqueueEmail(successfulConfirmationEmail);
     }
 
     @Override
-    @Transactional
     public void confirmOrganizationUserEmailByUser(String token) {
 
         LOGGER.trace("confirmOrganizationUserEmail - token: {}", token);
 
         Jws<Claims> claims = emailTokenService.parseToken(token);
 
-        var verificationToken = processVerificationToken(claims);
-
         String email = claims.getBody().get(EMAIL, String.class);
 
-        UserProfile user = checkAndGetUserProfile(verificationToken.getUserId(), email);
+        var verificationToken = consumeVerificationToken(claims);
 
-        OrganizationUserRegistrationRequest registrationRequest = getOrganizationUserRegistrationRequest(email);
+        withTokenReleasedOnFailure(verificationToken, () -> {
+            String userId = verificationToken.userId();
 
-        if (!RegistrationStatus.PENDING_EMPLOYEE.equals(registrationRequest.getStatus())) {
-            throw new InvalidStatusException("Status should be PENDING_EMPLOYEE");
-        }
-        registrationRequest.setStatus(RegistrationStatus.PENDING_COMPANY);
+            // checked before the auth server is asked, the transaction ends before the call is made
+            String orgRegistrationNumber = transactionTemplate.execute(status -> {
+                checkAndGetUserProfile(userId, email);
+                return getOrganizationUserRegistrationRequest(email, RegistrationStatus.PENDING_EMPLOYEE)
+                        .getOrganizationRegistrationNumber();
+            });
 
-        organizationUserRegistrationRequestRepository.save(registrationRequest);
+            var adminInfoList = authServerGrpcClient.getOrganizationAdminInfoFromAuthServer(orgRegistrationNumber);
 
-        var adminInfoList = authServerGrpcClient
-                .getOrganizationAdminInfoFromAuthServer(registrationRequest.getOrganizationRegistrationNumber());
+            var emailList = new ArrayList<String>();
 
-        var emailList = new ArrayList<String>();
+            for (OrgAdminInfoResponseDto adminInfo : adminInfoList) {
+                emailList.add(adminInfo.email());
+            }
 
-        String emailToken = emailTokenService.createOrganizationUserToken(user.getOrganization(),
-                user.getId(),
-                user.getEmail(),
-                AccountConfirmedBy.ORGANIZATION);
+            transactionTemplate.executeWithoutResult(status -> {
+                UserProfile user = checkAndGetUserProfile(userId, email);
 
-        for (OrgAdminInfoResponseDto adminInfo : adminInfoList) {
-            emailList.add(adminInfo.email());
-        }
-        String link = String.format("%s/confirmation/org-user/admn?token=%s", appUrl, emailToken);
-        //send to email service for the organization to approve
-        messagingService.sendToEmailService(new EmailDto(emailList, "User Registration Confirmation", link));
-        markTokenAsUsed(verificationToken);
+                // checked again, the request may have moved on while the auth server was answering
+                OrganizationUserRegistrationRequest registrationRequest =
+                        getOrganizationUserRegistrationRequest(email, RegistrationStatus.PENDING_EMPLOYEE);
+                registrationRequest.setStatus(RegistrationStatus.PENDING_COMPANY);
+
+                organizationUserRegistrationRequestRepository.save(registrationRequest);
+
+                String emailToken = emailTokenService.createOrganizationUserToken(user.getOrganization(),
+                        user.getId(),
+                        user.getEmail(),
+                        AccountConfirmedBy.ORGANIZATION);
+
+                String link = String.format("%s/confirmation/org-user/admn?token=%s", appUrl, emailToken);
+                //send to email service for the organization to approve
+                outboxService.enqueueEmail(new EmailDto(emailList, "User Registration Confirmation", link));
+            });
+        });
     }
 
     @Override
-    @Transactional
     public void confirmOrganizationUserEmailByOrganization(String token) {
 
         Jws<Claims> claims = emailTokenService.parseToken(token);
 
-        var verificationToken = processVerificationToken(claims);
-
         String email = claims.getBody().get(EMAIL, String.class);
 
         String orgRegistrationNumber = claims.getBody().get("organization", String.class);
 
-        String userId = verificationToken.getUserId();
+        var verificationToken = consumeVerificationToken(claims);
 
-        checkOrganizationUserProfile(userId, email, orgRegistrationNumber);
+        String userId = verificationToken.userId();
 
-        OrganizationUserRegistrationRequest registrationRequest = getOrganizationUserRegistrationRequest(email);
+        withTokenReleasedOnFailure(verificationToken, () -> {
+            // checked before the auth server is asked, the transaction ends before the call is made
+            transactionTemplate.executeWithoutResult(status -> {
+                checkOrganizationUserProfile(userId, email, orgRegistrationNumber);
+                getOrganizationUserRegistrationRequest(email, RegistrationStatus.PENDING_COMPANY);
+            });
 
-        if (!RegistrationStatus.PENDING_COMPANY.equals(registrationRequest.getStatus())) {
-            throw new InvalidStatusException("Status should be PENDING_COMPANY");
-        }
-
-        registrationRequest.setStatus(RegistrationStatus.APPROVED);
+            //send to auth server that user is authenticated
+            var response = authServerGrpcClient.authServerNewUserConfirmation(userId);
 
-        organizationUserRegistrationRequestRepository.save(registrationRequest);
+            if (!ConfirmationStatus.CONFIRMED.equals(response.getConfirmationStatus())) {
+                LOGGER.info("EMAIL {} CONFIRMATION FAILED", email);
+                throw new AccountConfirmationException("Authorization server responded negatively");
+            }
 
-        //send to auth server that user is authenticated
-        var response = authServerGrpcClient.authServerNewUserConfirmation(userId);
+            transactionTemplate.executeWithoutResult(status -> {
+                // checked again, the request may have moved on while the auth server was answering
+                OrganizationUserRegistrationRequest registrationRequest =
+                        getOrganizationUserRegistrationRequest(email, RegistrationStatus.PENDING_COMPANY);
+                registrationRequest.setStatus(RegistrationStatus.APPROVED);
 
-        String emailSubject = "Organization User Registration Progress";
+                organizationUserRegistrationRequestRepository.save(registrationRequest);
 
-        if (ConfirmationStatus.CONFIRMED.equals(response.getConfirmationStatus())) {
-            LOGGER.info("EMAIL {} CONFIRMED", email);
-            markTokenAsUsed(verificationToken);
-            // send successful confirmation email
-            messagingService.sendToEmailService(new EmailDto(List.of(email), emailSubject, "Organization User Registration Completed Successfully"));
-        } else {
-            LOGGER.info("EMAIL {} CONFIRMATION FAILED", email);
-        }
+                LOGGER.info("EMAIL {} CONFIRMED", email);
+                // send successful confirmation email
+                outboxService.enqueueEmail(new EmailDto(List.of(email),
+                        "Organization User Registration Progress",
+                        "Organization User Registration Completed Successfully"));
+            });
+        });
     }
 
     @Override
@@ -181,13 +203,14 @@ public class ConfirmationServiceImpl implements ConfirmationService {
 
         String email = claims.getBody().get(EMAIL, String.class);
 
-        var verificationToken = processVerificationToken(claims);
+        var verificationToken = consumeVerificationToken(claims);
 
-        checkUserProfileDetails(verificationToken.getUserId(), email);
+        withTokenReleasedOnFailure(verificationToken, () -> {
+            checkUserProfileDetails(verificationToken.userId(), email);
 
-        var response = authServerGrpcClient.confirmAdminAccount(verificationToken.getUserId(), request.oldPassword(), request.newPassword());
-        LOGGER.info("response was  : {}", response.getConfirmationStatus());
-        markTokenAsUsed(verificationToken);
+            var response = authServerGrpcClient.confirmAdminAccount(verificationToken.userId(), request.oldPassword(), request.newPassword());
+            LOGGER.info("response was  : {}", response.getConfirmationStatus());
+        });
     }
 
 
@@ -199,7 +222,7 @@ public class ConfirmationServiceImpl implements ConfirmationService {
     }
 
     private UserProfile checkAndGetUserProfile(String userId, String email) {
-        UserProfile user = findUserProfileById(userId);
+        UserProfile user = findUserProfileWithOrganizationById(userId);
         if (!user.getEmail().equals(email)) {
             throw new JwtException("Token mismatch - email");
         }
@@ -207,7 +230,7 @@ public class ConfirmationServiceImpl implements ConfirmationService {
     }
 
     private void checkOrganizationUserProfile(String userId, String email, String orgRegistrationNumber) {
-        UserProfile user = findUserProfileById(userId);
+        UserProfile user = findUserProfileWithOrganizationById(userId);
         if (email == null || orgRegistrationNumber == null) {
             throw new InvalidTokenException("e-mail and registration number cannot be null");
         }
@@ -220,42 +243,89 @@ public class ConfirmationServiceImpl implements ConfirmationService {
         }
     }
 
-    private OrganizationUserRegistrationRequest getOrganizationUserRegistrationRequest(String email) {
-        return organizationUserRegistrationRequestRepository
+    private OrganizationUserRegistrationRequest getOrganizationUserRegistrationRequest(String email,
+                                                                                      RegistrationStatus expectedStatus) {
+        var registrationRequest = organizationUserRegistrationRequestRepository
                 .findByOrgUserEmail(email)
                 .orElseThrow(() -> new NotFoundException("Organization User Registration Request not found"));
+        if (!expectedStatus.equals(registrationRequest.getStatus())) {
+            throw new InvalidStatusException("Status should be " + expectedStatus);
+        }
+        return registrationRequest;
     }
 
-    private EmailVerificationToken processVerificationToken(Jws<Claims> claims) {
+    /**
+     * Consumes the token before anything else is done with it. The verification cache rejects used, revoked or
+     * mismatched tokens without reading the database. It only holds what was known when the token was issued,
+     * so it never accepts a token on its own: the callers still match the token against the current profile.
+     * One conditional update by jti marks the token as used
+     * only if it is still pending, so of two concurrent confirmations with the same link only one gets past here
+     * and calls the auth server.
+     */
+    private VerifiedToken consumeVerificationToken(Jws<Claims> claims) {
         String userId = claims.getBody().getSubject();
         String jti = claims.getBody().getId();
 
-        var verificationToken = emailVerificationTokenRepository.findByUserIdAndStatusPending(userId)
-                .orElseThrow(() -> new NotFoundException("Verification token not found"));
+        var cached = verificationTokenCache.find(jti);
+        if (cached.isPresent()) {
+            var entry = cached.get();
+            if (!Objects.equals(entry.userId(), userId)) {
+                throw new InvalidTokenException("Invalid token id");
+            }
+            if (!EmailVerificationToken.VerificationStatus.PENDING.equals(entry.status())) {
+                throw new InvalidTokenException("Invalid token status");
+            }
+            if (!Objects.equals(entry.email(), claims.getBody().get(EMAIL, String.class))) {
+                throw new JwtException("Token mismatch - email");
+            }
+        }
 
-        checkVerificationToken(verificationToken, jti);
+        if (emailVerificationTokenRepository.consumePendingToken(jti, userId, Instant.now()) == 0) {
+            throw new InvalidTokenException("Invalid token status");
+        }
+        verificationTokenCache.updateStatus(jti, EmailVerificationToken.VerificationStatus.USED);
 
         LOGGER.info("Verification token process complete");
-        return verificationToken;
+        return new VerifiedToken(jti, userId);
     }
 
-    private void checkVerificationToken(EmailVerificationToken token, String jti) {
-        LOGGER.info("VERIFYING TOKEN");
-        if (!token.getJti().equals(jti)) {
-            throw new InvalidTokenException("Invalid token id");
-        }
-        if (!token.getStatus().equals(EmailVerificationToken.VerificationStatus.PENDING)) {
-            throw new InvalidTokenException("Invalid token status");
+    /**
+     * Runs the rest of a confirmation, the token is given back if it does not complete so that the same link
+     * can be used again. The confirmations are not transactional as a whole: their database work runs in short
+     * transactions of its own around the auth server calls, so no connection is held while waiting on the network.
+     */
+    private void withTokenReleasedOnFailure(VerifiedToken token, Runnable confirmation) {
+        try {
+            confirmation.run();
+        } catch (RuntimeException ex) {
+            releaseToken(token);
+            throw ex;
         }
     }
 
-    private void markTokenAsUsed(EmailVerificationToken token) {
-        token.setStatus(EmailVerificationToken.VerificationStatus.USED);
-        emailVerificationTokenRepository.save(token);
+    private void releaseToken(VerifiedToken token) {
+        try {
+            emailVerificationTokenRepository.updateStatusByJti(token.jti(),
+                    EmailVerificationToken.VerificationStatus.USED,
+                    EmailVerificationToken.VerificationStatus.PENDING);
+            verificationTokenCache.updateStatus(token.jti(), EmailVerificationToken.VerificationStatus.PENDING);
+        } catch (RuntimeException ex) {
+            LOGGER.warn("Could not release verification token {}, a new one has to be requested : {}", token.jti(), ex.getMessage());
+        }
     }
 
     private UserProfile findUserProfileById(String userId) {
         return userProfileRepository.findById(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
     }
 
+    private UserProfile findUserProfileWithOrganizationById(String userId) {
+        return userProfileRepository.findWithOrganizationById(userId).orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
+    }
+
+    /**
+     * A token that passed the checks.
+     */
+    private record VerifiedToken(String jti, String userId) {
+    }
+
 }
@@ -45,9 +45,4 @@ public interface EmailTokenService {
      */
     Jws<Claims> parseToken(String token);
 
-    /**
-     * Deletes the used and revoked email verification tokens.
-     */
-    void cleanVerificationTokens();
-
 }
@@ -1,5 +1,7 @@
 package com.theodore.account.management.services;
 
+import com.github.f4b6a3.ulid.UlidFactory;
+import com.theodore.account.management.cache.VerificationTokenCache;
 import com.theodore.account.management.entities.EmailVerificationToken;
 import com.theodore.account.management.entities.Organization;
 import com.theodore.account.management.entities.UserProfile;
@@ -8,10 +10,10 @@ import com.theodore.account.management.exceptions.EmailTokenVerificationFailedEx
 import com.theodore.account.management.models.RefreshTokenDataModel;
 import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
-import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.ExpiredJwtException;
-import io.jsonwebtoken.Jws;
-import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.*;
+import io.jsonwebtoken.io.Serializer;
+import io.jsonwebtoken.jackson.io.JacksonDeserializer;
+import io.jsonwebtoken.jackson.io.JacksonSerializer;
 import jakarta.transaction.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,7 +23,9 @@ import org.springframework.stereotype.Service;
 import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 @Service
 public class EmailTokenServiceImpl implements EmailTokenService {
@@ -34,17 +38,36 @@ public class EmailTokenServiceImpl implements EmailTokenService {
     private static final String ORG = "organization";
     private static final String CONFIRMED_BY = "confirmedBy";
 
+    /**
+     * The jti only has to be unique, the token itself is protected by its signature,
+     * so it does not need the SecureRandom behind UUID.randomUUID.
+     */
+    private static final UlidFactory JTI_FACTORY = UlidFactory.newInstance(() -> ThreadLocalRandom.current().nextLong());
+
     private final SecretKey key;
+    private final SignatureAlgorithm signatureAlgorithm;
+    private final Serializer<Map<String, ?>> serializer;
+    private final JwtParser parser;
     private final long validitySeconds;
 
     private final EmailVerificationTokenRepository emailVerificationTokenRepository;
+    private final VerificationTokenCache verificationTokenCache;
 
     public EmailTokenServiceImpl(@Qualifier("emailJwtSigningKey") SecretKey emailJwtSigningKey,
                                  @Qualifier("emailTokenValiditySeconds") long emailTokenValiditySeconds,
-                                 EmailVerificationTokenRepository emailVerificationTokenRepository) {
+                                 EmailVerificationTokenRepository emailVerificationTokenRepository,
+                                 VerificationTokenCache verificationTokenCache) {
         this.key = emailJwtSigningKey;
+        // resolved once, jjwt would otherwise look them up on every token it signs or parses
+        this.signatureAlgorithm = SignatureAlgorithm.forSigningKey(emailJwtSigningKey);
+        this.serializer = new JacksonSerializer<>();
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(emailJwtSigningKey)
+                .deserializeJsonWith(new JacksonDeserializer<>())
+                .build();
         this.validitySeconds = emailTokenValiditySeconds;
         this.emailVerificationTokenRepository = emailVerificationTokenRepository;
+        this.verificationTokenCache = verificationTokenCache;
     }
 
     @Override
@@ -53,18 +76,12 @@ public class EmailTokenServiceImpl implements EmailTokenService {
 
         Instant now = Instant.now();
         Instant expirationDate = now.plusSeconds(validitySeconds);
-        String jti = java.util.UUID.randomUUID().toString();
+        String jti = newJti();
 
-        String jwtToken = Jwts.builder()
-                .setId(jti)
-                .setSubject(user.getId())
-                .claim(EMAIL, user.getEmail())
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(expirationDate))
-                .signWith(key)
+        String jwtToken = tokenBuilder(jti, user.getId(), user.getEmail(), now, expirationDate)
                 .compact();
 
-        emailVerificationTokenRepository.save(createVerificationToken(user.getId(), jti, jwtToken, expirationDate, 0));
+        savePendingToken(createVerificationToken(user.getId(), jti, jwtToken, expirationDate, 0), user.getEmail());
         return jwtToken;
     }
 
@@ -77,21 +94,15 @@ public class EmailTokenServiceImpl implements EmailTokenService {
 
         Instant now = Instant.now();
         Instant expirationDate = now.plusSeconds(validitySeconds);
-        String jti = java.util.UUID.randomUUID().toString();
+        String jti = newJti();
         String orgRegNumber = organization != null ? organization.getRegistrationNumber() : "";
 
-        String jwtToken = Jwts.builder()
-                .setId(jti)
-                .setSubject(userId)
-                .claim(EMAIL, email)
+        String jwtToken = tokenBuilder(jti, userId, email, now, expirationDate)
                 .claim(ORG, orgRegNumber)
                 .claim(CONFIRMED_BY, confirmedBy.toString())
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plusSeconds(validitySeconds)))
-                .signWith(key)
                 .compact();
 
-        emailVerificationTokenRepository.save(createVerificationToken(userId, jti, jwtToken, expirationDate, 0));
+        savePendingToken(createVerificationToken(userId, jti, jwtToken, expirationDate, 0), email);
 
         return jwtToken;
     }
@@ -104,20 +115,14 @@ public class EmailTokenServiceImpl implements EmailTokenService {
 
         Instant now = Instant.now();
         Instant expirationDate = now.plusSeconds(validitySeconds);
-        String jti = java.util.UUID.randomUUID().toString();
+        String jti = newJti();
 
         String orgRegNumber = organization != null ? organization.getRegistrationNumber() : "";
-        String jwtToken = Jwts.builder()
-                .setId(jti)
-                .setSubject(userId)
-                .claim(EMAIL, email)
+        String jwtToken = tokenBuilder(jti, userId, email, now, expirationDate)
                 .claim(ORG, orgRegNumber)
-                .setIssuedAt(Date.from(now))
-                .setExpiration(Date.from(now.plusSeconds(validitySeconds)))
-                .signWith(key)
                 .compact();
 
-        emailVerificationTokenRepository.save(createVerificationToken(userId, jti, jwtToken, expirationDate, 0));
+        savePendingToken(createVerificationToken(userId, jti, jwtToken, expirationDate, 0), email);
 
         return jwtToken;
     }
@@ -138,6 +143,7 @@ public class EmailTokenServiceImpl implements EmailTokenService {
         if (Instant.now().isAfter(expirationDate.toInstant())) {
             existingToken.setStatus(EmailVerificationToken.VerificationStatus.REVOKED);
             emailVerificationTokenRepository.save(existingToken);
+            verificationTokenCache.updateStatus(existingToken.getJti(), EmailVerificationToken.VerificationStatus.REVOKED);
             return issueNewToken(claims, timesResent + 1);
         }
 
@@ -150,17 +156,7 @@ public class EmailTokenServiceImpl implements EmailTokenService {
     @Override
     public Jws<Claims> parseToken(String token) {
         LOGGER.trace("Parsing token {}", token);
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token);
-    }
-
-    @Override
-    @Transactional
-    public void cleanVerificationTokens() {
-        long count = emailVerificationTokenRepository.deleteByStatusNot(EmailVerificationToken.VerificationStatus.PENDING);
-        LOGGER.trace("Number of used verification tokens deleted : {}", count);
+        return parser.parseClaimsJws(token);
     }
 
     private RefreshTokenDataModel issueNewToken(Claims claims, Integer timesResent) {
@@ -169,7 +165,7 @@ public class EmailTokenServiceImpl implements EmailTokenService {
         claims.remove(Claims.ISSUED_AT);
         claims.remove(Claims.NOT_BEFORE);
 
-        String newJti = java.util.UUID.randomUUID().toString();
+        String newJti = newJti();
 
         claims.put(Claims.ID, newJti);
 
@@ -177,15 +173,17 @@ public class EmailTokenServiceImpl implements EmailTokenService {
         Instant newExpirationDate = now.plusSeconds(validitySeconds);
 
         String newToken = Jwts.builder()
+                .serializeToJsonWith(serializer)
                 .setClaims(claims)
                 .setIssuedAt(Date.from(now))
                 .setExpiration(Date.from(newExpirationDate))
-                .signWith(key)
+                .signWith(key, signatureAlgorithm)
                 .compact();
 
         String userId = claims.getSubject();
 
-        emailVerificationTokenRepository.save(createVerificationToken(userId, newJti, newToken, newExpirationDate, timesResent));
+        savePendingToken(createVerificationToken(userId, newJti, newToken, newExpirationDate, timesResent),
+                claims.get(EMAIL, String.class));
 
         return new RefreshTokenDataModel(Optional.ofNullable(claims.get(CONFIRMED_BY, String.class)), newToken);
     }
@@ -199,16 +197,32 @@ public class EmailTokenServiceImpl implements EmailTokenService {
 
     private Claims parseTokenEvenIfExpired(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return parser.parseClaimsJws(token).getBody();
         } catch (ExpiredJwtException ex) {
             return ex.getClaims();
         }
     }
 
+    private void savePendingToken(EmailVerificationToken token, String email) {
+        emailVerificationTokenRepository.save(token);
+        verificationTokenCache.putPending(token.getJti(), token.getUserId(), email);
+    }
+
+    private static String newJti() {
+        return JTI_FACTORY.create().toString();
+    }
+
+    private JwtBuilder tokenBuilder(String jti, String subject, String email, Instant issuedAt, Instant expiresAt) {
+        return Jwts.builder()
+                .serializeToJsonWith(serializer)
+                .setId(jti)
+                .setSubject(subject)
+                .claim(EMAIL, email)
+                .setIssuedAt(Date.from(issuedAt))
+                .setExpiration(Date.from(expiresAt))
+                .signWith(key, signatureAlgorithm);
+    }
+
     private EmailVerificationToken createVerificationToken(String userId, String jti,
                                                            String jwtToken, Instant expirationDate,
                                                            Integer timesResent) {
@@ -0,0 +1,21 @@
+package com.theodore.account.management.services;
+
+import java.time.Duration;
+
+public interface JobLeaseService {
+
+    /**
+     * Runs the job only if this node gets the lease of the job, so that a job scheduled on every replica
+     * is run by exactly one of them per interval.
+     *
+     * @param jobName        unique name of the job
+     * @param lockAtMostFor  how long the lease is held if this node dies while running the job,
+     *                       after that another node takes over. Must be longer than the job can take
+     * @param lockAtLeastFor how long the lease is held even if the job ends sooner, so that nodes
+     *                       whose clock ticks slightly later do not run the same interval again
+     * @param job            the job
+     * @return whether this node ran the job
+     */
+    boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job);
+
+}
@@ -0,0 +1,81 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.repositories.ScheduledJobLeaseRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.UUID;
+
+@Service
+public class JobLeaseServiceImpl implements JobLeaseService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(JobLeaseServiceImpl.class);
+
+    private static final String LEASE_METRIC = "scheduled.job.lease";
+
+    private final ScheduledJobLeaseRepository scheduledJobLeaseRepository;
+    private final MeterRegistry meterRegistry;
+    private final String nodeId;
+
+    public JobLeaseServiceImpl(ScheduledJobLeaseRepository scheduledJobLeaseRepository, MeterRegistry meterRegistry) {
+        this.scheduledJobLeaseRepository = scheduledJobLeaseRepository;
+        this.meterRegistry = meterRegistry;
+        this.nodeId = hostName() + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Override
+    public boolean runExclusively(String jobName, Duration lockAtMostFor, Duration lockAtLeastFor, Runnable job) {
+        boolean acquired;
+        try {
+            acquired = scheduledJobLeaseRepository.tryAcquire(jobName, lockAtMostFor.toMillis(), nodeId) == 1;
+        } catch (RuntimeException ex) {
+            LOGGER.error("Could not acquire the lease of job {} : {}", jobName, ex.getMessage());
+            acquired = false;
+        }
+        count(jobName, acquired ? "acquired" : "skipped");
+        if (!acquired) {
+            LOGGER.debug("Job {} is run by another node, skipping", jobName);
+            return false;
+        }
+
+        try {
+            job.run();
+        } finally {
+            try {
+                scheduledJobLeaseRepository.release(jobName, lockAtLeastFor.toMillis(), nodeId);
+            } catch (RuntimeException ex) {
+                // the lease then simply expires after lockAtMostFor
+                LOGGER.warn("Could not release the lease of job {} : {}", jobName, ex.getMessage());
+            }
+        }
+        return true;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private void count(String jobName, String outcome) {
+        Counter.builder(LEASE_METRIC)
+                .description("Scheduled job lease attempts")
+                .tag("job", jobName)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown-host";
+        }
+    }
+
+}
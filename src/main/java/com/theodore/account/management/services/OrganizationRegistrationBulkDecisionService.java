@@ -0,0 +1,17 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.models.dto.requests.BulkOrganizationRegistrationDecisionRequestDto;
+import com.theodore.account.management.models.dto.responses.BulkOrganizationRegistrationDecisionResponseDto;
+
+public interface OrganizationRegistrationBulkDecisionService {
+
+    /**
+     * Approve or Reject decision from a system admin for many organization registration processes at once.
+     * Every process is decided on its own, a process that cannot be decided does not stop the others.
+     *
+     * @param requestDto contains the ids of the Organization Registration Processes and the decision made by the system admin
+     * @return the outcome for every requested id
+     */
+    BulkOrganizationRegistrationDecisionResponseDto organizationRegistrationDecisions(BulkOrganizationRegistrationDecisionRequestDto requestDto);
+
+}
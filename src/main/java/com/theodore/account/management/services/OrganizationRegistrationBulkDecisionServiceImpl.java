@@ -0,0 +1,203 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.entities.Organization;
+import com.theodore.account.management.entities.OrganizationRegistrationProcess;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.enums.OrganizationRegistrationDecision;
+import com.theodore.account.management.enums.OrganizationRegistrationDecisionOutcome;
+import com.theodore.account.management.enums.OrganizationRegistrationStatus;
+import com.theodore.account.management.mappers.OrganizationMapper;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.requests.BulkOrganizationRegistrationDecisionRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
+import com.theodore.account.management.models.dto.responses.BulkOrganizationRegistrationDecisionResponseDto;
+import com.theodore.account.management.models.dto.responses.OrganizationRegistrationDecisionResultDto;
+import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.services.BulkAuthUserRegistration.CreatedAuthUser;
+import com.theodore.account.management.utils.SecurePasswordGenerator;
+import com.theodore.infrastructure.common.entities.enums.RoleType;
+import com.theodore.queue.common.emails.EmailDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decides many organization registration processes in a handful of round trips instead of one saga per process.
+ * The processes are loaded with one query and every process gets its own outcome,
+ * a process that cannot be approved does not fail the others.
+ */
+@Service
+public class OrganizationRegistrationBulkDecisionServiceImpl implements OrganizationRegistrationBulkDecisionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrganizationRegistrationBulkDecisionServiceImpl.class);
+
+    private static final String SUBJECT_ORG_ADMIN_CONFIRM = "Organization Admin Account Confirmation";
+    private static final String ROLLBACK_LOG_MSG = "Bulk organization registration decision";
+
+    private final OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository;
+    private final OrganizationRepository organizationRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final OrganizationMapper organizationMapper;
+    private final UserProfileMapper userProfileMapper;
+    private final EmailTokenService emailTokenService;
+    private final OutboxService outboxService;
+    private final BulkAuthUserRegistration bulkAuthUserRegistration;
+
+    public OrganizationRegistrationBulkDecisionServiceImpl(OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository,
+                                                           OrganizationRepository organizationRepository,
+                                                           UserProfileRepository userProfileRepository,
+                                                           AuthServerAsyncGrpcClient authServerAsyncGrpcClient,
+                                                           OrganizationMapper organizationMapper,
+                                                           UserProfileMapper userProfileMapper,
+                                                           EmailTokenService emailTokenService,
+                                                           OutboxService outboxService,
+                                                           SagaCompensationActionService sagaCompensationActionService,
+                                                           TransactionTemplate transactionTemplate) {
+        this.organizationRegistrationProcessRepository = organizationRegistrationProcessRepository;
+        this.organizationRepository = organizationRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.organizationMapper = organizationMapper;
+        this.userProfileMapper = userProfileMapper;
+        this.emailTokenService = emailTokenService;
+        this.outboxService = outboxService;
+        this.bulkAuthUserRegistration = new BulkAuthUserRegistration(authServerAsyncGrpcClient, sagaCompensationActionService,
+                transactionTemplate, RoleType.ORGANIZATION_ADMIN, ROLLBACK_LOG_MSG);
+    }
+
+    @Override
+    public BulkOrganizationRegistrationDecisionResponseDto organizationRegistrationDecisions(BulkOrganizationRegistrationDecisionRequestDto requestDto) {
+
+        Set<Long> ids = new LinkedHashSet<>(requestDto.ids());
+
+        LOGGER.info("Decision {} for {} organization registration processes", requestDto.decision(), ids.size());
+
+        Map<Long, OrganizationRegistrationDecisionResultDto> results = new HashMap<>();
+        Map<Long, OrganizationRegistrationProcess> processesById = organizationRegistrationProcessRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(OrganizationRegistrationProcess::getId, Function.identity()));
+
+        List<OrganizationRegistrationProcess> pending = new ArrayList<>();
+        for (Long id : ids) {
+            var process = processesById.get(id);
+            if (process == null) {
+                results.put(id, result(id, OrganizationRegistrationDecisionOutcome.NOT_FOUND, "OrganizationRegistrationProcess not found"));
+            } else if (!OrganizationRegistrationStatus.PENDING.equals(process.getAdminApprovedStatus())) {
+                results.put(id, result(id, OrganizationRegistrationDecisionOutcome.ALREADY_DECIDED,
+                        "Already " + process.getAdminApprovedStatus()));
+            } else {
+                pending.add(process);
+            }
+        }
+
+        if (OrganizationRegistrationDecision.REJECTED.equals(requestDto.decision())) {
+            reject(pending, results);
+        } else {
+            approve(pending, results);
+        }
+
+        return new BulkOrganizationRegistrationDecisionResponseDto(requestDto.ids().stream()
+                .distinct()
+                .map(results::get)
+                .toList());
+    }
+
+    private void reject(List<OrganizationRegistrationProcess> processes, Map<Long, OrganizationRegistrationDecisionResultDto> results) {
+        processes.forEach(process -> process.setAdminApprovedStatus(OrganizationRegistrationStatus.REJECTED));
+        organizationRegistrationProcessRepository.saveAll(processes);
+        processes.forEach(process -> results.put(process.getId(),
+                result(process.getId(), OrganizationRegistrationDecisionOutcome.REJECTED, null)));
+    }
+
+    private void approve(List<OrganizationRegistrationProcess> processes, Map<Long, OrganizationRegistrationDecisionResultDto> results) {
+        List<AdminCandidate> candidates = withAvailableRegistrationNumber(processes, results).stream()
+                .map(process -> new AdminCandidate(process, SecurePasswordGenerator.generatePlaceholderPassword()))
+                .toList();
+
+        var createdAdmins = bulkAuthUserRegistration.createAuthUsers(candidates,
+                candidate -> new CreateNewOrganizationAuthUserRequestDto(candidate.process().getOrgAdminEmail(),
+                        candidate.process().getOrgAdminPhone(),
+                        candidate.tempPassword(),
+                        candidate.process().getRegistrationNumber()),
+                (candidate, ex) -> {
+                    Long id = candidate.process().getId();
+                    LOGGER.warn("Auth server user for organization registration process {} was not created : {}", id, ex.getMessage());
+                    results.put(id, result(id, OrganizationRegistrationDecisionOutcome.FAILED, "Auth server user not created"));
+                });
+
+        bulkAuthUserRegistration.saveInChunks(createdAdmins,
+                candidate -> candidate.process().getOrgAdminEmail(),
+                this::saveApproved,
+                admin -> results.put(admin.item().process().getId(),
+                        result(admin.item().process().getId(), OrganizationRegistrationDecisionOutcome.APPROVED, null)),
+                admin -> {
+                    // the entities were changed by the failed transaction, the process stays pending in the database
+                    admin.item().process().setAdminApprovedStatus(OrganizationRegistrationStatus.PENDING);
+                    results.put(admin.item().process().getId(),
+                            result(admin.item().process().getId(), OrganizationRegistrationDecisionOutcome.FAILED, "Could not be saved"));
+                });
+    }
+
+    /**
+     * Leaves out the processes whose registration number is already taken, by an existing organization
+     * or by another process of the same request, which would fail the whole chunk.
+     */
+    private List<OrganizationRegistrationProcess> withAvailableRegistrationNumber(List<OrganizationRegistrationProcess> processes,
+                                                                                Map<Long, OrganizationRegistrationDecisionResultDto> results) {
+        if (processes.isEmpty()) {
+            return processes;
+        }
+        Set<String> taken = new HashSet<>(organizationRepository.findExistingRegistrationNumbers(processes.stream()
+                .map(process -> process.getRegistrationNumber().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toSet())));
+
+        List<OrganizationRegistrationProcess> approvable = new ArrayList<>();
+        for (OrganizationRegistrationProcess process : processes) {
+            if (taken.add(process.getRegistrationNumber().toLowerCase(Locale.ROOT))) {
+                approvable.add(process);
+            } else {
+                results.put(process.getId(), result(process.getId(), OrganizationRegistrationDecisionOutcome.FAILED,
+                        "Registration number already in use"));
+            }
+        }
+        return approvable;
+    }
+
+    private void saveApproved(List<CreatedAuthUser<AdminCandidate>> admins) {
+        List<Organization> organizations = new ArrayList<>(admins.size());
+        for (var admin : admins) {
+            admin.item().process().setAdminApprovedStatus(OrganizationRegistrationStatus.APPROVED);
+            organizations.add(organizationMapper.orgRegistrationProcessToOrganization(admin.item().process()));
+        }
+        organizationRegistrationProcessRepository.saveAll(admins.stream().map(admin -> admin.item().process()).toList());
+        organizationRepository.saveAll(organizations);
+
+        List<UserProfile> profiles = new ArrayList<>(admins.size());
+        for (int i = 0; i < admins.size(); i++) {
+            profiles.add(userProfileMapper.orgRegistrationProcessToUserProfile(admins.get(i).item().process(),
+                    organizations.get(i), admins.get(i).authUserId()));
+        }
+        userProfileRepository.saveAll(profiles);
+
+        for (int i = 0; i < admins.size(); i++) {
+            var profile = profiles.get(i);
+            var emailToken = emailTokenService.createOrganizationAdminToken(organizations.get(i), profile.getId(), profile.getEmail());
+            String body = emailToken + " " + admins.get(i).item().tempPassword();
+            outboxService.enqueueEmail(new EmailDto(List.of(profile.getEmail()), SUBJECT_ORG_ADMIN_CONFIRM, body));
+        }
+    }
+
+    private static OrganizationRegistrationDecisionResultDto result(Long id, OrganizationRegistrationDecisionOutcome outcome, String reason) {
+        return new OrganizationRegistrationDecisionResultDto(id, outcome, reason);
+    }
+
+    private record AdminCandidate(OrganizationRegistrationProcess process, String tempPassword) {
+    }
+
+}
@@ -3,6 +3,7 @@ package com.theodore.account.management.services;
 import com.theodore.account.management.entities.OrganizationRegistrationProcess;
 import com.theodore.account.management.models.dto.requests.OrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
+import com.theodore.account.management.models.dto.responses.CursorSearchResponse;
 import com.theodore.account.management.models.dto.responses.RegistrationProcessResponseDto;
 import com.theodore.infrastructure.common.models.SearchResponse;
 
@@ -21,6 +22,19 @@ public interface OrganizationRegistrationProcessService {
                                                                                          int page,
                                                                                          int pageSize);
 
+    /**
+     * Search for Organization Registration Processes with criteria, one keyset page at a time.
+     *
+     * @param searchRequest is the criteria of the search.
+     * @param cursor        the next cursor of the previous page, empty for the first page
+     * @param pageSize      how many elements are in a page
+     * @param withTotal     whether to also count all the matching elements
+     */
+    CursorSearchResponse<RegistrationProcessResponseDto> searchOrganizationRegistrationProcess(SearchRegistrationProcessRequestDto searchRequest,
+                                                                                               String cursor,
+                                                                                               int pageSize,
+                                                                                               boolean withTotal);
+
     /**
      * Approve or Reject decision from a system admin for an organization registration process.
      *
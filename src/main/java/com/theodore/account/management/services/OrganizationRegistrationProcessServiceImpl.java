@@ -9,29 +9,34 @@ import com.theodore.account.management.mappers.OrganizationMapper;
 import com.theodore.account.management.mappers.OrganizationRegistrationProcessMapper;
 import com.theodore.account.management.mappers.UserProfileMapper;
 import com.theodore.account.management.models.NewOrganizationRegistrationContext;
+import com.theodore.account.management.models.SearchCursor;
 import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
 import com.theodore.account.management.models.dto.requests.OrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
+import com.theodore.account.management.models.dto.responses.CursorSearchResponse;
 import com.theodore.account.management.models.dto.responses.RegistrationProcessResponseDto;
 import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
 import com.theodore.account.management.repositories.OrganizationRepository;
 import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.saga.SagaMetrics;
 import com.theodore.account.management.utils.SecurePasswordGenerator;
 import com.theodore.infrastructure.common.entities.enums.RoleType;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
 import com.theodore.infrastructure.common.models.SearchResponse;
-import com.theodore.infrastructure.common.saga.SagaOrchestrator;
 import com.theodore.queue.common.emails.EmailDto;
-import com.theodore.queue.common.services.MessagingService;
+import org.apache.commons.lang3.ObjectUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
+import java.util.Set;
 
 @Service
 public class OrganizationRegistrationProcessServiceImpl implements OrganizationRegistrationProcessService {
@@ -44,6 +49,14 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
     private static final String SAVE_USER_PROFILE_STEP = "save-user-profile";
     private static final String SEND_EMAIL_STEP = "send-to-email-service";
 
+    private static final String ORGANIZATION_APPROVAL_SAGA = "organization-approval";
+
+    // matches idx_org_registration_process_date_created_id, id makes the order total for the cursor
+    private static final Sort SEARCH_ORDER = Sort.by(
+            Sort.Order.desc(OrganizationRegistrationProcessSpecification.DATE_CREATED),
+            Sort.Order.desc(OrganizationRegistrationProcessSpecification.ID)
+    );
+
     private final OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository;
     private final OrganizationRepository organizationRepository;
     private final UserProfileRepository userProfileRepository;
@@ -53,7 +66,9 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
     private final OrganizationMapper organizationMapper;
     private final SagaCompensationActionService sagaCompensationActionService;
     private final EmailTokenService emailTokenService;
-    private final MessagingService messagingService;
+    private final OutboxService outboxService;
+    private final SagaMetrics sagaMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     public OrganizationRegistrationProcessServiceImpl(OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository,
                                                       OrganizationRepository organizationRepository,
@@ -64,7 +79,9 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
                                                       OrganizationMapper organizationMapper,
                                                       SagaCompensationActionService sagaCompensationActionService,
                                                       EmailTokenService emailTokenService,
-                                                      MessagingService messagingService) {
+                                                      OutboxService outboxService,
+                                                      SagaMetrics sagaMetrics,
+                                                      TransactionTemplate transactionTemplate) {
         this.organizationRegistrationProcessRepository = organizationRegistrationProcessRepository;
         this.organizationRepository = organizationRepository;
         this.userProfileRepository = userProfileRepository;
@@ -74,7 +91,9 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
         this.organizationMapper = organizationMapper;
         this.sagaCompensationActionService = sagaCompensationActionService;
         this.emailTokenService = emailTokenService;
-        this.messagingService = messagingService;
+        this.outboxService = outboxService;
+        this.sagaMetrics = sagaMetrics;
+        this.transactionTemplate = transactionTemplate;
     }
 
     @Override
@@ -87,7 +106,7 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
                                                                                                 int page,
                                                                                                 int pageSize) {
         LOGGER.info("Request to search for organization registration processes");
-        Pageable pageable = PageRequest.of(page, pageSize, Sort.by("dateCreated").descending());
+        Pageable pageable = PageRequest.of(page, pageSize, SEARCH_ORDER);
         Page<OrganizationRegistrationProcess> filteredResults = organizationRegistrationProcessRepository.findAll(
                 OrganizationRegistrationProcessSpecification.filterCriteria(searchRequest), pageable);
 
@@ -108,6 +127,44 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
         return response;
     }
 
+    @Override
+    public CursorSearchResponse<RegistrationProcessResponseDto> searchOrganizationRegistrationProcess(SearchRegistrationProcessRequestDto searchRequest,
+                                                                                                      String cursor,
+                                                                                                      int pageSize,
+                                                                                                      boolean withTotal) {
+        LOGGER.info("Request to search for organization registration processes after a cursor");
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        Specification<OrganizationRegistrationProcess> filter = OrganizationRegistrationProcessSpecification.filterCriteria(searchRequest);
+        Specification<OrganizationRegistrationProcess> seek = ObjectUtils.isEmpty(cursor)
+                ? filter
+                : filter.and(OrganizationRegistrationProcessSpecification.seekAfter(SearchCursor.decode(cursor)));
+
+        // one extra row tells whether there is a next page without counting
+        List<OrganizationRegistrationProcess> rows = organizationRegistrationProcessRepository.findBy(seek,
+                query -> query.sortBy(SEARCH_ORDER).limit(pageSize + 1).all());
+
+        boolean last = rows.size() <= pageSize;
+        List<OrganizationRegistrationProcess> pageRows = last ? rows : rows.subList(0, pageSize);
+
+        String nextCursor = null;
+        if (!last) {
+            var lastRow = pageRows.getLast();
+            nextCursor = new SearchCursor(String.valueOf(lastRow.getDateCreated()), lastRow.getId()).encode();
+        }
+
+        Long totalElements = withTotal ? organizationRegistrationProcessRepository.count(filter) : null;
+
+        return new CursorSearchResponse<>(
+                pageRows.stream().map(organizationRegistrationProcessMapper::entityToResponseDto).toList(),
+                pageSize,
+                nextCursor,
+                last,
+                totalElements
+        );
+    }
+
     @Override
     public void organizationRegistrationDecision(OrganizationRegistrationDecisionRequestDto requestDto) {
 
@@ -130,7 +187,7 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
         String orgAdminEmail = registrationProcess.getOrgAdminEmail() != null ? registrationProcess.getOrgAdminEmail() : "unknown";
 
         var context = new NewOrganizationRegistrationContext();
-        var sagaOrchestrator = new SagaOrchestrator();
+        var sagaOrchestrator = sagaMetrics.saga(ORGANIZATION_APPROVAL_SAGA);
 
         sagaOrchestrator
                 .step(CREATE_REGISTRATION_PROCESS_STEP,
@@ -151,13 +208,15 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
                         },
                         () -> organizationRepository.delete(context.getOrganization())
                 )
+                // independent of the organization insert, the auth server call runs alongside it
                 .step(CREATE_ORGANIZATION_AUTH_USER_STEP,
+                        Set.of(CREATE_REGISTRATION_PROCESS_STEP),
                         () -> {
                             var orgAuthUserRequest = new CreateNewOrganizationAuthUserRequestDto(
                                     context.getRegistrationProcess().getOrgAdminEmail(),
                                     context.getRegistrationProcess().getOrgAdminPhone(),
                                     context.getTempPassword(),
-                                    context.getOrganization().getRegistrationNumber()
+                                    context.getRegistrationProcess().getRegistrationNumber()
                             );
                             //send to auth server and get id
                             var authUser = authServerGrpcClient.authServerNewOrganizationUserRegistration(
@@ -189,8 +248,8 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
                         }
                 )
                 .step(SEND_EMAIL_STEP,
-                        () -> {
-                            // Send to email service
+                        () -> transactionTemplate.executeWithoutResult(status -> {
+                            // Send to email service, the token and its email are written together
                             var emailToken = emailTokenService.createOrganizationAdminToken(
                                     context.getSavedProfile().getOrganization(),
                                     context.getSavedProfile().getId(),
@@ -199,8 +258,8 @@ public class OrganizationRegistrationProcessServiceImpl implements OrganizationR
                             String body = emailToken + " " + context.getTempPassword();
                             var confirmationEmail = new EmailDto(List.of(context.getSavedProfile().getEmail()),
                                     "Organization Admin Account Confirmation", body);
-                            messagingService.sendToEmailService(confirmationEmail);
-                        },
+                            outboxService.enqueueEmail(confirmationEmail);
+                        }),
                         () -> {
                         }
                 );
@@ -0,0 +1,35 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.enums.UserImportFormat;
+import com.theodore.account.management.models.dto.responses.OrganizationUserImportResultDto;
+
+import java.io.InputStream;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface OrganizationUserImportService {
+
+    /**
+     * Checks that the logged in user may import users into the organization, before the upload is read.
+     * A system admin may name any organization, anyone else only the organization of their own profile.
+     *
+     * @param organizationRegNumber the registration number of the organization the employees work for
+     * @throws org.springframework.security.access.AccessDeniedException when the organization is not the caller's
+     */
+    void checkImportAllowed(String organizationRegNumber);
+
+    /**
+     * Register the employees of an organization from an upload. Rows are registered in chunks,
+     * a row that cannot be registered does not stop the others.
+     *
+     * @param organizationRegNumber the registration number of the organization the employees work for
+     * @param format                the format of the upload
+     * @param input                 the upload, read as the import goes on
+     * @param onResults             receives the outcome of the rows of every chunk, in upload order, as soon as the chunk is done
+     */
+    void importOrganizationUsers(String organizationRegNumber,
+                                 UserImportFormat format,
+                                 InputStream input,
+                                 Consumer<List<OrganizationUserImportResultDto>> onResults);
+
+}
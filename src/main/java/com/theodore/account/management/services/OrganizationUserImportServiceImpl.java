@@ -0,0 +1,255 @@
+package com.theodore.account.management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.entities.Organization;
+import com.theodore.account.management.entities.OrganizationUserRegistrationRequest;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.enums.AccountConfirmedBy;
+import com.theodore.account.management.enums.OrganizationUserImportOutcome;
+import com.theodore.account.management.enums.UserImportFormat;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
+import com.theodore.account.management.models.dto.requests.OrganizationUserImportRowDto;
+import com.theodore.account.management.models.dto.responses.OrganizationUserImportResultDto;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.services.BulkAuthUserRegistration.CreatedAuthUser;
+import com.theodore.account.management.utils.AccountManagementUtils;
+import com.theodore.account.management.utils.UserImportRowReader;
+import com.theodore.account.management.utils.UserImportRowReader.ImportRow;
+import com.theodore.infrastructure.common.entities.enums.RoleType;
+import com.theodore.infrastructure.common.exceptions.NotFoundException;
+import com.theodore.infrastructure.common.utils.MobilityUtils;
+import com.theodore.queue.common.emails.EmailDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Registers the employees of an organization from an upload, one chunk of rows at a time.
+ * The organization is looked up once and the emails of a chunk are checked with one query,
+ * the results of a chunk are handed over as soon as it is done so that a large upload is never held in memory.
+ */
+@Service
+public class OrganizationUserImportServiceImpl implements OrganizationUserImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrganizationUserImportServiceImpl.class);
+
+    static final int CHUNK_SIZE = BulkAuthUserRegistration.CHUNK_SIZE;
+
+    private static final String SUBJECT_REG_CONFIRM = "User Registration Confirmation";
+    private static final String ROLLBACK_LOG_MSG = "Organization user import";
+    private static final String SYS_ADMIN_ROLE = "SYS_ADMIN";
+
+    @Value("${app.base-url}")
+    private String appUrl;
+
+    private final OrganizationRepository organizationRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
+    private final UserProfileMapper userProfileMapper;
+    private final EmailTokenService emailTokenService;
+    private final OutboxService outboxService;
+    private final BulkAuthUserRegistration bulkAuthUserRegistration;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    public OrganizationUserImportServiceImpl(OrganizationRepository organizationRepository,
+                                             UserProfileRepository userProfileRepository,
+                                             OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository,
+                                             AuthServerAsyncGrpcClient authServerAsyncGrpcClient,
+                                             UserProfileMapper userProfileMapper,
+                                             EmailTokenService emailTokenService,
+                                             OutboxService outboxService,
+                                             SagaCompensationActionService sagaCompensationActionService,
+                                             TransactionTemplate transactionTemplate,
+                                             Validator validator,
+                                             ObjectMapper objectMapper) {
+        this.organizationRepository = organizationRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.organizationUserRegistrationRequestRepository = organizationUserRegistrationRequestRepository;
+        this.userProfileMapper = userProfileMapper;
+        this.emailTokenService = emailTokenService;
+        this.outboxService = outboxService;
+        this.bulkAuthUserRegistration = new BulkAuthUserRegistration(authServerAsyncGrpcClient, sagaCompensationActionService,
+                transactionTemplate, RoleType.SIMPLE_USER, ROLLBACK_LOG_MSG);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void checkImportAllowed(String organizationRegNumber) {
+        if (AccountManagementUtils.loggedInUserHasRole(SYS_ADMIN_ROLE)) {
+            return;
+        }
+        String userId = AccountManagementUtils.getLoggedInUserId();
+        boolean ownOrganization = userProfileRepository.findWithOrganizationById(userId)
+                .map(UserProfile::getOrganization)
+                .map(Organization::getRegistrationNumber)
+                .filter(registrationNumber -> registrationNumber.equalsIgnoreCase(organizationRegNumber))
+                .isPresent();
+        if (!ownOrganization) {
+            LOGGER.warn("User {} is not allowed to import users into organization {}", userId, organizationRegNumber);
+            throw new AccessDeniedException("Users can only be imported into the organization of the caller");
+        }
+    }
+
+    @Override
+    public void importOrganizationUsers(String organizationRegNumber,
+                                        UserImportFormat format,
+                                        InputStream input,
+                                        Consumer<List<OrganizationUserImportResultDto>> onResults) {
+
+        Organization organization = organizationRepository.findByRegistrationNumberIgnoreCase(organizationRegNumber)
+                .orElseThrow(() -> new NotFoundException("Organization not found"));
+
+        LOGGER.info("Import of users for organization : {}", organization.getRegistrationNumber());
+
+        // emails already seen in earlier chunks of the same upload
+        Set<String> seenEmails = new HashSet<>();
+        long imported = 0;
+        try (var reader = new UserImportRowReader(input, format, objectMapper)) {
+            List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    imported += chunk.size();
+                    onResults.accept(importChunk(organization, chunk, seenEmails));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                imported += chunk.size();
+                onResults.accept(importChunk(organization, chunk, seenEmails));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LOGGER.info("Imported {} rows for organization : {}", imported, organization.getRegistrationNumber());
+    }
+
+    private List<OrganizationUserImportResultDto> importChunk(Organization organization, List<ImportRow> rows, Set<String> seenEmails) {
+        var results = new OrganizationUserImportResultDto[rows.size()];
+
+        List<Candidate> candidates = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            var row = rows.get(i);
+            String invalid = invalidReason(row);
+            if (invalid != null) {
+                results[i] = result(row, row.user() != null ? row.user().email() : null, OrganizationUserImportOutcome.INVALID, invalid);
+                continue;
+            }
+            String email = MobilityUtils.normalizeEmail(row.user().email());
+            if (!seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+                results[i] = result(row, email, OrganizationUserImportOutcome.DUPLICATE, "Email appears earlier in the import");
+            } else {
+                candidates.add(new Candidate(i, row, email));
+            }
+        }
+
+        List<Candidate> newUsers = withoutRegisteredEmails(candidates, results);
+
+        var createdUsers = bulkAuthUserRegistration.createAuthUsers(newUsers,
+                candidate -> new CreateNewOrganizationAuthUserRequestDto(candidate.email(),
+                        candidate.row().user().mobileNumber(),
+                        candidate.row().user().password(),
+                        organization.getRegistrationNumber()),
+                (candidate, ex) -> {
+                    LOGGER.warn("Auth server user for import row {} was not created : {}", candidate.row().row(), ex.getMessage());
+                    results[candidate.position()] = result(candidate.row(), candidate.email(),
+                            OrganizationUserImportOutcome.FAILED, "Auth server user not created");
+                });
+
+        bulkAuthUserRegistration.saveInChunks(createdUsers,
+                Candidate::email,
+                users -> saveRegistered(organization, users),
+                user -> results[user.item().position()] = result(user.item().row(), user.item().email(),
+                        OrganizationUserImportOutcome.REGISTERED, null),
+                user -> results[user.item().position()] = result(user.item().row(), user.item().email(),
+                        OrganizationUserImportOutcome.FAILED, "Could not be saved"));
+
+        return Arrays.asList(results);
+    }
+
+    private String invalidReason(ImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<OrganizationUserImportRowDto>> violations = validator.validate(row.user());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        // the messages only name the fields, the rejected values (passwords among them) are not echoed back
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private List<Candidate> withoutRegisteredEmails(List<Candidate> candidates, OrganizationUserImportResultDto[] results) {
+        if (candidates.isEmpty()) {
+            return candidates;
+        }
+        Set<String> registered = new HashSet<>(userProfileRepository.findExistingEmails(candidates.stream()
+                .map(candidate -> candidate.email().toLowerCase(Locale.ROOT))
+                .toList()));
+
+        List<Candidate> newUsers = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            if (registered.contains(candidate.email().toLowerCase(Locale.ROOT))) {
+                // reported like a new user, otherwise the import would tell whether any email is registered
+                results[candidate.position()] = result(candidate.row(), candidate.email(),
+                        OrganizationUserImportOutcome.REGISTERED, null);
+            } else {
+                newUsers.add(candidate);
+            }
+        }
+        return newUsers;
+    }
+
+    private void saveRegistered(Organization organization, List<CreatedAuthUser<Candidate>> users) {
+        List<UserProfile> profiles = new ArrayList<>(users.size());
+        List<OrganizationUserRegistrationRequest> registrationRequests = new ArrayList<>(users.size());
+        for (var user : users) {
+            var requestDto = user.item().row().user().toRequestDto(user.item().email(), organization.getRegistrationNumber());
+            profiles.add(userProfileMapper.createOrganizationUserDtoToUserProfile(user.authUserId(), requestDto, organization));
+
+            var registrationRequest = new OrganizationUserRegistrationRequest();
+            registrationRequest.setOrganizationRegistrationNumber(organization.getRegistrationNumber());
+            registrationRequest.setOrgUserEmail(user.item().email());
+            registrationRequests.add(registrationRequest);
+        }
+        userProfileRepository.saveAll(profiles);
+        organizationUserRegistrationRequestRepository.saveAll(registrationRequests);
+
+        for (UserProfile profile : profiles) {
+            var emailToken = emailTokenService.createOrganizationUserToken(organization, profile.getId(), profile.getEmail(),
+                    AccountConfirmedBy.USER);
+            var link = String.format("%s/confirmation/org-user?token=%s", appUrl, emailToken);
+            outboxService.enqueueEmail(new EmailDto(List.of(profile.getEmail()), SUBJECT_REG_CONFIRM, link));
+        }
+    }
+
+    private static OrganizationUserImportResultDto result(ImportRow row, String email, OrganizationUserImportOutcome outcome, String reason) {
+        return new OrganizationUserImportResultDto(row.row(), email, outcome, reason);
+    }
+
+    private record Candidate(int position, ImportRow row, String email) {
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.theodore.account.management.services;
+
+import com.theodore.queue.common.authserver.CredentialsRollbackEventDto;
+import com.theodore.queue.common.emails.EmailDto;
+
+public interface OutboxService {
+
+    /**
+     * Stores an email for the email service, joining the caller's transaction if there is one.
+     */
+    void enqueueEmail(EmailDto email);
+
+    /**
+     * Stores a credentials rollback for the auth server, joining the caller's transaction if there is one.
+     */
+    void enqueueCredentialsRollback(CredentialsRollbackEventDto rollbackEvent);
+
+    /**
+     * Publishes the next batch of due events to the broker.
+     *
+     * @return how many events were picked up
+     */
+    int publishDueEvents();
+
+}
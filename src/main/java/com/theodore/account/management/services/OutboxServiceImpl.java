@@ -0,0 +1,147 @@
+package com.theodore.account.management.services;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.entities.OutboxEvent;
+import com.theodore.account.management.repositories.OutboxEventRepository;
+import com.theodore.account.management.utils.OutboxRelayProps;
+import com.theodore.queue.common.authserver.CredentialsRollbackEventDto;
+import com.theodore.queue.common.emails.EmailDto;
+import com.theodore.queue.common.services.MessagingService;
+import jakarta.transaction.Transactional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class OutboxServiceImpl implements OutboxService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxServiceImpl.class);
+
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final MessagingService messagingService;
+    private final ObjectMapper objectMapper;
+    private final OutboxRelayProps relayProps;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxServiceImpl(OutboxEventRepository outboxEventRepository,
+                             MessagingService messagingService,
+                             ObjectMapper objectMapper,
+                             OutboxRelayProps relayProps,
+                             TransactionTemplate transactionTemplate) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messagingService = messagingService;
+        this.objectMapper = objectMapper;
+        this.relayProps = relayProps;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void enqueueEmail(EmailDto email) {
+        outboxEventRepository.save(new OutboxEvent(OutboxEvent.EventType.EMAIL, toJson(email)));
+    }
+
+    @Override
+    @Transactional
+    public void enqueueCredentialsRollback(CredentialsRollbackEventDto rollbackEvent) {
+        outboxEventRepository.save(new OutboxEvent(OutboxEvent.EventType.CREDENTIALS_ROLLBACK, toJson(rollbackEvent)));
+    }
+
+    /**
+     * The events are claimed in one short transaction, by moving their next attempt past the lease,
+     * and published without a transaction, so that no row lock or connection is held while the broker confirms.
+     * A second short transaction deletes the published events and reschedules the others.
+     * If the node stops in between, the claimed events are picked up again once the lease is over.
+     */
+    @Override
+    public int publishDueEvents() {
+        List<OutboxEvent> claimed = transactionTemplate.execute(status -> claimDueEvents());
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<OutboxEvent> published = new ArrayList<>(claimed.size());
+        List<OutboxEvent> failed = new ArrayList<>();
+        for (OutboxEvent event : claimed) {
+            try {
+                publish(event);
+                published.add(event);
+            } catch (RuntimeException ex) {
+                scheduleRetry(event, ex);
+                failed.add(event);
+            }
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            // published events are not kept, one delete for the whole batch
+            if (!published.isEmpty()) {
+                outboxEventRepository.deleteAllInBatch(published);
+            }
+            if (!failed.isEmpty()) {
+                outboxEventRepository.saveAll(failed);
+            }
+        });
+
+        LOGGER.debug("Outbox relay published {} of {} events", published.size(), claimed.size());
+        return claimed.size();
+    }
+
+    private List<OutboxEvent> claimDueEvents() {
+        List<OutboxEvent> dueEvents = outboxEventRepository.findDueForUpdate(relayProps.batchSize());
+        Instant leaseEnd = Instant.now().plus(relayProps.lease());
+        dueEvents.forEach(event -> event.setNextAttemptAt(leaseEnd));
+        return dueEvents;
+    }
+
+    private void publish(OutboxEvent event) {
+        try {
+            switch (event.getEventType()) {
+                case EMAIL -> messagingService.sendToEmailService(
+                        objectMapper.readValue(event.getPayload(), EmailDto.class));
+                case CREDENTIALS_ROLLBACK -> messagingService.rollbackCredentialsSave(
+                        objectMapper.readValue(event.getPayload(), CredentialsRollbackEventDto.class));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Unreadable outbox event payload", ex);
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent event, RuntimeException ex) {
+        int attempts = event.getAttempts() + 1;
+        event.setAttempts(attempts);
+        event.setLastError(abbreviate(ex.getMessage()));
+        if (attempts >= relayProps.maxAttempts()) {
+            event.setStatus(OutboxEvent.EventStatus.FAILED);
+            LOGGER.error("Outbox event {} of type {} failed {} times and will not be retried",
+                    event.getId(), event.getEventType(), attempts, ex);
+        } else {
+            event.setNextAttemptAt(Instant.now().plus(relayProps.backoffFor(attempts)));
+            LOGGER.warn("Outbox event {} of type {} could not be published, attempt {} : {}",
+                    event.getId(), event.getEventType(), attempts, ex.getMessage());
+        }
+    }
+
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalArgumentException("Could not serialize outbox event payload", ex);
+        }
+    }
+
+    private static String abbreviate(String message) {
+        if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+            return message;
+        }
+        return message.substring(0, MAX_ERROR_LENGTH);
+    }
+
+}
@@ -2,6 +2,9 @@ package com.theodore.account.management.services;
 
 import com.theodore.account.management.models.dto.requests.UserChangeInformationRequestDto;
 
+import java.util.Collection;
+import java.util.Map;
+
 public interface ProfileManagementService {
 
     /**
@@ -15,4 +18,13 @@ public interface ProfileManagementService {
      */
     String getUserEmailByUserId(String userId);
 
+    /**
+     * Batch variant of {@link #getUserEmailByUserId(String)}.
+     * Cached emails are read with one multi-get, the rest with one query and then cached.
+     *
+     * @param userIds The users' ids
+     * @return The email by user id, users that do not exist are left out
+     */
+    Map<String, String> getUserEmailsByUserIds(Collection<String> userIds);
+
 }
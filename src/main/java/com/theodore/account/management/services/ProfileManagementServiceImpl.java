@@ -1,19 +1,24 @@
 package com.theodore.account.management.services;
 
+import com.theodore.account.management.cache.BatchCache;
 import com.theodore.account.management.entities.UserProfile;
 import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.UserIdAndEmail;
 import com.theodore.account.management.models.dto.requests.AuthUserManageAccountRequestDto;
 import com.theodore.account.management.models.dto.requests.UserChangeInformationRequestDto;
+import com.theodore.account.management.models.dto.requests.UserEmailsRequestDto;
 import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.saga.SagaMetrics;
 import com.theodore.account.management.utils.AccountManagementUtils;
 import com.theodore.account.management.utils.CacheNames;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
-import com.theodore.infrastructure.common.saga.SagaOrchestrator;
 import com.theodore.infrastructure.common.utils.MobilityUtils;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
-import java.util.Optional;
+import java.util.*;
 
 @Service
 public class ProfileManagementServiceImpl implements ProfileManagementService {
@@ -21,19 +26,27 @@ public class ProfileManagementServiceImpl implements ProfileManagementService {
     private static final String SEND_AUTH_USER_ACCOUNT_CHANGES_STEP = "send-auth-user-account-changes";
     private static final String SAVE_USER_PROFILE_STEP = "save-user-profile";
 
+    private static final String ADMIN_PROFILE_MANAGEMENT_SAGA = "admin-profile-management";
+
     private final UserProfileRepository userProfileRepository;
     private final SagaCompensationActionService sagaCompensationActionService;
     private final UserProfileMapper userProfileMapper;
     private final AuthServerGrpcClient authServerGrpcClient;
+    private final CacheManager cacheManager;
+    private final SagaMetrics sagaMetrics;
 
     public ProfileManagementServiceImpl(UserProfileRepository userProfileRepository,
                                         SagaCompensationActionService sagaCompensationActionService,
                                         UserProfileMapper userProfileMapper,
-                                        AuthServerGrpcClient authServerGrpcClient) {
+                                        AuthServerGrpcClient authServerGrpcClient,
+                                        CacheManager cacheManager,
+                                        SagaMetrics sagaMetrics) {
         this.userProfileRepository = userProfileRepository;
         this.sagaCompensationActionService = sagaCompensationActionService;
         this.userProfileMapper = userProfileMapper;
         this.authServerGrpcClient = authServerGrpcClient;
+        this.cacheManager = cacheManager;
+        this.sagaMetrics = sagaMetrics;
     }
 
     @Override
@@ -57,7 +70,7 @@ public class ProfileManagementServiceImpl implements ProfileManagementService {
                 requestDto.getNewPassword()
         );
 
-        new SagaOrchestrator()
+        sagaMetrics.saga(ADMIN_PROFILE_MANAGEMENT_SAGA)
                 .step(SEND_AUTH_USER_ACCOUNT_CHANGES_STEP,
                         () -> authServerGrpcClient.manageAuthServerUserAccount(authServerAccManageRequest),
                         () -> sagaCompensationActionService.authServerCredentialsRollback(userId, newEmail, logMsg)
@@ -85,4 +98,33 @@ public class ProfileManagementServiceImpl implements ProfileManagementService {
         return userProfile.getEmail();
     }
 
+    @Override
+    public Map<String, String> getUserEmailsByUserIds(Collection<String> userIds) {
+        Set<String> ids = new LinkedHashSet<>(userIds);
+        if (ids.size() > UserEmailsRequestDto.MAX_USER_IDS) {
+            throw new IllegalArgumentException("At most " + UserEmailsRequestDto.MAX_USER_IDS + " user ids per request");
+        }
+
+        Map<String, String> emails = new HashMap<>();
+        Cache cache = cacheManager.getCache(CacheNames.USER_EMAIL_FROM_ID);
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.getAll(ids).forEach((userId, email) -> emails.put(userId, (String) email));
+        }
+
+        List<String> misses = ids.stream().filter(userId -> !emails.containsKey(userId)).toList();
+        if (misses.isEmpty()) {
+            return emails;
+        }
+
+        Map<String, String> loaded = new HashMap<>();
+        for (UserIdAndEmail row : userProfileRepository.findEmailsByIdIn(misses)) {
+            loaded.put(row.userId(), row.email());
+        }
+        if (cache instanceof BatchCache batchCache) {
+            batchCache.putAll(loaded);
+        }
+        emails.putAll(loaded);
+        return emails;
+    }
+
 }
@@ -17,16 +17,16 @@ import com.theodore.account.management.repositories.OrganizationRegistrationProc
 import com.theodore.account.management.repositories.OrganizationRepository;
 import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
 import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.saga.SagaMetrics;
 import com.theodore.infrastructure.common.entities.enums.RoleType;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
-import com.theodore.infrastructure.common.saga.SagaOrchestrator;
 import com.theodore.infrastructure.common.utils.MobilityUtils;
 import com.theodore.queue.common.emails.EmailDto;
-import com.theodore.queue.common.services.MessagingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.List;
 
@@ -46,38 +46,47 @@ public class RegistrationServiceImpl implements RegistrationService {
     private static final String SAVE_REGISTRATION_REQUEST_STEP = "save-registration-request";
     private static final String SEND_EMAIL_STEP = "send-to-email-service";
 
+    private static final String SIMPLE_USER_REGISTRATION_SAGA = "simple-user-registration";
+    private static final String ORGANIZATION_USER_REGISTRATION_SAGA = "organization-user-registration";
+
 
     private final OrganizationRepository organizationRepository;
     private final EmailTokenService emailTokenService;
     private final OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
     private final AuthServerGrpcClient authServerGrpcClient;
-    private final MessagingService messagingService;
+    private final OutboxService outboxService;
     private final UserProfileRepository userProfileRepository;
     private final UserProfileMapper userProfileMapper;
     private final OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository;
     private final OrganizationRegistrationProcessMapper organizationRegistrationProcessMapper;
     private final SagaCompensationActionService sagaCompensationActionService;
+    private final SagaMetrics sagaMetrics;
+    private final TransactionTemplate transactionTemplate;
 
     public RegistrationServiceImpl(OrganizationRepository organizationRepository,
                                    EmailTokenService emailTokenService,
                                    OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository,
                                    AuthServerGrpcClient authServerGrpcClient,
-                                   MessagingService messagingService,
+                                   OutboxService outboxService,
                                    UserProfileRepository userProfileRepository,
                                    UserProfileMapper userProfileMapper,
                                    OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository,
                                    OrganizationRegistrationProcessMapper organizationRegistrationProcessMapper,
-                                   SagaCompensationActionService sagaCompensationActionService) {
+                                   SagaCompensationActionService sagaCompensationActionService,
+                                   SagaMetrics sagaMetrics,
+                                   TransactionTemplate transactionTemplate) {
         this.organizationRepository = organizationRepository;
         this.emailTokenService = emailTokenService;
         this.organizationUserRegistrationRequestRepository = organizationUserRegistrationRequestRepository;
         this.authServerGrpcClient = authServerGrpcClient;
-        this.messagingService = messagingService;
+        this.outboxService = outboxService;
         this.userProfileRepository = userProfileRepository;
         this.userProfileMapper = userProfileMapper;
         this.organizationRegistrationProcessRepository = organizationRegistrationProcessRepository;
         this.organizationRegistrationProcessMapper = organizationRegistrationProcessMapper;
         this.sagaCompensationActionService = sagaCompensationActionService;
+        this.sagaMetrics = sagaMetrics;
+        this.transactionTemplate = transactionTemplate;
     }
 
     //removed @Transactional from here because the exception was thrown at the end so saga did not pick it
@@ -93,7 +102,7 @@ public class RegistrationServiceImpl implements RegistrationService {
         }
 
         var context = new UserProfileRegistrationContext();
-        var sagaOrchestrator = new SagaOrchestrator();
+        var sagaOrchestrator = sagaMetrics.saga(SIMPLE_USER_REGISTRATION_SAGA);
 
         String userEmail = email != null ? email : "unknown";
 
@@ -127,13 +136,13 @@ public class RegistrationServiceImpl implements RegistrationService {
 
                 )
                 .step(SEND_EMAIL_STEP,
-                        () -> {
-                            // 3) Send email
+                        () -> transactionTemplate.executeWithoutResult(status -> {
+                            // 3) Send email, the token is only kept together with the email that carries it
                             var token = emailTokenService.createSimpleUserToken(context.getSavedProfile());
                             var link = String.format("%s/simple?token=%s", appUrl, token);
                             var confirmationEmail = new EmailDto(List.of(userEmail), SUBJECT_REG_CONFIRM, link);
-                            messagingService.sendToEmailService(confirmationEmail);
-                        },
+                            outboxService.enqueueEmail(confirmationEmail);
+                        }),
                         () -> {
                         }
                 );
@@ -165,7 +174,7 @@ public class RegistrationServiceImpl implements RegistrationService {
         }
 
         var context = new UserProfileRegistrationContext();
-        var sagaOrchestrator = new SagaOrchestrator();
+        var sagaOrchestrator = sagaMetrics.saga(ORGANIZATION_USER_REGISTRATION_SAGA);
 
         String userEmail = email != null ? email : "unknown";
 
@@ -219,7 +228,7 @@ public class RegistrationServiceImpl implements RegistrationService {
 
                 )
                 .step(SEND_EMAIL_STEP,
-                        () -> {
+                        () -> transactionTemplate.executeWithoutResult(status -> {
                             var emailToken = emailTokenService.createOrganizationUserToken(
                                     context.getSavedProfile().getOrganization(),
                                     context.getSavedProfile().getId(),
@@ -228,8 +237,8 @@ public class RegistrationServiceImpl implements RegistrationService {
                             );
                             var link = String.format("%s/confirmation/org-user?token=%s", appUrl, emailToken);
                             var confirmationEmail = new EmailDto(List.of(userEmail), SUBJECT_REG_CONFIRM, link);
-                            messagingService.sendToEmailService(confirmationEmail);
-                        },
+                            outboxService.enqueueEmail(confirmationEmail);
+                        }),
                         () -> {
                         }
                 );
@@ -262,11 +271,12 @@ public class RegistrationServiceImpl implements RegistrationService {
     public void resendEmailVerificationToken(String emailRequest) {
         String email = MobilityUtils.normalizeEmail(emailRequest);
         LOGGER.info("Resend email verification token for email : {}", email);
-        UserProfile user = userProfileRepository.findByEmailIgnoreCase(email)
+        // the organization is read after the repository call, there is no session left to lazy load it from
+        UserProfile user = userProfileRepository.findWithOrganizationByEmailIgnoreCase(email)
                 .orElseThrow(() -> new NotFoundException(USER_NOT_FOUND));
 
         var refreshToken = emailTokenService.refreshEmailVerificationToken(user.getId());
-        messagingService.sendToEmailService(getEmailData(refreshToken, user));
+        outboxService.enqueueEmail(getEmailData(refreshToken, user));
     }
 
 
@@ -1,7 +1,6 @@
 package com.theodore.account.management.services;
 
 import com.theodore.queue.common.authserver.CredentialsRollbackEventDto;
-import com.theodore.queue.common.services.MessagingService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -11,10 +10,10 @@ public class SagaCompensationActionServiceImpl implements SagaCompensationAction
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SagaCompensationActionServiceImpl.class);
 
-    private final MessagingService messagingService;
+    private final OutboxService outboxService;
 
-    public SagaCompensationActionServiceImpl(MessagingService messagingService) {
-        this.messagingService = messagingService;
+    public SagaCompensationActionServiceImpl(OutboxService outboxService) {
+        this.outboxService = outboxService;
     }
 
     @Override
@@ -23,7 +22,7 @@ public class SagaCompensationActionServiceImpl implements SagaCompensationAction
         email = email != null ? email : "unknown";
         LOGGER.info("{} process failed. Rolling back credentials from auth server for user : {} ", logMsg, email);
         var rollbackEvent = new CredentialsRollbackEventDto(authUserId);
-        messagingService.rollbackCredentialsSave(rollbackEvent);
+        outboxService.enqueueCredentialsRollback(rollbackEvent);
     }
 
 }
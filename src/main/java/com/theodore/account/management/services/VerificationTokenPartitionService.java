@@ -0,0 +1,39 @@
+package com.theodore.account.management.services;
+
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Maintains the daily partitions of the email_verification_token table.
+ */
+public interface VerificationTokenPartitionService {
+
+    /**
+     * Creates the partitions of the given day and of the following ones that do not exist yet.
+     * Tokens of a created day that had landed in the default partition are moved into it.
+     *
+     * @param from first day, in UTC
+     * @param days number of days to cover, including the first one
+     * @return the number of partitions created
+     */
+    int createPartitions(LocalDate from, int days);
+
+    /**
+     * Drops the partitions whose tokens all expired before the given instant.
+     * Dropping a partition removes its tokens at once instead of deleting them row by row.
+     *
+     * @param expiredBefore partitions that end on or before this are dropped
+     * @return the number of partitions dropped
+     */
+    int dropPartitionsBefore(Instant expiredBefore);
+
+    /**
+     * Deletes the tokens of the default partition that expired before the given instant,
+     * they belong to days that never got a partition and would not be dropped otherwise.
+     *
+     * @param expiredBefore tokens that expired before this are deleted
+     * @return the number of tokens deleted
+     */
+    int deleteExpiredFromDefaultPartition(Instant expiredBefore);
+
+}
@@ -0,0 +1,160 @@
+package com.theodore.account.management.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class VerificationTokenPartitionServiceImpl implements VerificationTokenPartitionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(VerificationTokenPartitionServiceImpl.class);
+
+    private static final String TABLE = "email_verification_token";
+    private static final String DEFAULT_PARTITION = TABLE + "_default";
+    private static final String PARTITION_PREFIX = TABLE + "_p";
+    private static final String COLUMNS = "jti, user_id, jwt_token, last_sent, times_resent, expires_at, status";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String FIND_PARTITIONS = "select child.relname from pg_inherits inheritance " +
+            "join pg_class parent on parent.oid = inheritance.inhparent " +
+            "join pg_class child on child.oid = inheritance.inhrelid " +
+            "where parent.relname = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter failedCounter;
+
+    public VerificationTokenPartitionServiceImpl(JdbcTemplate jdbcTemplate,
+                                                 TransactionTemplate transactionTemplate,
+                                                 MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.failedCounter = Counter.builder("verification.token.partitions.failed")
+                .description("Email verification token partitions that could not be created")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public int createPartitions(LocalDate from, int days) {
+        Set<LocalDate> existing = Set.copyOf(findPartitionDays());
+        int created = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate day = from.plusDays(i);
+            if (existing.contains(day)) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> createPartition(day));
+                created++;
+            } catch (DataAccessException ex) {
+                failedCounter.increment();
+                LOGGER.error("Could not create verification token partition for {} : {}", day, ex.getMessage());
+            }
+        }
+        if (created > 0) {
+            LOGGER.info("Verification token partitions created : {}", created);
+        }
+        return created;
+    }
+
+    @Override
+    public int dropPartitionsBefore(Instant expiredBefore) {
+        int dropped = 0;
+        for (LocalDate day : findPartitionDays()) {
+            Instant partitionEnd = day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+            if (partitionEnd.isAfter(expiredBefore)) {
+                continue;
+            }
+            jdbcTemplate.execute("drop table if exists " + partitionName(day));
+            dropped++;
+        }
+        if (dropped > 0) {
+            LOGGER.info("Verification token partitions dropped : {}", dropped);
+        }
+        return dropped;
+    }
+
+    @Override
+    public int deleteExpiredFromDefaultPartition(Instant expiredBefore) {
+        int deleted = jdbcTemplate.update("delete from " + DEFAULT_PARTITION + " where expires_at < ?",
+                Timestamp.from(expiredBefore));
+        if (deleted > 0) {
+            LOGGER.info("Expired verification tokens deleted from the default partition : {}", deleted);
+        }
+        return deleted;
+    }
+
+    /**
+     * Postgres refuses a new partition while the default partition holds rows of its range,
+     * so those rows are taken out first and put back through the parent table once the partition exists.
+     */
+    private void createPartition(LocalDate day) {
+        Timestamp start = Timestamp.from(day.atStartOfDay(ZoneOffset.UTC).toInstant());
+        Timestamp end = Timestamp.from(day.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+        boolean defaultHasRows = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "select exists (select 1 from " + DEFAULT_PARTITION + " where expires_at >= ? and expires_at < ?)",
+                Boolean.class, start, end));
+
+        if (defaultHasRows) {
+            jdbcTemplate.execute("create temporary table moved_verification_token " +
+                    "(like " + TABLE + ") on commit drop");
+            int moved = jdbcTemplate.update("with moved as (delete from " + DEFAULT_PARTITION +
+                            " where expires_at >= ? and expires_at < ? returning " + COLUMNS + ") " +
+                            "insert into moved_verification_token (" + COLUMNS + ") select " + COLUMNS + " from moved",
+                    start, end);
+            LOGGER.warn("Moving {} verification tokens of {} out of the default partition", moved, day);
+        }
+
+        jdbcTemplate.execute(String.format(
+                "create table if not exists %s partition of %s for values from ('%s 00:00:00+00') to ('%s 00:00:00+00')",
+                partitionName(day), TABLE, day, day.plusDays(1)));
+
+        if (defaultHasRows) {
+            jdbcTemplate.update("insert into " + TABLE + " (" + COLUMNS + ") " +
+                    "select " + COLUMNS + " from moved_verification_token");
+        }
+    }
+
+    List<LocalDate> findPartitionDays() {
+        return jdbcTemplate.queryForList(FIND_PARTITIONS, String.class, TABLE).stream()
+                .map(VerificationTokenPartitionServiceImpl::partitionDay)
+                .flatMap(Optional::stream)
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    static String partitionName(LocalDate day) {
+        return PARTITION_PREFIX + PARTITION_SUFFIX.format(day);
+    }
+
+    /**
+     * The day of a partition from its name, empty for the default partition or any other table.
+     */
+    static Optional<LocalDate> partitionDay(String partitionName) {
+        if (!partitionName.startsWith(PARTITION_PREFIX)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(LocalDate.parse(partitionName.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX));
+        } catch (DateTimeParseException ex) {
+            return Optional.empty();
+        }
+    }
+
+}
@@ -19,4 +19,13 @@ public class AccountManagementUtils {
         return auth.getToken().getClaimAsString("sub");
     }
 
+    /**
+     * @param role the role without the {@code ROLE_} prefix, e.g. {@code SYS_ADMIN}
+     */
+    public static boolean loggedInUserHasRole(String role) {
+        var authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getAuthorities().stream()
+                .anyMatch(authority -> ("ROLE_" + role).equals(authority.getAuthority()));
+    }
+
 }
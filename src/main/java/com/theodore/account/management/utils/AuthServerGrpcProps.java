@@ -0,0 +1,45 @@
+package com.theodore.account.management.utils;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Client side limits for the gRPC calls towards the auth server.
+ *
+ * @param defaultDeadline deadline applied to every call that has no method specific one
+ * @param deadlines       per method deadlines keyed by the method name in kebab case e.g. create-simple-user
+ * @param maxInFlight     maximum number of concurrent asynchronous calls
+ * @param acquireTimeout  how long an asynchronous call waits for a free slot before it is rejected
+ * @param bulkMaxInFlight maximum number of concurrent calls of one bulk operation, kept below maxInFlight
+ *                        so that a bulk operation leaves slots for the other callers
+ * @param tokenRefreshAhead how long before its expiry the cached client credentials token is replaced
+ */
+@ConfigurationProperties(prefix = "app.grpc.auth-server")
+public record AuthServerGrpcProps(@DefaultValue("5s") Duration defaultDeadline,
+                                  Map<String, Duration> deadlines,
+                                  @DefaultValue("64") int maxInFlight,
+                                  @DefaultValue("200ms") Duration acquireTimeout,
+                                  @DefaultValue("16") int bulkMaxInFlight,
+                                  @DefaultValue("60s") Duration tokenRefreshAhead) {
+
+    public AuthServerGrpcProps {
+        deadlines = deadlines != null ? Map.copyOf(deadlines) : Map.of();
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("app.grpc.auth-server.max-in-flight must be at least 1");
+        }
+        if (bulkMaxInFlight < 1 || bulkMaxInFlight > maxInFlight) {
+            throw new IllegalArgumentException("app.grpc.auth-server.bulk-max-in-flight must be between 1 and max-in-flight");
+        }
+        if (tokenRefreshAhead == null || tokenRefreshAhead.isNegative()) {
+            throw new IllegalArgumentException("app.grpc.auth-server.token-refresh-ahead must not be negative");
+        }
+    }
+
+    public Duration deadlineFor(String method) {
+        return deadlines.getOrDefault(method, defaultDeadline);
+    }
+
+}
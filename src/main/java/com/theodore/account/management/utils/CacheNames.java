@@ -3,6 +3,7 @@ package com.theodore.account.management.utils;
 public class CacheNames {
 
     public static final String USER_EMAIL_FROM_ID = "getUserEmailFromId";
+    public static final String EMAIL_VERIFICATION_TOKEN = "emailVerificationTokenFromJti";
 
     private CacheNames() {}
 
@@ -0,0 +1,160 @@
+package com.theodore.account.management.utils;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Wraps the pooled data source and records, tagged by the endpoint of the request that took the connection
+ * ({@code POST /confirmation/org-user} for example):
+ * <ul>
+ *     <li>{@value #ACQUIRE_TIMER}: time spent waiting for the pool to hand out a connection</li>
+ *     <li>{@value #HOLD_TIMER}: time a connection is kept before it is given back to the pool</li>
+ *     <li>{@value #PENDING_GAUGE}: threads currently waiting for a connection</li>
+ * </ul>
+ * These are the per endpoint counterparts of the {@code hikaricp.connections.acquire}, {@code .usage} and
+ * {@code .pending} meters of the pool. A request that holds a connection across a call to another service
+ * shows up as a hold time close to that call's latency.
+ * Connections taken outside of a request (scheduled jobs, the outbox relay, grpc services, streamed responses)
+ * are tagged {@value #NO_REQUEST}, those taken before the handler of the request is known {@value #UNMAPPED}.
+ */
+public class ConnectionMetricsDataSource extends DelegatingDataSource {
+
+    public static final String ACQUIRE_TIMER = "db.connection.acquire";
+    public static final String HOLD_TIMER = "db.connection.hold";
+    public static final String PENDING_GAUGE = "db.connection.pending";
+
+    static final String NO_REQUEST = "none";
+    static final String UNMAPPED = "unmapped";
+
+    private final Supplier<MeterRegistry> meterRegistry;
+    private final DataSourceMetricsProps props;
+    private final Map<String, AtomicInteger> pendingByEndpoint = new ConcurrentHashMap<>();
+
+    public ConnectionMetricsDataSource(DataSource targetDataSource,
+                                       Supplier<MeterRegistry> meterRegistry,
+                                       DataSourceMetricsProps props) {
+        super(targetDataSource);
+        this.meterRegistry = meterRegistry;
+        this.props = props;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return acquire(super::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return acquire(() -> super.getConnection(username, password));
+    }
+
+    private Connection acquire(ConnectionSupplier pool) throws SQLException {
+        String endpoint = currentEndpoint();
+        AtomicInteger pending = pending(endpoint);
+        pending.incrementAndGet();
+        long requestedAt = System.nanoTime();
+        Connection connection;
+        try {
+            connection = pool.get();
+        } finally {
+            pending.decrementAndGet();
+            // failed acquisitions are recorded too, a pool timeout shows up as the connection timeout
+            timer(ACQUIRE_TIMER, "Time spent waiting for the pool to hand out a connection", endpoint)
+                    .record(System.nanoTime() - requestedAt, TimeUnit.NANOSECONDS);
+        }
+        return timed(connection, endpoint);
+    }
+
+    private Connection timed(Connection connection, String endpoint) {
+        long acquiredAt = System.nanoTime();
+        var released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+                new Class<?>[]{ConnectionProxy.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getTargetConnection":
+                            return connection;
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "close":
+                            // closing twice is allowed by jdbc, only the first one gives the connection back
+                            if (released.compareAndSet(false, true)) {
+                                timer(HOLD_TIMER, "Time a connection is kept before it is given back to the pool", endpoint)
+                                        .record(System.nanoTime() - acquiredAt, TimeUnit.NANOSECONDS);
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getTargetException();
+                    }
+                });
+    }
+
+    private AtomicInteger pending(String endpoint) {
+        return pendingByEndpoint.computeIfAbsent(endpoint, key -> {
+            var pending = new AtomicInteger();
+            Gauge.builder(PENDING_GAUGE, pending, AtomicInteger::get)
+                    .description("Threads waiting for the pool to hand out a connection")
+                    .tag("endpoint", key)
+                    .register(meterRegistry.get());
+            return pending;
+        });
+    }
+
+    private Timer timer(String name, String description, String endpoint) {
+        return Timer.builder(name)
+                .description(description)
+                .tag("endpoint", endpoint)
+                .publishPercentiles(props.percentiles().stream().mapToDouble(Double::doubleValue).toArray())
+                .publishPercentileHistogram(props.percentileHistogram())
+                .register(meterRegistry.get());
+    }
+
+    /**
+     * The method and the mapped path pattern of the current request, never the raw uri so that path variables
+     * do not create a timer each.
+     */
+    static String currentEndpoint() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return NO_REQUEST;
+        }
+        Object pattern = servletAttributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        if (pattern == null) {
+            return UNMAPPED;
+        }
+        return servletAttributes.getRequest().getMethod() + " " + pattern;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSupplier {
+        Connection get() throws SQLException;
+    }
+
+}
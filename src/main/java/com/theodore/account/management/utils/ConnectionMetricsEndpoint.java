@@ -0,0 +1,119 @@
+package com.theodore.account.management.utils;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Actuator endpoint ({@code /actuator/connections}) that puts the state of the hikari pool next to the
+ * connection meters of {@link ConnectionMetricsDataSource}, so that a saturated pool can be traced back
+ * to the endpoints that wait for connections or keep them too long.
+ */
+@Component
+@Endpoint(id = "connections")
+public class ConnectionMetricsEndpoint {
+
+    static final String POOL_ACTIVE = "hikaricp.connections.active";
+    static final String POOL_IDLE = "hikaricp.connections.idle";
+    static final String POOL_PENDING = "hikaricp.connections.pending";
+    static final String POOL_MAX = "hikaricp.connections.max";
+    static final String POOL_TIMEOUTS = "hikaricp.connections.timeout";
+    static final String POOL_ACQUIRE = "hikaricp.connections.acquire";
+    static final String POOL_USAGE = "hikaricp.connections.usage";
+
+    private final MeterRegistry meterRegistry;
+
+    public ConnectionMetricsEndpoint(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @ReadOperation
+    public ConnectionsSummary connections() {
+        var pool = new PoolSummary(
+                gauge(POOL_ACTIVE),
+                gauge(POOL_IDLE),
+                gauge(POOL_PENDING),
+                gauge(POOL_MAX),
+                (long) meterRegistry.find(POOL_TIMEOUTS).counters().stream().mapToDouble(Counter::count).sum(),
+                timing(meterRegistry.find(POOL_ACQUIRE).timer()),
+                timing(meterRegistry.find(POOL_USAGE).timer()));
+
+        Map<String, EndpointSummary> endpoints = new TreeMap<>();
+        // the pending gauge is registered before the first connection of an endpoint is requested,
+        // so an endpoint that is stuck waiting on its very first connection is listed as well
+        for (Gauge pending : meterRegistry.find(ConnectionMetricsDataSource.PENDING_GAUGE).gauges()) {
+            String endpoint = pending.getId().getTag("endpoint");
+            endpoints.put(endpoint, new EndpointSummary(
+                    timing(meterRegistry.find(ConnectionMetricsDataSource.ACQUIRE_TIMER).tag("endpoint", endpoint).timer()),
+                    timing(meterRegistry.find(ConnectionMetricsDataSource.HOLD_TIMER).tag("endpoint", endpoint).timer()),
+                    (long) pending.value()));
+        }
+
+        return new ConnectionsSummary(pool, endpoints);
+    }
+
+    private long gauge(String name) {
+        return (long) meterRegistry.find(name).gauges().stream().mapToDouble(Gauge::value).sum();
+    }
+
+    private static TimingSummary timing(Timer timer) {
+        if (timer == null) {
+            return null;
+        }
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+        Map<String, Double> percentilesMs = new TreeMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            percentilesMs.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        return new TimingSummary(snapshot.count(), snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS),
+                percentilesMs);
+    }
+
+    /**
+     * @param pool      the hikari pool as a whole
+     * @param endpoints connections taken per endpoint, e.g. {@code POST /confirmation/org-user}
+     */
+    public record ConnectionsSummary(PoolSummary pool, Map<String, EndpointSummary> endpoints) {
+    }
+
+    /**
+     * @param active   connections handed out right now
+     * @param idle     connections waiting in the pool
+     * @param pending  threads waiting for a connection right now
+     * @param max      maximum size of the pool
+     * @param timeouts acquisitions that gave up after the connection timeout
+     * @param acquire  time spent waiting for a connection, null until the pool has handed out one
+     * @param usage    time connections were kept before being given back, null until one was given back
+     */
+    public record PoolSummary(long active, long idle, long pending, long max, long timeouts,
+                              TimingSummary acquire, TimingSummary usage) {
+    }
+
+    /**
+     * @param acquire time the endpoint waited for connections, null while its first one is still awaited
+     * @param hold    time the endpoint kept connections, null while none was given back yet
+     * @param pending threads of the endpoint waiting for a connection right now
+     */
+    public record EndpointSummary(TimingSummary acquire, TimingSummary hold, long pending) {
+    }
+
+    /**
+     * @param count         recorded connections
+     * @param meanMs        mean duration in milliseconds
+     * @param maxMs         maximum duration in milliseconds over the last distribution window
+     * @param percentilesMs configured percentiles in milliseconds
+     */
+    public record TimingSummary(long count, double meanMs, double maxMs, Map<String, Double> percentilesMs) {
+    }
+
+}
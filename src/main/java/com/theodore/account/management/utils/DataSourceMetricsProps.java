@@ -0,0 +1,19 @@
+package com.theodore.account.management.utils;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Settings of the connection meters that {@link ConnectionMetricsDataSource} publishes per endpoint.
+ *
+ * @param enabled             wraps the data source, when off the connections of the pool are handed out as they are
+ * @param percentiles         percentiles computed by every timer
+ * @param percentileHistogram also publishes the histogram buckets, so that percentiles can be aggregated across replicas
+ */
+@ConfigurationProperties(prefix = "app.metrics.datasource")
+public record DataSourceMetricsProps(@DefaultValue("true") boolean enabled,
+                                     @DefaultValue({"0.5", "0.99", "0.999"}) List<Double> percentiles,
+                                     @DefaultValue("true") boolean percentileHistogram) {
+}
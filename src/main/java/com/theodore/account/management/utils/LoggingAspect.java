@@ -1,22 +1,43 @@
 package com.theodore.account.management.utils;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.repository.Repository;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 @Aspect
 @Component
 public class LoggingAspect {
 
-    @Value("${slow.threshold:2000}")
-    private long slowThresholdMs;
+    static final String METHOD_TIMER = "app.method.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final MethodMetricsProps metricsProps;
+    private final long slowThresholdNanos;
+    private final double[] percentiles;
+    private final Map<Class<?>, Map<Method, MethodMeters>> meters = new ConcurrentHashMap<>();
+
+    public LoggingAspect(MeterRegistry meterRegistry, MethodMetricsProps metricsProps) {
+        this.meterRegistry = meterRegistry;
+        this.metricsProps = metricsProps;
+        this.slowThresholdNanos = metricsProps.slowThreshold().toNanos();
+        this.percentiles = metricsProps.percentiles().stream().mapToDouble(Double::doubleValue).toArray();
+    }
 
     @Pointcut("within(@org.springframework.web.bind.annotation.RestController *)")
     public void controllerLayer() {
@@ -42,25 +63,101 @@ public class LoggingAspect {
     }
 
     /**
-     * If a service or database query takes too long it creates a warning log
+     * Times every service and repository call into a per method timer and logs a warning for the slow ones.
+     * The meters of a method are looked up once and reused, so a call only pays for two clock reads and a map lookup.
      */
     @Around("serviceLayer() || repositoryLayer()")
     public Object monitor(ProceedingJoinPoint joinPoint) throws Throwable {
 
-        Logger logger = LoggerFactory.getLogger(joinPoint.getTarget().getClass());
-        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        long startTime = System.currentTimeMillis();
+        MethodMeters methodMeters = meters(joinPoint);
+        if (methodMeters.excluded()) {
+            return joinPoint.proceed();
+        }
 
+        long startTime = System.nanoTime();
+        boolean failed = true;
         try {
-            return joinPoint.proceed();
+            Object result = joinPoint.proceed();
+            failed = false;
+            return result;
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
-            if (duration > slowThresholdMs) {
-                logger.warn("{}.{}() took {}ms [SLOW]", className, methodName, duration);
+            long duration = System.nanoTime() - startTime;
+            methodMeters.record(duration, failed);
+            if (duration > slowThresholdNanos) {
+                methodMeters.logger().warn("{}.{}() took {}ms [SLOW]", methodMeters.className(), methodMeters.methodName(),
+                        TimeUnit.NANOSECONDS.toMillis(duration));
+            }
+        }
+
+    }
+
+    private MethodMeters meters(ProceedingJoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, MethodMeters> classMeters = meters.get(targetClass);
+        if (classMeters == null) {
+            classMeters = meters.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        MethodMeters methodMeters = classMeters.get(method);
+        if (methodMeters == null) {
+            methodMeters = classMeters.computeIfAbsent(method, key -> createMeters(targetClass, method));
+        }
+        return methodMeters;
+    }
+
+    private MethodMeters createMeters(Class<?> targetClass, Method method) {
+        boolean repository = Repository.class.isAssignableFrom(targetClass);
+        String className = componentName(targetClass, method, repository);
+        String methodName = method.getName();
+        Logger logger = LoggerFactory.getLogger(ClassUtils.getUserClass(targetClass));
+        if (metricsProps.isExcluded(className, methodName)) {
+            return new MethodMeters(className, methodName, logger, true, null, null);
+        }
+        if (!metricsProps.enabled()) {
+            return new MethodMeters(className, methodName, logger, false, null, null);
+        }
+        String layer = repository ? "repository" : "service";
+        return new MethodMeters(className, methodName, logger, false,
+                timer(className, methodName, layer, "success"),
+                timer(className, methodName, layer, "error"));
+    }
+
+    private Timer timer(String className, String methodName, String layer, String outcome) {
+        return Timer.builder(METHOD_TIMER)
+                .description("Duration of the service and repository method calls")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("layer", layer)
+                .tag("outcome", outcome)
+                .publishPercentiles(percentiles)
+                .publishPercentileHistogram(metricsProps.percentileHistogram())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Repositories are JDK proxies, they are named after the repository interface of the application.
+     */
+    private static String componentName(Class<?> targetClass, Method method, boolean repository) {
+        if (repository) {
+            for (Class<?> candidate : ClassUtils.getAllInterfacesForClassAsSet(targetClass)) {
+                if (Repository.class.isAssignableFrom(candidate) && !candidate.getName().startsWith("org.springframework.")) {
+                    return candidate.getSimpleName();
+                }
             }
+            return method.getDeclaringClass().getSimpleName();
         }
+        return ClassUtils.getUserClass(targetClass).getSimpleName();
+    }
 
+    private record MethodMeters(String className, String methodName, Logger logger, boolean excluded,
+                                Timer success, Timer error) {
+
+        void record(long durationNanos, boolean failed) {
+            if (success == null) {
+                return;
+            }
+            (failed ? error : success).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
     }
 
 }
@@ -0,0 +1,29 @@
+package com.theodore.account.management.utils;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Settings of the timers that {@link LoggingAspect} publishes for the service and repository methods.
+ *
+ * @param enabled             records the timers, when off only the slow calls are logged
+ * @param percentiles         percentiles computed by every timer
+ * @param percentileHistogram also publishes the histogram buckets, so that percentiles can be aggregated across replicas
+ * @param exclude             methods left out, as {@code ClassName} or {@code ClassName.methodName}, for calls too cheap to be worth a timer
+ * @param slowThreshold       calls that take longer are logged as a warning
+ */
+@ConfigurationProperties(prefix = "app.metrics.methods")
+public record MethodMetricsProps(@DefaultValue("true") boolean enabled,
+                                 @DefaultValue({"0.5", "0.99", "0.999"}) List<Double> percentiles,
+                                 @DefaultValue("false") boolean percentileHistogram,
+                                 @DefaultValue List<String> exclude,
+                                 @DefaultValue("2s") Duration slowThreshold) {
+
+    public boolean isExcluded(String className, String methodName) {
+        return exclude.contains(className) || exclude.contains(className + "." + methodName);
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.theodore.account.management.utils;
+
+import com.theodore.account.management.services.OutboxService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxRelay {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxService outboxService;
+    private final OutboxRelayProps relayProps;
+
+    public OutboxRelay(OutboxService outboxService, OutboxRelayProps relayProps) {
+        this.outboxService = outboxService;
+        this.relayProps = relayProps;
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.relay.interval-ms:500}")
+    public void relayOutboxEvents() {
+        try {
+            // keeps draining while full batches come back so a backlog is not limited to one batch per interval
+            int pickedUp;
+            do {
+                pickedUp = outboxService.publishDueEvents();
+            } while (pickedUp == relayProps.batchSize());
+        } catch (RuntimeException ex) {
+            LOGGER.error("Outbox relay run failed : {}", ex.getMessage(), ex);
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.theodore.account.management.utils;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the relay that publishes the outbox events to the broker.
+ *
+ * @param batchSize      events claimed and published per run
+ * @param maxAttempts    publish attempts before an event is marked as failed
+ * @param initialBackoff wait before the first retry, doubled on every further attempt
+ * @param maxBackoff     upper bound of the wait between retries
+ * @param lease          how long claimed events are hidden from the other relays, longer than publishing a batch takes
+ */
+@ConfigurationProperties(prefix = "app.outbox.relay")
+public record OutboxRelayProps(@DefaultValue("100") int batchSize,
+                               @DefaultValue("10") int maxAttempts,
+                               @DefaultValue("1s") Duration initialBackoff,
+                               @DefaultValue("5m") Duration maxBackoff,
+                               @DefaultValue("2m") Duration lease) {
+
+    public OutboxRelayProps {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("app.outbox.relay.batch-size must be at least 1");
+        }
+        if (lease == null || lease.isNegative() || lease.isZero()) {
+            throw new IllegalArgumentException("app.outbox.relay.lease must be positive");
+        }
+    }
+
+    public Duration backoffFor(int attempts) {
+        long factor = 1L << Math.min(attempts - 1, 20);
+        Duration backoff = initialBackoff.multipliedBy(factor);
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+}
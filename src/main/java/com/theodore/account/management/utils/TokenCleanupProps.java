@@ -0,0 +1,28 @@
+package com.theodore.account.management.utils;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the job that maintains the daily partitions of the email verification tokens.
+ *
+ * @param retention       how long the tokens of a day are kept after that day ended, so that an expired token can still be refreshed
+ * @param partitionsAhead number of days, today included, whose partitions are created in advance
+ * @param lockAtMostFor   how long the lease of a run is kept if its node dies, after that another node takes over
+ * @param lockAtLeastFor  how long the lease of a run is kept even if it finishes sooner
+ */
+@ConfigurationProperties(prefix = "app.token-cleanup")
+public record TokenCleanupProps(@DefaultValue("7d") Duration retention,
+                                @DefaultValue("7") int partitionsAhead,
+                                @DefaultValue("10m") Duration lockAtMostFor,
+                                @DefaultValue("1m") Duration lockAtLeastFor) {
+
+    public TokenCleanupProps {
+        if (partitionsAhead < 2) {
+            throw new IllegalArgumentException("app.token-cleanup.partitions-ahead must be at least 2");
+        }
+    }
+
+}
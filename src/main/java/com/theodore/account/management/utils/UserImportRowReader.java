@@ -0,0 +1,150 @@
+package com.theodore.account.management.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.enums.UserImportFormat;
+import com.theodore.account.management.models.dto.requests.OrganizationUserImportRowDto;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the rows of a bulk user import one line at a time, so that an upload is never held in memory as a whole.
+ * A row that cannot be read is returned with an error instead of failing the import.
+ * <p>
+ * CSV uploads start with a header naming the columns email, mobileNumber, name, surname and password in any order.
+ * Values may be quoted, quoted values cannot span lines.
+ */
+public class UserImportRowReader implements Closeable {
+
+    private static final List<String> CSV_COLUMNS = List.of("email", "mobilenumber", "name", "surname", "password");
+
+    private final BufferedReader reader;
+    private final UserImportFormat format;
+    private final ObjectMapper objectMapper;
+    private Map<String, Integer> csvColumns;
+    private long row;
+
+    public UserImportRowReader(InputStream input, UserImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * @return the next row, null once the upload is exhausted
+     */
+    public ImportRow next() throws IOException {
+        String line = nextLine();
+        if (line != null && format == UserImportFormat.CSV && csvColumns == null) {
+            csvColumns = csvHeader(line);
+            line = nextLine();
+        }
+        if (line == null) {
+            return null;
+        }
+        row++;
+        return switch (format) {
+            case CSV -> csvRow(line);
+            case NDJSON -> jsonRow(line);
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        return line;
+    }
+
+    private ImportRow jsonRow(String line) {
+        try {
+            return new ImportRow(row, objectMapper.readValue(line, OrganizationUserImportRowDto.class), null);
+        } catch (JsonProcessingException e) {
+            return new ImportRow(row, null, "Malformed json row");
+        }
+    }
+
+    private ImportRow csvRow(String line) {
+        List<String> values = csvValues(line);
+        if (values == null || values.size() != csvColumns.size()) {
+            return new ImportRow(row, null, "Malformed csv row");
+        }
+        return new ImportRow(row, new OrganizationUserImportRowDto(
+                values.get(csvColumns.get("email")),
+                values.get(csvColumns.get("mobilenumber")),
+                values.get(csvColumns.get("name")),
+                values.get(csvColumns.get("surname")),
+                values.get(csvColumns.get("password"))
+        ), null);
+    }
+
+    private static Map<String, Integer> csvHeader(String line) {
+        List<String> names = csvValues(line.startsWith("\uFEFF") ? line.substring(1) : line);
+        if (names == null) {
+            throw new IllegalArgumentException("Malformed csv header");
+        }
+        var columns = new HashMap<String, Integer>();
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        if (!columns.keySet().containsAll(CSV_COLUMNS)) {
+            throw new IllegalArgumentException("Csv header must contain the columns email, mobileNumber, name, surname and password");
+        }
+        return columns;
+    }
+
+    /**
+     * @return the values of the line, null if a quoted value is not closed
+     */
+    static List<String> csvValues(String line) {
+        List<String> values = new ArrayList<>();
+        var value = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    value.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    value.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * @param row   the position of the row, starting from 1
+     * @param user  the row, null if it could not be read
+     * @param error why the row could not be read, null otherwise
+     */
+    public record ImportRow(long row, OrganizationUserImportRowDto user, String error) {
+    }
+
+}
@@ -1,26 +1,77 @@
 package com.theodore.account.management.utils;
 
-import com.theodore.account.management.services.EmailTokenService;
+import com.theodore.account.management.services.JobLeaseService;
+import com.theodore.account.management.services.VerificationTokenPartitionService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the daily partitions of the email verification tokens in shape: creates the ones of the coming days
+ * and drops the ones whose tokens all expired longer than the retention period ago, instead of deleting tokens row by row.
+ * Expired tokens left in the default partition are the only ones deleted row by row.
+ * Every replica schedules the job but only the one holding its lease runs a given tick.
+ */
 @Component
 public class VerificationTokenCleaner {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(VerificationTokenCleaner.class);
 
-    private final EmailTokenService emailTokenService;
+    static final String JOB_NAME = "verification-token-cleanup";
+
+    private final VerificationTokenPartitionService partitionService;
+    private final JobLeaseService jobLeaseService;
+    private final TokenCleanupProps cleanupProps;
+    private final Counter droppedCounter;
+    private final Counter defaultDeletedCounter;
+    private final Timer runTimer;
 
-    public VerificationTokenCleaner(EmailTokenService emailTokenService) {
-        this.emailTokenService = emailTokenService;
+    public VerificationTokenCleaner(VerificationTokenPartitionService partitionService,
+                                    JobLeaseService jobLeaseService,
+                                    TokenCleanupProps cleanupProps,
+                                    MeterRegistry meterRegistry) {
+        this.partitionService = partitionService;
+        this.jobLeaseService = jobLeaseService;
+        this.cleanupProps = cleanupProps;
+        this.droppedCounter = Counter.builder("verification.token.cleanup.partitions.dropped")
+                .description("Email verification token partitions dropped by the cleanup job")
+                .register(meterRegistry);
+        this.defaultDeletedCounter = Counter.builder("verification.token.cleanup.default.deleted")
+                .description("Expired email verification tokens deleted from the default partition by the cleanup job")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("verification.token.cleanup.duration")
+                .description("Duration of the email verification token cleanup runs")
+                .register(meterRegistry);
     }
 
-    @Scheduled(cron = "0 */15 * * * *")
+    @Scheduled(cron = "${app.token-cleanup.cron:0 */15 * * * *}")
     public void cleanVerificationTokens() {
-        LOGGER.info("Cleaning up email verification tokens");
-        emailTokenService.cleanVerificationTokens();
+        jobLeaseService.runExclusively(JOB_NAME, cleanupProps.lockAtMostFor(), cleanupProps.lockAtLeastFor(),
+                this::maintainPartitions);
+    }
+
+    private void maintainPartitions() {
+        long started = System.nanoTime();
+        try {
+            Instant now = Instant.now();
+            partitionService.createPartitions(LocalDate.ofInstant(now, ZoneOffset.UTC), cleanupProps.partitionsAhead());
+            Instant expiredBefore = now.minus(cleanupProps.retention());
+            droppedCounter.increment(partitionService.dropPartitionsBefore(expiredBefore));
+            defaultDeletedCounter.increment(partitionService.deleteExpiredFromDefaultPartition(expiredBefore));
+        } catch (RuntimeException ex) {
+            LOGGER.error("Email verification token partition maintenance failed : {}", ex.getMessage(), ex);
+        } finally {
+            runTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
     }
 
 }
@@ -0,0 +1,34 @@
+package com.theodore.account.management.benchmarks;
+
+import com.theodore.account.management.utils.SecurePasswordGenerator;
+import com.theodore.infrastructure.common.utils.MobilityUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Small helpers that run on every registration: the placeholder password of organization admins
+ * and the email normalization applied to every incoming address.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountUtilsBenchmark {
+
+    @Param({"driver.someone@mobilitymail.com", "  Driver.Someone@MobilityMail.COM "})
+    String email;
+
+    @Benchmark
+    public String generatePlaceholderPassword() {
+        return SecurePasswordGenerator.generatePlaceholderPassword();
+    }
+
+    @Benchmark
+    public String normalizeEmail() {
+        return MobilityUtils.normalizeEmail(email);
+    }
+
+}
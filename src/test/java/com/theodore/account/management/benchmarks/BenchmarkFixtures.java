@@ -0,0 +1,52 @@
+package com.theodore.account.management.benchmarks;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.SecretKey;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Shared inputs for the benchmarks, so that they run offline without a spring context or a database.
+ */
+final class BenchmarkFixtures {
+
+    static final String USER_ID = "01HZXC8Q3V7K2M4N6P8R0T2W4Y";
+    static final String EMAIL = "driver.someone@mobilitymail.com";
+    static final String MOBILE_NUMBER = "6912345678";
+    static final long TOKEN_VALIDITY_SECONDS = 86_400;
+
+    private BenchmarkFixtures() {
+    }
+
+    static SecretKey signingKey() {
+        return Keys.hmacShaKeyFor("benchmark-signing-key-of-at-least-256-bits".getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Outside spring logback logs everything at debug level, which would be measured along with the services.
+     */
+    static void quietLogging() {
+        ((Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+    }
+
+    /**
+     * A repository that does no work: save returns its argument and every other method returns null,
+     * so that only the cost of the code under test is measured.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T noOpRepository(Class<T> repositoryType) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "save" -> args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "NoOp" + repositoryType.getSimpleName();
+                    default -> null;
+                });
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.theodore.account.management.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.paramnames.ParameterNamesModule;
+import com.theodore.account.management.cache.CacheValueSchemas;
+import com.theodore.account.management.cache.CompactRedisSerializer;
+import com.theodore.account.management.models.dto.responses.RegisteredUserResponseDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the json serializer with the compact one for the values kept in redis.
+ * Encode/decode times are the benchmark scores, the bytes per entry are checked in {@code CompactRedisSerializerTest}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CacheValueSerializerBenchmark {
+
+    @Param({"json", "compact"})
+    String serializer;
+
+    @Param({"email", "registered-user"})
+    String payload;
+
+    private RedisSerializer<Object> redisSerializer;
+    private Object value;
+    private byte[] encoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        value = switch (payload) {
+            case "email" -> "driver.someone@mobilitymail.com";
+            case "registered-user" -> new RegisteredUserResponseDto("driver.someone@mobilitymail.com", "6912345678");
+            default -> throw new IllegalArgumentException(payload);
+        };
+        redisSerializer = switch (serializer) {
+            case "json" -> (RedisSerializer<Object>) (RedisSerializer<?>) GenericJackson2JsonRedisSerializer.builder()
+                    .objectMapper(new ObjectMapper().registerModule(new ParameterNamesModule()))
+                    .defaultTyping(true)
+                    .build();
+            case "compact" -> (RedisSerializer<Object>) (RedisSerializer<?>) ("email".equals(payload)
+                    ? CompactRedisSerializer.of(CacheValueSchemas.STRING)
+                    : CompactRedisSerializer.of(CacheValueSchemas.REGISTERED_USER));
+            default -> throw new IllegalArgumentException(serializer);
+        };
+        encoded = redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] encode() {
+        return redisSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public Object decode() {
+        return redisSerializer.deserialize(encoded);
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.theodore.account.management.benchmarks;
+
+import com.theodore.account.management.cache.VerificationTokenCache;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import com.theodore.account.management.services.EmailTokenServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import javax.crypto.SecretKey;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Email token signing and parsing under 64 concurrent callers.
+ * "per-call" rebuilds the jjwt parser and builder and uses a random UUID jti on every call, as the service used to,
+ * "prebuilt" goes through the service with its parser built once and its ULID jti.
+ * Run with the gc profiler (on by default in the benchmark profile) and compare gc.alloc.rate.norm.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(64)
+@State(Scope.Benchmark)
+public class EmailTokenConcurrencyBenchmark {
+
+    @Param({"per-call", "prebuilt"})
+    String mode;
+
+    private SecretKey key;
+    private EmailTokenServiceImpl emailTokenService;
+    private UserProfile user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        key = BenchmarkFixtures.signingKey();
+        emailTokenService = new EmailTokenServiceImpl(key, BenchmarkFixtures.TOKEN_VALIDITY_SECONDS,
+                BenchmarkFixtures.noOpRepository(EmailVerificationTokenRepository.class),
+                new VerificationTokenCache(new NoOpCacheManager()));
+        user = new UserProfile(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL, BenchmarkFixtures.MOBILE_NUMBER);
+        token = emailTokenService.createSimpleUserToken(user);
+    }
+
+    @Benchmark
+    public String sign() {
+        if ("prebuilt".equals(mode)) {
+            return emailTokenService.createSimpleUserToken(user);
+        }
+        Instant now = Instant.now();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(user.getId())
+                .claim("email", user.getEmail())
+                .setIssuedAt(Date.from(now))
+                .setExpiration(Date.from(now.plusSeconds(BenchmarkFixtures.TOKEN_VALIDITY_SECONDS)))
+                .signWith(key)
+                .compact();
+    }
+
+    @Benchmark
+    public Jws<Claims> parse() {
+        if ("prebuilt".equals(mode)) {
+            return emailTokenService.parseToken(token);
+        }
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.theodore.account.management.benchmarks;
+
+import com.theodore.account.management.cache.VerificationTokenCache;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import com.theodore.account.management.services.EmailTokenServiceImpl;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.support.NoOpCacheManager;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signing and parsing of the email verification tokens, the first runs on every registration
+ * and the second on every confirmation link that is clicked.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EmailTokenServiceBenchmark {
+
+    private EmailTokenServiceImpl emailTokenService;
+    private UserProfile user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkFixtures.quietLogging();
+        emailTokenService = new EmailTokenServiceImpl(BenchmarkFixtures.signingKey(),
+                BenchmarkFixtures.TOKEN_VALIDITY_SECONDS,
+                BenchmarkFixtures.noOpRepository(EmailVerificationTokenRepository.class),
+                new VerificationTokenCache(new NoOpCacheManager()));
+        user = new UserProfile(BenchmarkFixtures.USER_ID, BenchmarkFixtures.EMAIL, BenchmarkFixtures.MOBILE_NUMBER);
+        token = emailTokenService.createSimpleUserToken(user);
+    }
+
+    @Benchmark
+    public String createSimpleUserToken() {
+        return emailTokenService.createSimpleUserToken(user);
+    }
+
+    @Benchmark
+    public Jws<Claims> parseToken() {
+        return emailTokenService.parseToken(token);
+    }
+
+}
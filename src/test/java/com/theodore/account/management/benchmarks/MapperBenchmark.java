@@ -0,0 +1,69 @@
+package com.theodore.account.management.benchmarks;
+
+import com.theodore.account.management.entities.OrganizationRegistrationProcess;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.enums.OrganizationRegistrationStatus;
+import com.theodore.account.management.mappers.OrganizationRegistrationProcessMapper;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationEntityRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateNewSimpleUserRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateOrganizationAdminRequestDto;
+import com.theodore.account.management.models.dto.responses.RegistrationProcessResponseDto;
+import com.theodore.infrastructure.common.entities.enums.Country;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The mapstruct mappers used by the registration and the admin search endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    private UserProfileMapper userProfileMapper;
+    private OrganizationRegistrationProcessMapper registrationProcessMapper;
+
+    private CreateNewSimpleUserRequestDto simpleUserRequest;
+    private CreateNewOrganizationEntityRequestDto organizationRequest;
+    private OrganizationRegistrationProcess registrationProcess;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        userProfileMapper = Mappers.getMapper(UserProfileMapper.class);
+        registrationProcessMapper = Mappers.getMapper(OrganizationRegistrationProcessMapper.class);
+
+        simpleUserRequest = new CreateNewSimpleUserRequestDto(BenchmarkFixtures.EMAIL,
+                BenchmarkFixtures.MOBILE_NUMBER, "Frank", "Drebin", "Str0ng!Passw0rd");
+        organizationRequest = new CreateNewOrganizationEntityRequestDto(
+                new CreateOrganizationAdminRequestDto(" Admin.Someone@MobilityMail.com ",
+                        BenchmarkFixtures.MOBILE_NUMBER, "Pippin", "Took"),
+                "Toyota", "TEST-12345", Country.GRC,
+                CreateNewOrganizationEntityRequestDto.OrganizationType.MANUFACTURER);
+
+        registrationProcess = registrationProcessMapper.requestDtoToEntity(organizationRequest);
+        registrationProcess.setId(1L);
+        registrationProcess.setAdminApprovedStatus(OrganizationRegistrationStatus.PENDING);
+    }
+
+    @Benchmark
+    public UserProfile createSimpleUserDtoToUserProfile() {
+        return userProfileMapper.createSimpleUserDtoToUserProfile(BenchmarkFixtures.USER_ID, simpleUserRequest);
+    }
+
+    @Benchmark
+    public OrganizationRegistrationProcess registrationRequestDtoToEntity() {
+        return registrationProcessMapper.requestDtoToEntity(organizationRequest);
+    }
+
+    @Benchmark
+    public RegistrationProcessResponseDto registrationEntityToResponseDto() {
+        return registrationProcessMapper.entityToResponseDto(registrationProcess);
+    }
+
+}
@@ -0,0 +1,75 @@
+package com.theodore.account.management.benchmarks;
+
+import com.theodore.account.management.saga.SagaMetrics;
+import com.theodore.infrastructure.common.saga.SagaOrchestrator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost the saga orchestrator adds around the registration steps, measured with steps that do no work.
+ * The direct run is the baseline of the same three actions without a saga,
+ * the instrumented run adds the per step timers of {@link SagaMetrics}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SagaOrchestratorBenchmark {
+
+    private final SagaMetrics sagaMetrics = new SagaMetrics(new SimpleMeterRegistry());
+
+    private int counter;
+
+    @Benchmark
+    public int directRun() {
+        counter++;
+        counter++;
+        counter++;
+        return counter;
+    }
+
+    @Benchmark
+    public int threeStepSaga() {
+        new SagaOrchestrator()
+                .step("create-auth-user", () -> counter++, () -> counter--)
+                .step("save-user-profile", () -> counter++, () -> counter--)
+                .step("send-email", () -> counter++, () -> {
+                })
+                .run();
+        return counter;
+    }
+
+    @Benchmark
+    public int instrumentedThreeStepSaga() {
+        sagaMetrics.saga("benchmark")
+                .step("create-auth-user", () -> counter++, () -> counter--)
+                .step("save-user-profile", () -> counter++, () -> counter--)
+                .step("send-email", () -> counter++, () -> {
+                })
+                .run();
+        return counter;
+    }
+
+    @Benchmark
+    public void threeStepSagaWithCompensation(Blackhole blackhole) {
+        try {
+            new SagaOrchestrator()
+                    .step("create-auth-user", () -> counter++, () -> counter--)
+                    .step("save-user-profile", () -> counter++, () -> counter--)
+                    .step("send-email", () -> {
+                        throw new IllegalStateException("send-email failed");
+                    }, () -> {
+                    })
+                    .run();
+        } catch (RuntimeException ex) {
+            blackhole.consume(ex);
+        }
+        blackhole.consume(counter);
+    }
+
+}
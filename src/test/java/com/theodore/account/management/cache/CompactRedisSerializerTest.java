@@ -0,0 +1,76 @@
+package com.theodore.account.management.cache;
+
+import com.theodore.account.management.models.dto.responses.RegisteredUserResponseDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompactRedisSerializerTest {
+
+    private static final String EMAIL = "someone@mobilitymail.com";
+
+    @Test
+    @DisplayName("serialize: string is stored as version byte and raw UTF-8 (positive scenario)")
+    void givenString_whenSerializing_thenRawUtf8IsWritten() {
+        // given
+        var serializer = CompactRedisSerializer.of(CacheValueSchemas.STRING);
+
+        // when
+        var bytes = serializer.serialize(EMAIL);
+
+        // then
+        assertThat(bytes).hasSize(EMAIL.length() + 1);
+        assertThat(new String(bytes, 1, bytes.length - 1, StandardCharsets.UTF_8)).isEqualTo(EMAIL);
+        assertThat(serializer.deserialize(bytes)).isEqualTo(EMAIL);
+    }
+
+    @Test
+    @DisplayName("deserialize: dto survives a round trip, including null fields (positive scenario)")
+    void givenDto_whenSerializingAndDeserializing_thenSameValuesAreRead() {
+        // given
+        var serializer = CompactRedisSerializer.of(CacheValueSchemas.REGISTERED_USER);
+
+        // when
+        var result = serializer.deserialize(serializer.serialize(new RegisteredUserResponseDto(EMAIL, null)));
+
+        // then
+        assertThat(result.getEmail()).isEqualTo(EMAIL);
+        assertThat(result.getPhoneNumber()).isNull();
+    }
+
+    @Test
+    @DisplayName("serialize: dto takes a fraction of the bytes of the json entry (positive scenario)")
+    void givenDto_whenSerializing_thenEntryIsSmallerThanJson() {
+        // given
+        var serializer = CompactRedisSerializer.of(CacheValueSchemas.REGISTERED_USER);
+        var value = new RegisteredUserResponseDto(EMAIL, "6912345678");
+
+        // when
+        var compact = serializer.serialize(value);
+        var json = new GenericJackson2JsonRedisSerializer().serialize(value);
+
+        // then
+        // version byte, then for each field a presence flag, a two byte length and the UTF-8 bytes
+        assertThat(compact).hasSize(1 + (3 + EMAIL.length()) + (3 + 10));
+        assertThat(compact.length).isLessThan(json.length / 3);
+    }
+
+    @Test
+    @DisplayName("deserialize: entries written by the json serializer are read as a miss (negative scenario)")
+    void givenJsonEntry_whenDeserializing_thenNullIsReturned() {
+        // given
+        var serializer = CompactRedisSerializer.of(CacheValueSchemas.STRING);
+        var jsonEntry = new GenericJackson2JsonRedisSerializer().serialize(EMAIL);
+
+        // when
+        var result = serializer.deserialize(jsonEntry);
+
+        // then
+        assertThat(result).isNull();
+    }
+
+}
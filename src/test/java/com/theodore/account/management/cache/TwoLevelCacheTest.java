@@ -0,0 +1,140 @@
+package com.theodore.account.management.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.BDDMockito.*;
+
+class TwoLevelCacheTest {
+
+    private static final String CACHE_NAME = "getUserEmailFromId";
+    private static final String USER_ID = "test-user-id";
+    private static final String EMAIL = "someone@mobilitymail.com";
+
+    private final CacheInvalidationPublisher publisher = mock(CacheInvalidationPublisher.class);
+
+    private com.github.benmanes.caffeine.cache.Cache<String, Object> localCache;
+    private ConcurrentMapCache remoteCache;
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        localCache = Caffeine.newBuilder().maximumSize(10).build();
+        remoteCache = new ConcurrentMapCache(CACHE_NAME, false);
+        cache = new TwoLevelCache(CACHE_NAME, localCache, remoteCache, publisher, null);
+    }
+
+    @Test
+    @DisplayName("get: value found only in redis is copied to the local cache (positive scenario)")
+    void givenValueOnlyInRemoteCache_whenGetting_thenLocalCacheIsFilled() {
+        // given
+        remoteCache.put(USER_ID, EMAIL);
+
+        // when
+        var value = cache.get(USER_ID);
+
+        // then
+        assertThat(value).isNotNull();
+        assertThat(value.get()).isEqualTo(EMAIL);
+        assertThat(localCache.getIfPresent(USER_ID)).isEqualTo(EMAIL);
+    }
+
+    @Test
+    @DisplayName("get: local hit does not read redis (positive scenario)")
+    void givenValueInLocalCache_whenGetting_thenRemoteCacheIsNotRead() {
+        // given
+        localCache.put(USER_ID, EMAIL);
+
+        // when
+        var value = cache.get(USER_ID, String.class);
+
+        // then
+        assertThat(value).isEqualTo(EMAIL);
+        assertThat(remoteCache.get(USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("get: missing value is not cached (negative scenario)")
+    void givenValueNowhere_whenGetting_thenNullIsReturned() {
+        // when
+        var value = cache.get(USER_ID);
+
+        // then
+        assertThat(value).isNull();
+        assertThat(localCache.getIfPresent(USER_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("put/evict: both levels are updated and the other nodes are notified (positive scenario)")
+    void givenValue_whenPuttingAndEvicting_thenBothLevelsChangeAndInvalidationIsPublished() {
+        // when
+        cache.put(USER_ID, EMAIL);
+
+        // then
+        assertThat(remoteCache.get(USER_ID, String.class)).isEqualTo(EMAIL);
+        assertThat(localCache.getIfPresent(USER_ID)).isEqualTo(EMAIL);
+
+        // when
+        cache.evict(USER_ID);
+
+        // then
+        assertThat(remoteCache.get(USER_ID)).isNull();
+        assertThat(localCache.getIfPresent(USER_ID)).isNull();
+        then(publisher).should(times(2)).publishEvict(CACHE_NAME, USER_ID);
+    }
+
+    @Test
+    @DisplayName("getAll: local and redis hits are merged, misses are left out (positive scenario)")
+    void givenKeysSpreadOverBothLevels_whenGettingAll_thenHitsAreReturned() {
+        // given
+        localCache.put("local-user", "local@mobilitymail.com");
+        remoteCache.put(USER_ID, EMAIL);
+
+        // when
+        var values = cache.getAll(List.of("local-user", USER_ID, "unknown-user"));
+
+        // then
+        assertThat(values).containsOnly(
+                entry("local-user", "local@mobilitymail.com"),
+                entry(USER_ID, EMAIL)
+        );
+        assertThat(localCache.getIfPresent(USER_ID)).isEqualTo(EMAIL);
+    }
+
+    @Test
+    @DisplayName("onMessage: invalidation from another node evicts only the local entry (positive scenario)")
+    void givenInvalidationFromOtherNode_whenReceived_thenLocalEntryIsEvicted() {
+        // given
+        var redisCacheManager = mock(RedisCacheManager.class);
+        given(redisCacheManager.getCache(CACHE_NAME)).willReturn(remoteCache);
+        var manager = new TwoLevelCacheManager(redisCacheManager,
+                new LocalCacheSpec(10, Duration.ofMinutes(1)), Map.of(), publisher, null);
+        var listener = new CacheInvalidationListener(manager, "this-node");
+        manager.getCache(CACHE_NAME).put(USER_ID, EMAIL);
+        var message = mock(Message.class);
+        given(message.getBody()).willReturn(("other-node:" + CACHE_NAME + ":" + USER_ID).getBytes(StandardCharsets.UTF_8));
+
+        // when
+        listener.onMessage(message, null);
+
+        // then
+        assertThat(remoteCache.get(USER_ID, String.class)).isEqualTo(EMAIL);
+        var cached = manager.getCache(CACHE_NAME);
+        assertThat(cached).isNotNull();
+        remoteCache.evict(USER_ID);
+        assertThat(cached.get(USER_ID)).isNull();
+    }
+
+}
@@ -0,0 +1,225 @@
+package com.theodore.account.management.config.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import org.springframework.security.oauth2.core.OAuth2AccessToken;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+class ClientCredentialsTokenCacheTest {
+
+    private static final String REGISTRATION_ID = "auth-server-grpc";
+    private static final Duration TOKEN_LIFETIME = Duration.ofMinutes(5);
+
+    private final OAuth2AuthorizedClientManager authorizedClientManager = mock(OAuth2AuthorizedClientManager.class);
+    private final OAuth2AuthorizedClientService authorizedClientService = mock(OAuth2AuthorizedClientService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MutableClock clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+
+    private ClientCredentialsTokenCache tokenCache;
+
+    @BeforeEach
+    void setUp() {
+        tokenCache = new ClientCredentialsTokenCache(authorizedClientManager, authorizedClientService,
+                REGISTRATION_ID, Duration.ofSeconds(60), clock, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("authorizationHeader: a valid token is served from memory (positive scenario)")
+    void givenValidToken_whenCalledAgain_thenAuthServerIsNotAskedAgain() {
+        // given
+        given(authorizedClientManager.authorize(any())).willReturn(client("first"));
+
+        // when
+        var first = tokenCache.authorizationHeader();
+        clock.advance(Duration.ofMinutes(3));
+        var second = tokenCache.authorizationHeader();
+
+        // then
+        assertThat(first).isEqualTo("Bearer first");
+        assertThat(second).isEqualTo("Bearer first");
+        then(authorizedClientManager).should(times(1)).authorize(any());
+        assertThat(refreshCount("success")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("authorizationHeader: token is replaced before it expires (positive scenario)")
+    void givenTokenCloseToExpiry_whenCalled_thenNewTokenIsObtained() {
+        // given
+        given(authorizedClientManager.authorize(any())).willReturn(client("first"), client("second"));
+        tokenCache.authorizationHeader();
+        clock.advance(TOKEN_LIFETIME.minusSeconds(30));
+
+        // when
+        var header = tokenCache.authorizationHeader();
+
+        // then
+        assertThat(header).isEqualTo("Bearer second");
+        then(authorizedClientService).should(times(2)).removeAuthorizedClient(REGISTRATION_ID, REGISTRATION_ID);
+        assertThat(refreshCount("success")).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("authorizationHeader: failed early refresh keeps the current token (positive scenario)")
+    void givenEarlyRefreshFails_whenCalled_thenCurrentTokenIsStillUsed() {
+        // given
+        given(authorizedClientManager.authorize(any())).willReturn(client("first")).willReturn(null);
+        tokenCache.authorizationHeader();
+        clock.advance(TOKEN_LIFETIME.minusSeconds(30));
+
+        // when
+        var header = tokenCache.authorizationHeader();
+
+        // then
+        assertThat(header).isEqualTo("Bearer first");
+        assertThat(refreshCount("failure")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("authorizationHeader: no token can be obtained (negative scenario)")
+    void givenAuthServerReturnsNoToken_whenCalled_thenExceptionIsThrown() {
+        // given
+        given(authorizedClientManager.authorize(any())).willReturn(null);
+
+        // when / then
+        assertThatThrownBy(() -> tokenCache.authorizationHeader())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Could not obtain access token");
+        assertThat(refreshCount("failure")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("authorizationHeader: concurrent callers share a single refresh (positive scenario)")
+    void givenNoToken_whenCalledConcurrently_thenAuthServerIsAskedOnce() throws Exception {
+        // given
+        var release = new CountDownLatch(1);
+        given(authorizedClientManager.authorize(any())).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return client("shared");
+        });
+
+        // when
+        List<Future<String>> headers = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                headers.add(executor.submit(tokenCache::authorizationHeader));
+            }
+            Thread.sleep(100);
+            release.countDown();
+        }
+
+        // then
+        for (Future<String> header : headers) {
+            assertThat(header.get()).isEqualTo("Bearer shared");
+        }
+        then(authorizedClientManager).should(times(1)).authorize(any());
+    }
+
+    @Test
+    @DisplayName("invalidate: next call obtains a new token (positive scenario)")
+    void givenInvalidatedToken_whenCalled_thenNewTokenIsObtained() {
+        // given
+        given(authorizedClientManager.authorize(any())).willReturn(client("first"), client("second"));
+        tokenCache.authorizationHeader();
+
+        // when
+        tokenCache.invalidate();
+        var header = tokenCache.authorizationHeader();
+
+        // then
+        assertThat(header).isEqualTo("Bearer second");
+    }
+
+    @Test
+    @DisplayName("invalidate: token dropped by another thread during an early refresh is replaced (negative scenario)")
+    void givenInvalidateDuringEarlyRefresh_whenCalled_thenNewTokenIsObtained() {
+        // given
+        given(authorizedClientManager.authorize(any()))
+                .willReturn(client("first"))
+                .willAnswer(invocation -> {
+                    // the interceptor drops the token on UNAUTHENTICATED while the early refresh is failing
+                    CompletableFuture.runAsync(tokenCache::invalidate).join();
+                    return null;
+                })
+                .willReturn(client("third"));
+        tokenCache.authorizationHeader();
+        clock.advance(TOKEN_LIFETIME.minusSeconds(30));
+
+        // when
+        var header = tokenCache.authorizationHeader();
+
+        // then
+        assertThat(header).isEqualTo("Bearer third");
+        assertThat(refreshCount("failure")).isEqualTo(1);
+        assertThat(refreshCount("success")).isEqualTo(2);
+    }
+
+    private OAuth2AuthorizedClient client(String tokenValue) {
+        var registration = ClientRegistration.withRegistrationId(REGISTRATION_ID)
+                .clientId("mobility-api")
+                .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                .tokenUri("http://localhost/oauth2/token")
+                .build();
+        var issuedAt = clock.instant();
+        var token = new OAuth2AccessToken(OAuth2AccessToken.TokenType.BEARER, tokenValue,
+                issuedAt, issuedAt.plus(TOKEN_LIFETIME));
+        return new OAuth2AuthorizedClient(registration, REGISTRATION_ID, token);
+    }
+
+    private long refreshCount(String outcome) {
+        var timer = meterRegistry.find(ClientCredentialsTokenCache.REFRESH_METRIC).tag("outcome", outcome).timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+}
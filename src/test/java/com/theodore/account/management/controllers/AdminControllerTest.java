@@ -1,7 +1,10 @@
 package com.theodore.account.management.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.enums.OrganizationRegistrationDecision;
+import com.theodore.account.management.models.dto.requests.BulkOrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.models.dto.requests.UserChangeInformationRequestDto;
+import com.theodore.account.management.services.OrganizationRegistrationBulkDecisionService;
 import com.theodore.account.management.services.OrganizationRegistrationProcessService;
 import com.theodore.account.management.services.ProfileManagementService;
 import org.junit.jupiter.api.Test;
@@ -13,6 +16,9 @@ import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+import java.util.stream.LongStream;
+
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
@@ -33,8 +39,11 @@ class AdminControllerTest {
     OrganizationRegistrationProcessService organizationRegistrationProcessService;
     @MockitoBean
     ProfileManagementService profileManagementService;
+    @MockitoBean
+    OrganizationRegistrationBulkDecisionService organizationRegistrationBulkDecisionService;
 
     private static final String URL = "/admin/manage";
+    private static final String DECISIONS_URL = "/admin/org-registration/decisions";
 
     private static final String OLD_EMAIL = "old@mobilityapp.com";
     private static final String NEW_EMAIL = "new@mobilityapp.com";
@@ -109,6 +118,39 @@ class AdminControllerTest {
         verifyNoInteractions(profileManagementService);
     }
 
+    @Test
+    @WithMockUser(roles = "SYS_ADMIN")
+    void givenAdminRole_whenDecidingManyRegistrations_returnOk() throws Exception {
+        // given
+        var dto = new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L, 2L), OrganizationRegistrationDecision.APPROVED);
+
+        // when and then
+        mockMvc.perform(post(DECISIONS_URL)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isOk());
+
+        verify(organizationRegistrationBulkDecisionService).organizationRegistrationDecisions(dto);
+    }
+
+    @Test
+    @WithMockUser(roles = "SYS_ADMIN")
+    void givenTooManyIds_whenDecidingManyRegistrations_returnBadRequest() throws Exception {
+        // given
+        var ids = LongStream.rangeClosed(1, BulkOrganizationRegistrationDecisionRequestDto.MAX_IDS + 1).boxed().toList();
+        var dto = new BulkOrganizationRegistrationDecisionRequestDto(ids, OrganizationRegistrationDecision.REJECTED);
+
+        // when and then
+        mockMvc.perform(post(DECISIONS_URL)
+                        .with(csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(dto)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(organizationRegistrationBulkDecisionService);
+    }
+
     private UserChangeInformationRequestDto createUserChangeInformationRequestDto(){
         var request = new UserChangeInformationRequestDto();
         request.setOldEmail(OLD_EMAIL);
@@ -0,0 +1,69 @@
+package com.theodore.account.management.controllers;
+
+import com.theodore.account.management.services.OrganizationUserImportService;
+import com.theodore.account.management.services.RegistrationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+
+@WebMvcTest(RegistrationController.class)
+@Import(ControllerTestConfig.class)
+class RegistrationControllerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @MockitoBean
+    RegistrationService registrationService;
+    @MockitoBean
+    OrganizationUserImportService organizationUserImportService;
+
+    private static final String IMPORT_URL = "/register/user/organization/bulk";
+    private static final String OTHER_ORG_REG_NUMBER = "other-registration-number";
+    private static final String CSV = "email,mobileNumber,name,surname,password\n";
+
+    @Test
+    @WithMockUser(roles = "ORGANIZATION_ADMIN")
+    void givenAdminOfOtherOrganization_whenImportingUsers_returnForbidden() throws Exception {
+        // given
+        doThrow(new AccessDeniedException("Users can only be imported into the organization of the caller"))
+                .when(organizationUserImportService).checkImportAllowed(OTHER_ORG_REG_NUMBER);
+
+        // when and then
+        mockMvc.perform(post(IMPORT_URL)
+                        .with(csrf())
+                        .param("organizationRegNumber", OTHER_ORG_REG_NUMBER)
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isForbidden());
+
+        verify(organizationUserImportService, never()).importOrganizationUsers(any(), any(), any(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void givenIncorrectRole_whenImportingUsers_returnForbidden() throws Exception {
+        // when and then
+        mockMvc.perform(post(IMPORT_URL)
+                        .with(csrf())
+                        .param("organizationRegNumber", OTHER_ORG_REG_NUMBER)
+                        .contentType("text/csv")
+                        .content(CSV))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(organizationUserImportService);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.theodore.account.management.integration;
 import com.theodore.account.management.enums.OrganizationRegistrationStatus;
 import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
 import com.theodore.account.management.models.dto.requests.UserChangeInformationRequestDto;
+import com.theodore.account.management.models.dto.responses.CursorSearchResponse;
 import com.theodore.account.management.models.dto.responses.RegistrationProcessResponseDto;
 import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
 import com.theodore.account.management.repositories.UserProfileRepository;
@@ -29,6 +30,7 @@ import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -339,6 +341,79 @@ class AdminActionsIT extends BasePostgresTest {
                     null);
         }
 
+        private CursorSearchResponse<RegistrationProcessResponseDto> searchAfterCursor(String cursor,
+                                                                                       boolean withTotal,
+                                                                                       SearchRegistrationProcessRequestDto request) {
+            return client.post()
+                    .uri(uriBuilder -> uriBuilder
+                            .path(URL)
+                            .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                            .queryParam("pageSize", 5)
+                            .queryParam("withTotal", withTotal)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer mock-token")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(request)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(new ParameterizedTypeReference<CursorSearchResponse<RegistrationProcessResponseDto>>() {
+                    })
+                    .returnResult()
+                    .getResponseBody();
+        }
+
+        @Test
+        @DisplayName("searchOrgRegistrationProcesses: no criteria - cursor pages return all results newest first (positive scenario)")
+        void givenCursor_whenSearchingOrgRegistrationProcesses_returnNextPages() {
+            // given
+            when(jwtDecoder.decode(anyString())).thenReturn(validToken);
+            var req = new SearchRegistrationProcessRequestDto(SearchRegistrationProcessRequestDto.SearchOrganizationRegistrationStatus.ALL
+                    , null, null, null);
+
+            // when
+            var firstPage = searchAfterCursor(null, true, req);
+            var secondPage = searchAfterCursor(firstPage.nextCursor(), false, req);
+            var lastPage = searchAfterCursor(secondPage.nextCursor(), false, req);
+
+            // then
+            assertThat(firstPage.totalElements()).isEqualTo(15);
+            assertThat(secondPage.totalElements()).isNull();
+            assertThat(firstPage.last()).isFalse();
+            assertThat(lastPage.last()).isTrue();
+            assertThat(lastPage.nextCursor()).isNull();
+            assertThat(firstPage.data())
+                    .extracting(RegistrationProcessResponseDto::getOrganizationName)
+                    .containsExactlyInAnyOrder("CompanyName11", "CompanyName12", "CompanyName13", "CompanyName14", "CompanyName15");
+            assertThat(secondPage.data())
+                    .extracting(RegistrationProcessResponseDto::getOrganizationName)
+                    .containsExactlyInAnyOrder("CompanyName6", "CompanyName7", "CompanyName8", "CompanyName9", "CompanyName10");
+            assertThat(lastPage.data())
+                    .extracting(RegistrationProcessResponseDto::getOrganizationName)
+                    .containsExactlyInAnyOrder("CompanyName1", "CompanyName2", "CompanyName3", "CompanyName4", "CompanyName5");
+        }
+
+        @Test
+        @DisplayName("searchOrgRegistrationProcesses: tampered cursor bad request is returned (negative scenario)")
+        void givenInvalidCursor_whenSearchingOrgRegistrationProcesses_returnBadRequest() {
+            // given
+            when(jwtDecoder.decode(anyString())).thenReturn(validToken);
+            var req = new SearchRegistrationProcessRequestDto(SearchRegistrationProcessRequestDto.SearchOrganizationRegistrationStatus.ALL
+                    , null, null, null);
+
+            // when and then
+            client.post()
+                    .uri(uriBuilder -> uriBuilder
+                            .path(URL)
+                            .queryParam("cursor", "not-a-cursor")
+                            .queryParam("pageSize", DEFAULT_PAGE_SIZE)
+                            .build())
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer mock-token")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(req)
+                    .exchange()
+                    .expectStatus().isBadRequest();
+        }
+
     }
 
     @Nested
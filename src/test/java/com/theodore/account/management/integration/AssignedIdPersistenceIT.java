@@ -0,0 +1,107 @@
+package com.theodore.account.management.integration;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.theodore.account.management.entities.EmailVerificationToken;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that entities with assigned ids are inserted by save() with a single statement,
+ * instead of being merged, which selects them by id first.
+ */
+class AssignedIdPersistenceIT extends BasePostgresTest {
+
+    @Autowired
+    UserProfileRepository userProfileRepository;
+    @Autowired
+    EmailVerificationTokenRepository emailVerificationTokenRepository;
+
+    @BeforeEach
+    void clearStatements() {
+        StatementCounter.clear();
+    }
+
+    @Test
+    @DisplayName("save: new user profile is inserted without a select (positive scenario)")
+    void givenNewUserProfile_whenSaving_thenOnlyInsertIsIssued() {
+        // given
+        var userProfile = newUserProfile();
+
+        // when
+        userProfileRepository.save(userProfile);
+
+        // then
+        assertThat(StatementCounter.statements()).singleElement()
+                .satisfies(sql -> assertThat(sql).startsWithIgnoringCase("insert into user_profile"));
+        assertThat(userProfileRepository.existsById(userProfile.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("save: loaded user profile is updated instead of inserted again (positive scenario)")
+    void givenLoadedUserProfile_whenSaving_thenItIsUpdated() {
+        // given
+        var saved = userProfileRepository.save(newUserProfile());
+        var loaded = userProfileRepository.findById(saved.getId()).orElseThrow();
+        loaded.setName("changed");
+        StatementCounter.clear();
+
+        // when
+        userProfileRepository.save(loaded);
+
+        // then
+        assertThat(StatementCounter.statements()).noneMatch(sql -> sql.toLowerCase().startsWith("insert"));
+        assertThat(userProfileRepository.findById(saved.getId())).hasValueSatisfying(profile ->
+                assertThat(profile.getName()).isEqualTo("changed"));
+    }
+
+    @Test
+    @DisplayName("delete: saved user profile can be deleted by the saga compensation (positive scenario)")
+    void givenSavedUserProfile_whenDeleting_thenRowIsRemoved() {
+        // given
+        var saved = userProfileRepository.save(newUserProfile());
+
+        // when
+        userProfileRepository.delete(saved);
+
+        // then
+        assertThat(userProfileRepository.existsById(saved.getId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("save: new verification token is inserted without a select (positive scenario)")
+    void givenNewVerificationToken_whenSaving_thenOnlyInsertIsIssued() {
+        // given
+        var token = new EmailVerificationToken();
+        token.setJti(UlidCreator.getMonotonicUlid().toString());
+        token.setUserId(UlidCreator.getMonotonicUlid().toString());
+        token.setJwtToken("jwt");
+        token.setLastSent(Instant.now());
+        token.setExpiresAt(Instant.now().plus(1, ChronoUnit.HOURS));
+
+        // when
+        emailVerificationTokenRepository.save(token);
+
+        // then
+        assertThat(StatementCounter.statements()).singleElement()
+                .satisfies(sql -> assertThat(sql).startsWithIgnoringCase("insert into email_verification_token"));
+    }
+
+    private UserProfile newUserProfile() {
+        String id = UlidCreator.getMonotonicUlid().toString();
+        var userProfile = new UserProfile(id, id.toLowerCase() + "@mobilitymail.com", "6912345678");
+        userProfile.setName("name");
+        userProfile.setSurname("surname");
+        return userProfile;
+    }
+
+}
@@ -0,0 +1,61 @@
+package com.theodore.account.management.integration;
+
+import com.theodore.account.management.entities.OrganizationUserRegistrationRequest;
+import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that sequence generated ids are taken in blocks and that the inserts of a flush are batched.
+ */
+class BatchInsertIT extends BasePostgresTest {
+
+    private static final int ROWS = 100;
+
+    @Autowired
+    OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
+
+    private final List<OrganizationUserRegistrationRequest> saved = new ArrayList<>();
+
+    @BeforeEach
+    void clearStatements() {
+        StatementCounter.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        organizationUserRegistrationRequestRepository.deleteAll(saved);
+        saved.clear();
+    }
+
+    @Test
+    @DisplayName("saveAll: registration requests are inserted in batches of 50 (positive scenario)")
+    void givenManyRegistrationRequests_whenSavingAll_thenInsertsAreBatched() {
+        // given
+        var requests = IntStream.rangeClosed(1, ROWS).mapToObj(i -> {
+            var request = new OrganizationUserRegistrationRequest();
+            request.setOrgUserEmail("employee" + i + "@mobilitymail.com");
+            request.setOrganizationRegistrationNumber("REG-BATCH");
+            return request;
+        }).toList();
+
+        // when
+        organizationUserRegistrationRequestRepository.saveAll(requests).forEach(saved::add);
+
+        // then
+        var statements = StatementCounter.statements().stream().map(String::toLowerCase).toList();
+        assertThat(statements).filteredOn(sql -> sql.startsWith("insert into registration_request")).hasSize(2);
+        assertThat(statements).filteredOn(sql -> sql.contains("nextval")).hasSizeLessThanOrEqualTo(3);
+        assertThat(saved).extracting(OrganizationUserRegistrationRequest::getId).doesNotContainNull().doesNotHaveDuplicates();
+    }
+
+}
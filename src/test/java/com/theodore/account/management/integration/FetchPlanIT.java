@@ -0,0 +1,93 @@
+package com.theodore.account.management.integration;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.theodore.account.management.entities.Organization;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.infrastructure.common.entities.enums.Country;
+import org.hibernate.Hibernate;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * With open session in view disabled nothing can be lazy loaded once a repository call has returned,
+ * verifies that the explicit fetches load what the services read afterwards in the same select.
+ */
+class FetchPlanIT extends BasePostgresTest {
+
+    private static final String REGISTRATION_NUMBER = "FETCH-PLAN-1";
+
+    @Autowired
+    UserProfileRepository userProfileRepository;
+    @Autowired
+    OrganizationRepository organizationRepository;
+
+    private Organization organization;
+    private UserProfile userProfile;
+
+    @BeforeEach
+    void saveOrganizationUser() {
+        organization = new Organization();
+        organization.setName("Fetch Plan");
+        organization.setRegistrationNumber(REGISTRATION_NUMBER);
+        organization.setCountry(Country.GRC);
+        organization = organizationRepository.save(organization);
+
+        String id = UlidCreator.getMonotonicUlid().toString();
+        userProfile = new UserProfile(id, id.toLowerCase() + "@mobilitymail.com", "6912345678", organization);
+        userProfile.setName("name");
+        userProfile.setSurname("surname");
+        userProfileRepository.save(userProfile);
+        StatementCounter.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userProfileRepository.delete(userProfile);
+        organizationRepository.delete(organization);
+    }
+
+    @Test
+    @DisplayName("findWithOrganizationByEmailIgnoreCase: organization is readable after the call with a single select (positive scenario)")
+    void givenOrganizationUser_whenFindingWithOrganizationByEmail_thenOrganizationIsLoaded() {
+        // when
+        var loaded = userProfileRepository.findWithOrganizationByEmailIgnoreCase(userProfile.getEmail().toUpperCase())
+                .orElseThrow();
+
+        // then
+        assertThat(Hibernate.isInitialized(loaded.getOrganization())).isTrue();
+        assertThat(loaded.getOrganization().getRegistrationNumber()).isEqualTo(REGISTRATION_NUMBER);
+        assertThat(StatementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("findWithOrganizationById: organization is readable after the call with a single select (positive scenario)")
+    void givenOrganizationUser_whenFindingWithOrganizationById_thenOrganizationIsLoaded() {
+        // when
+        var loaded = userProfileRepository.findWithOrganizationById(userProfile.getId()).orElseThrow();
+
+        // then
+        assertThat(loaded.getOrganization().getRegistrationNumber()).isEqualTo(REGISTRATION_NUMBER);
+        assertThat(StatementCounter.statements()).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("findByEmailIgnoreCase: organization cannot be lazy loaded after the call (negative scenario)")
+    void givenOrganizationUser_whenFindingByEmail_thenOrganizationIsNotLoaded() {
+        // when
+        var loaded = userProfileRepository.findByEmailIgnoreCase(userProfile.getEmail()).orElseThrow();
+
+        // then
+        assertThatThrownBy(() -> loaded.getOrganization().getRegistrationNumber())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.theodore.account.management.integration;
+
+import com.theodore.account.management.repositories.ScheduledJobLeaseRepository;
+import com.theodore.account.management.services.JobLeaseService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobLeaseIT extends BasePostgresTest {
+
+    private static final String JOB = "test-job";
+    private static final long TEN_MINUTES = Duration.ofMinutes(10).toMillis();
+
+    @Autowired
+    ScheduledJobLeaseRepository scheduledJobLeaseRepository;
+    @Autowired
+    JobLeaseService jobLeaseService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void cleanUp() {
+        scheduledJobLeaseRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: only one node gets the lease (positive scenario)")
+    void givenTwoNodes_whenBothAcquire_thenOnlyTheFirstGetsTheLease() {
+        assertThat(scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-a")).isEqualTo(1);
+        assertThat(scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-b")).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire: lease of a dead node is taken over once it expires (positive scenario)")
+    void givenExpiredLease_whenAnotherNodeAcquires_thenItTakesOver() {
+        // given
+        scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-a");
+        jdbcTemplate.update("update scheduled_job_lease set locked_until = now() - interval '1 second' where job_name = ?", JOB);
+
+        // when
+        int acquired = scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-b");
+
+        // then
+        assertThat(acquired).isEqualTo(1);
+        assertThat(scheduledJobLeaseRepository.findById(JOB)).hasValueSatisfying(lease ->
+                assertThat(lease.getLockedBy()).isEqualTo("node-b"));
+    }
+
+    @Test
+    @DisplayName("release: lease is kept for lockAtLeastFor after a short run (positive scenario)")
+    void givenReleasedLease_whenAcquiringWithinLockAtLeastFor_thenLeaseIsStillHeld() {
+        // given
+        scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-a");
+
+        // when
+        scheduledJobLeaseRepository.release(JOB, Duration.ofMinutes(1).toMillis(), "node-a");
+
+        // then
+        assertThat(scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-b")).isZero();
+        scheduledJobLeaseRepository.release(JOB, 0, "node-a");
+        assertThat(scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "node-b")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("runExclusively: job is skipped while the lease is held (negative scenario)")
+    void givenLeaseHeld_whenRunningExclusively_thenJobIsSkipped() {
+        // given
+        scheduledJobLeaseRepository.tryAcquire(JOB, TEN_MINUTES, "other-node");
+        var ran = new AtomicBoolean();
+
+        // when
+        boolean result = jobLeaseService.runExclusively(JOB, Duration.ofMinutes(10), Duration.ZERO, () -> ran.set(true));
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(ran).isFalse();
+    }
+
+}
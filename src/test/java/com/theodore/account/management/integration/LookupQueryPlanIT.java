@@ -0,0 +1,150 @@
+package com.theodore.account.management.integration;
+
+import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto;
+import com.theodore.account.management.models.dto.requests.SearchRegistrationProcessRequestDto.SearchOrganizationRegistrationStatus;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.services.OrganizationRegistrationProcessService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifies that the hot lookup queries can be answered by an index.
+ * The SQL that Hibernate generates for the repository method is recorded by {@link StatementCounter}
+ * and explained as a generic plan, which is the plan a prepared statement settles on and needs no bound values.
+ * Sequential scans are disabled for the transaction so that the planner
+ * only falls back to one when no usable index exists, regardless of table size.
+ */
+class LookupQueryPlanIT extends BasePostgresTest {
+
+    private static final String USER_ID = "01HZXC0000000000000000000";
+    private static final String EMAIL = "someone@mobilitymail.com";
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+    @Autowired
+    TransactionTemplate transactionTemplate;
+    @Autowired
+    UserProfileRepository userProfileRepository;
+    @Autowired
+    OrganizationRepository organizationRepository;
+    @Autowired
+    EmailVerificationTokenRepository emailVerificationTokenRepository;
+    @Autowired
+    OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
+    @Autowired
+    OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository;
+    @Autowired
+    OrganizationRegistrationProcessService organizationRegistrationProcessService;
+
+    private List<String> explain(Runnable repositoryCall) {
+        return transactionTemplate.execute(status -> {
+            jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+            StatementCounter.clear();
+            repositoryCall.run();
+            String sql = StatementCounter.statements().getLast();
+            return jdbcTemplate.queryForList("EXPLAIN (GENERIC_PLAN) " + numberedParameters(sql), String.class);
+        });
+    }
+
+    private static String numberedParameters(String sql) {
+        var numbered = new StringBuilder(sql.length() + 8);
+        int parameter = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                numbered.append('$').append(++parameter);
+            } else {
+                numbered.append(c);
+            }
+        }
+        return numbered.toString();
+    }
+
+    private void assertNoSequentialScan(List<String> plan, String expectedIndex) {
+        assertThat(plan).isNotEmpty();
+        assertThat(plan).noneMatch(line -> line.contains("Seq Scan"));
+        assertThat(String.join("\n", plan)).contains(expectedIndex);
+    }
+
+    @Test
+    @DisplayName("existsByEmailAndMobileNumberAllIgnoreCase: lookup uses the lower(email) index")
+    void givenEmailAndMobile_whenExplainingExistsQuery_thenIndexIsUsed() {
+        var plan = explain(() -> userProfileRepository.existsByEmailAndMobileNumberAllIgnoreCase(EMAIL, "6912345678"));
+
+        assertNoSequentialScan(plan, "idx_user_profile_lower_email");
+    }
+
+    @Test
+    @DisplayName("findByEmailIgnoreCase: lookup uses the lower(email) index")
+    void givenEmail_whenExplainingFindByEmailQuery_thenIndexIsUsed() {
+        var plan = explain(() -> userProfileRepository.findByEmailIgnoreCase(EMAIL));
+
+        assertNoSequentialScan(plan, "idx_user_profile_lower_email");
+    }
+
+    @Test
+    @DisplayName("findByIdAndEmailIgnoreCase: lookup goes through the primary key, the email is only a filter")
+    void givenIdAndEmail_whenExplainingFindByIdAndEmailQuery_thenPrimaryKeyIsUsed() {
+        var plan = explain(() -> userProfileRepository.findByIdAndEmailIgnoreCase(USER_ID, EMAIL));
+
+        assertNoSequentialScan(plan, "Index Scan using user_profile_pkey");
+        assertThat(plan).noneMatch(line -> line.contains("idx_user_profile_lower_email"));
+    }
+
+    @Test
+    @DisplayName("findByRegistrationNumberIgnoreCase: lookup uses the lower(registration_number) index")
+    void givenRegistrationNumber_whenExplainingOrganizationLookup_thenIndexIsUsed() {
+        var plan = explain(() -> organizationRepository.findByRegistrationNumberIgnoreCase("REG-1"));
+
+        assertNoSequentialScan(plan, "idx_organization_lower_registration_number");
+    }
+
+    @Test
+    @DisplayName("findByUserIdAndStatusPending: lookup uses the partial pending token index of every partition")
+    void givenUserId_whenExplainingPendingTokenQuery_thenPartialIndexIsUsed() {
+        var plan = explain(() -> emailVerificationTokenRepository.findByUserIdAndStatusPending(USER_ID));
+
+        // the partitions inherit the index under generated names ending in user_id_idx
+        assertNoSequentialScan(plan, "user_id_idx");
+    }
+
+    @Test
+    @DisplayName("findByOrgUserEmail: lookup uses the registration_request user email index")
+    void givenUserEmail_whenExplainingRegistrationRequestQuery_thenIndexIsUsed() {
+        var plan = explain(() -> organizationUserRegistrationRequestRepository.findByOrgUserEmail(EMAIL));
+
+        assertNoSequentialScan(plan, "idx_registration_request_user_email");
+    }
+
+    @Test
+    @DisplayName("searchOrganizationRegistrationProcess: cursor page reads the (date_created, id) index in order")
+    void givenCursor_whenExplainingRegistrationProcessSeek_thenCompositeIndexIsUsed() {
+        var testDataHelper = new TestDataHelper(userProfileRepository, organizationRepository, organizationRegistrationProcessRepository);
+        testDataHelper.feedOrganizationRegistrationProcess();
+        try {
+            var searchRequest = new SearchRegistrationProcessRequestDto(SearchOrganizationRegistrationStatus.ALL, null, null, null);
+            String cursor = organizationRegistrationProcessService.searchOrganizationRegistrationProcess(searchRequest, null, 10, false)
+                    .nextCursor();
+
+            var plan = explain(() -> organizationRegistrationProcessService.searchOrganizationRegistrationProcess(searchRequest, cursor, 10, false));
+
+            assertNoSequentialScan(plan, "idx_org_registration_process_date_created_id");
+            assertThat(plan).noneMatch(line -> line.contains("Sort"));
+            // the scan starts at the cursor instead of filtering every newer row
+            assertThat(plan).anyMatch(line -> line.contains("Index Cond") && line.contains("date_created"));
+        } finally {
+            testDataHelper.cleanOrganizationRegistrationProcess();
+        }
+    }
+
+}
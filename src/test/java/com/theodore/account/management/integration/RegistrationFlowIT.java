@@ -14,13 +14,13 @@ import com.theodore.account.management.repositories.OrganizationUserRegistration
 import com.theodore.account.management.repositories.UserProfileRepository;
 import com.theodore.account.management.services.AuthServerGrpcClient;
 import com.theodore.account.management.services.EmailTokenService;
+import com.theodore.account.management.services.OutboxService;
 import com.theodore.account.management.services.SagaCompensationActionService;
 import com.theodore.account.management.utils.AccountManagementTestConfigs;
 import com.theodore.account.management.utils.AccountManagementTestUtils;
 import com.theodore.account.management.utils.TestData;
 import com.theodore.infrastructure.common.entities.enums.RoleType;
 import com.theodore.queue.common.emails.EmailDto;
-import com.theodore.queue.common.services.MessagingService;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Import;
@@ -61,7 +61,7 @@ class RegistrationFlowIT extends BasePostgresTest {
     @MockitoBean
     AuthServerGrpcClient authServerGrpcClient;
     @MockitoBean
-    MessagingService messagingService;
+    OutboxService outboxService;
     @MockitoBean
     EmailTokenService emailTokenService;
     @MockitoBean
@@ -72,7 +72,7 @@ class RegistrationFlowIT extends BasePostgresTest {
     @BeforeAll
     void initClient() {
         client = webTestClient.mutate().baseUrl(baseUrl()).build();
-        reset(authServerGrpcClient, messagingService, emailTokenService, sagaCompensationActionService);
+        reset(authServerGrpcClient, outboxService, emailTokenService, sagaCompensationActionService);
     }
 
     @BeforeEach
@@ -110,7 +110,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             // then
             verifyNoInteractions(authServerGrpcClient);
             verifyNoInteractions(emailTokenService);
-            verifyNoInteractions(messagingService);
+            verifyNoInteractions(outboxService);
         }
 
         @Test
@@ -144,7 +144,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             when(authServerGrpcClient.authServerNewSimpleUserRegistration(any(CreateNewSimpleAuthUserRequestDto.class)))
                     .thenReturn(authUserResponse);
 
-            doNothing().when(messagingService).sendToEmailService(any(EmailDto.class));
+            doNothing().when(outboxService).enqueueEmail(any(EmailDto.class));
 
             long initialCount = userProfileRepository.count();
 
@@ -190,7 +190,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                                     profile.getMobileNumber().equals(NEW_MOBILE)
                     ));
 
-            verify(messagingService, times(1)).sendToEmailService(any());
+            verify(outboxService, times(1)).enqueueEmail(any());
             verifyNoInteractions(sagaCompensationActionService);
         }
 
@@ -230,7 +230,7 @@ class RegistrationFlowIT extends BasePostgresTest {
 
                 verify(userProfileRepository, never()).save(any());
                 verify(emailTokenService, never()).createSimpleUserToken(any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
 
                 verifyNoInteractions(sagaCompensationActionService);
             }
@@ -269,7 +269,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                 verify(sagaCompensationActionService, times(1))
                         .authServerCredentialsRollback(AUTH_USER_ID, NEW_EMAIL.toLowerCase(), "Simple user registration");
                 verify(emailTokenService, never()).createSimpleUserToken(any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
             }
 
             @Test
@@ -304,7 +304,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                 verify(userProfileRepository, times(1)).save(any());
                 verify(emailTokenService, times(1))
                         .createSimpleUserToken(any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
 
                 verify(sagaCompensationActionService, times(1))
                         .authServerCredentialsRollback(AUTH_USER_ID, NEW_EMAIL.toLowerCase(), "Simple user registration");
@@ -312,7 +312,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             }
 
             @Test
-            @DisplayName("registerNewSimpleUser - Saga step 4 fail: Message service fails - Full rollback triggered")
+            @DisplayName("registerNewSimpleUser - Saga step 4 fail: Email outbox write fails - Full rollback triggered")
             void whenMessageServiceFails_thenFullRollbackTriggered() {
                 // given
                 var authUserResponse = new AuthUserIdResponseDto(AUTH_USER_ID);
@@ -324,9 +324,9 @@ class RegistrationFlowIT extends BasePostgresTest {
                 when(emailTokenService.createSimpleUserToken(any(UserProfile.class)))
                         .thenReturn(TEST_TOKEN);
 
-                // Failure point 4: Message service fails
-                doThrow(new RuntimeException("Message broker unavailable"))
-                        .when(messagingService).sendToEmailService(any(EmailDto.class));
+                // Failure point 4: Email outbox write fails
+                doThrow(new RuntimeException("Outbox unavailable"))
+                        .when(outboxService).enqueueEmail(any(EmailDto.class));
 
                 long initialCount = userProfileRepository.count();
 
@@ -345,7 +345,7 @@ class RegistrationFlowIT extends BasePostgresTest {
 
                 verify(authServerGrpcClient, times(1)).authServerNewSimpleUserRegistration(any());
                 verify(emailTokenService, times(1)).createSimpleUserToken(any());
-                verify(messagingService, times(1)).sendToEmailService(any());
+                verify(outboxService, times(1)).enqueueEmail(any());
 
                 verify(sagaCompensationActionService, times(1))
                         .authServerCredentialsRollback(AUTH_USER_ID, NEW_EMAIL.toLowerCase(), "Simple user registration");
@@ -401,7 +401,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             verifyNoInteractions(authServerGrpcClient);
             verifyNoInteractions(organizationUserRegistrationRequestRepository);
             verifyNoInteractions(emailTokenService);
-            verifyNoInteractions(messagingService);
+            verifyNoInteractions(outboxService);
         }
 
         @Test
@@ -429,7 +429,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             verifyNoInteractions(authServerGrpcClient);
             verifyNoInteractions(organizationUserRegistrationRequestRepository);
             verifyNoInteractions(emailTokenService);
-            verifyNoInteractions(messagingService);
+            verifyNoInteractions(outboxService);
         }
 
         @Test
@@ -457,7 +457,7 @@ class RegistrationFlowIT extends BasePostgresTest {
             verifyNoInteractions(authServerGrpcClient);
             verifyNoInteractions(organizationUserRegistrationRequestRepository);
             verifyNoInteractions(emailTokenService);
-            verifyNoInteractions(messagingService);
+            verifyNoInteractions(outboxService);
         }
 
         @Test
@@ -475,7 +475,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                     eq(RoleType.SIMPLE_USER))
             ).thenReturn(authUserResponse);
 
-            doNothing().when(messagingService).sendToEmailService(any(EmailDto.class));
+            doNothing().when(outboxService).enqueueEmail(any(EmailDto.class));
 
             long initialCount = userProfileRepository.count();
 
@@ -528,7 +528,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                                     NEW_EMAIL.toLowerCase().equals(req.getOrgUserEmail())
                     ));
 
-            verify(messagingService, times(1)).sendToEmailService(any(EmailDto.class));
+            verify(outboxService, times(1)).enqueueEmail(any(EmailDto.class));
             verifyNoInteractions(sagaCompensationActionService);
         }
 
@@ -570,7 +570,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                 verify(userProfileRepository, never()).save(any());
                 verify(organizationUserRegistrationRequestRepository, never()).save(any());
                 verify(emailTokenService, never()).createOrganizationUserToken(any(), anyString(), anyString(), any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
 
                 verifyNoInteractions(sagaCompensationActionService);
             }
@@ -614,7 +614,7 @@ class RegistrationFlowIT extends BasePostgresTest {
 
                 verify(organizationUserRegistrationRequestRepository, never()).save(any());
                 verify(emailTokenService, never()).createOrganizationUserToken(any(), anyString(), anyString(), any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
             }
 
             @Test
@@ -656,7 +656,7 @@ class RegistrationFlowIT extends BasePostgresTest {
                         .authServerCredentialsRollback(AUTH_USER_ID, NEW_EMAIL.toLowerCase(), "Organization user registration");
 
                 verify(emailTokenService, never()).createOrganizationUserToken(any(), anyString(), anyString(), any());
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
             }
 
             @Test
@@ -697,11 +697,11 @@ class RegistrationFlowIT extends BasePostgresTest {
                 verify(sagaCompensationActionService, times(1))
                         .authServerCredentialsRollback(AUTH_USER_ID, NEW_EMAIL.toLowerCase(), "Organization user registration");
 
-                verify(messagingService, never()).sendToEmailService(any());
+                verify(outboxService, never()).enqueueEmail(any());
             }
 
             @Test
-            @DisplayName("registerNewOrganizationUser - Step 4 fail: Message service fails - Full rollback triggered")
+            @DisplayName("registerNewOrganizationUser - Step 4 fail: Email outbox write fails - Full rollback triggered")
             void whenMessageServiceFails_thenFullRollbackTriggered() {
                 // given
                 var request = createCreateNewOrganizationUserRequestDto(
@@ -715,8 +715,8 @@ class RegistrationFlowIT extends BasePostgresTest {
                 when(emailTokenService.createOrganizationUserToken(any(Organization.class), eq(AUTH_USER_ID), eq(NEW_EMAIL), eq(AccountConfirmedBy.USER)))
                         .thenReturn(TEST_TOKEN);
 
-                doThrow(new RuntimeException("Message broker unavailable"))
-                        .when(messagingService).sendToEmailService(any(EmailDto.class));
+                doThrow(new RuntimeException("Outbox unavailable"))
+                        .when(outboxService).enqueueEmail(any(EmailDto.class));
 
                 long initialProfiles = userProfileRepository.count();
                 long initialRequests = organizationUserRegistrationRequestRepository.count();
@@ -738,7 +738,7 @@ class RegistrationFlowIT extends BasePostgresTest {
 
                 verify(emailTokenService, times(1))
                         .createOrganizationUserToken(any(Organization.class), eq(AUTH_USER_ID), eq(NEW_EMAIL.toLowerCase()), eq(AccountConfirmedBy.USER));
-                verify(messagingService, times(1)).sendToEmailService(any());
+                verify(outboxService, times(1)).enqueueEmail(any());
 
                 verify(organizationUserRegistrationRequestRepository, times(1)).delete(any());
                 verify(userProfileRepository, times(1)).delete(any());
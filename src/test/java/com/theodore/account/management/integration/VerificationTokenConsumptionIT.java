@@ -0,0 +1,80 @@
+package com.theodore.account.management.integration;
+
+import com.github.f4b6a3.ulid.UlidCreator;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationTokenConsumptionIT extends BasePostgresTest {
+
+    private static final String USER_ID = "01HZXC8Q3V7K2M4N6P8R0T2W4Y";
+
+    @Autowired
+    EmailVerificationTokenRepository emailVerificationTokenRepository;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private String insertPendingToken(Instant expiresAt) {
+        String jti = UlidCreator.getMonotonicUlid().toString();
+        jdbcTemplate.update("insert into email_verification_token " +
+                        "(jti, user_id, jwt_token, last_sent, times_resent, expires_at, status) " +
+                        "values (?, ?, 'token', now(), 0, ?, 'PENDING')",
+                jti, USER_ID, Timestamp.from(expiresAt));
+        return jti;
+    }
+
+    @Test
+    @DisplayName("consumePendingToken: only one of many concurrent confirmations consumes the token (positive scenario)")
+    void givenPendingToken_whenConsumedConcurrently_thenOnlyOneSucceeds() throws Exception {
+        // given
+        String jti = insertPendingToken(Instant.now().plus(Duration.ofHours(1)));
+        var start = new CountDownLatch(1);
+
+        // when
+        List<Future<Integer>> consumed = new ArrayList<>();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            for (int i = 0; i < 8; i++) {
+                consumed.add(executor.submit(() -> {
+                    start.await();
+                    return emailVerificationTokenRepository.consumePendingToken(jti, USER_ID, Instant.now());
+                }));
+            }
+            start.countDown();
+        }
+
+        // then
+        int total = 0;
+        for (Future<Integer> result : consumed) {
+            total += result.get();
+        }
+        assertThat(total).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select status from email_verification_token where jti = ?", String.class, jti))
+                .isEqualTo("USED");
+    }
+
+    @Test
+    @DisplayName("consumePendingToken: token of another user or past its expiry is not consumed (negative scenario)")
+    void givenOtherUserOrExpiredToken_whenConsuming_thenNothingIsUpdated() {
+        // given
+        String jti = insertPendingToken(Instant.now().plus(Duration.ofHours(1)));
+        String expiredJti = insertPendingToken(Instant.now().minus(Duration.ofMinutes(1)));
+
+        // when / then
+        assertThat(emailVerificationTokenRepository.consumePendingToken(jti, "another-user", Instant.now())).isZero();
+        assertThat(emailVerificationTokenRepository.consumePendingToken(expiredJti, USER_ID, Instant.now())).isZero();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.theodore.account.management.integration;
+
+import com.theodore.account.management.services.VerificationTokenPartitionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationTokenPartitionIT extends BasePostgresTest {
+
+    @Autowired
+    VerificationTokenPartitionService partitionService;
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private boolean partitionExists(LocalDate day) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class,
+                "email_verification_token_p" + day.toString().replace("-", "")));
+    }
+
+    private void insertToken(String jti, Instant expiresAt) {
+        jdbcTemplate.update("insert into email_verification_token " +
+                        "(jti, user_id, jwt_token, last_sent, times_resent, expires_at, status) " +
+                        "values (?, 'user-id', 'token', now(), 0, ?, 'USED')",
+                jti, Timestamp.from(expiresAt));
+    }
+
+    private String partitionOf(String jti) {
+        return jdbcTemplate.queryForObject("select tableoid::regclass::text from email_verification_token where jti = ?",
+                String.class, jti);
+    }
+
+    @Test
+    @DisplayName("createPartitions: missing days are created and existing ones are left alone (positive scenario)")
+    void givenFutureDays_whenCreatingPartitions_thenTokensLandInTheirDay() {
+        // given
+        LocalDate from = LocalDate.now(ZoneOffset.UTC).plusDays(40);
+
+        // when
+        int created = partitionService.createPartitions(from, 2);
+        int createdAgain = partitionService.createPartitions(from, 2);
+        insertToken("jti-ahead", from.plusDays(1).atTime(12, 0).toInstant(ZoneOffset.UTC));
+
+        // then
+        assertThat(created).isEqualTo(2);
+        assertThat(createdAgain).isZero();
+        assertThat(partitionExists(from)).isTrue();
+        assertThat(partitionOf("jti-ahead")).isEqualTo("email_verification_token_p"
+                + from.plusDays(1).toString().replace("-", ""));
+    }
+
+    @Test
+    @DisplayName("dropPartitionsBefore: whole days past the cutoff are dropped with their tokens (positive scenario)")
+    void givenOldPartition_whenDroppingBeforeCutoff_thenOnlyEndedDaysAreDropped() {
+        // given
+        LocalDate oldDay = LocalDate.now(ZoneOffset.UTC).minusDays(60);
+        partitionService.createPartitions(oldDay, 2);
+        insertToken("jti-old", oldDay.atTime(8, 0).toInstant(ZoneOffset.UTC));
+        insertToken("jti-boundary", oldDay.plusDays(1).atTime(8, 0).toInstant(ZoneOffset.UTC));
+
+        // when
+        int dropped = partitionService.dropPartitionsBefore(oldDay.plusDays(1).atTime(12, 0).toInstant(ZoneOffset.UTC));
+
+        // then
+        assertThat(dropped).isEqualTo(1);
+        assertThat(partitionExists(oldDay)).isFalse();
+        assertThat(partitionExists(oldDay.plusDays(1))).isTrue();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from email_verification_token where jti = 'jti-old'",
+                Integer.class)).isZero();
+        assertThat(partitionOf("jti-boundary")).isEqualTo("email_verification_token_p"
+                + oldDay.plusDays(1).toString().replace("-", ""));
+    }
+
+    @Test
+    @DisplayName("createPartitions: tokens of the day left in the default partition are moved into it (positive scenario)")
+    void givenTokenInDefaultPartition_whenCreatingItsPartition_thenTokenIsMoved() {
+        // given
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(50);
+        insertToken("jti-default", day.atTime(9, 0).toInstant(ZoneOffset.UTC));
+        assertThat(partitionOf("jti-default")).isEqualTo("email_verification_token_default");
+
+        // when
+        int created = partitionService.createPartitions(day, 1);
+
+        // then
+        assertThat(created).isEqualTo(1);
+        assertThat(partitionOf("jti-default")).isEqualTo("email_verification_token_p" + day.toString().replace("-", ""));
+    }
+
+    @Test
+    @DisplayName("deleteExpiredFromDefaultPartition: only tokens expired before the cutoff are deleted (positive scenario)")
+    void givenTokensInDefaultPartition_whenDeletingExpired_thenLaterTokensAreKept() {
+        // given
+        LocalDate oldDay = LocalDate.now(ZoneOffset.UTC).minusDays(90);
+        LocalDate laterDay = LocalDate.now(ZoneOffset.UTC).plusDays(60);
+        insertToken("jti-default-old", oldDay.atTime(9, 0).toInstant(ZoneOffset.UTC));
+        insertToken("jti-default-later", laterDay.atTime(9, 0).toInstant(ZoneOffset.UTC));
+
+        // when
+        int deleted = partitionService.deleteExpiredFromDefaultPartition(oldDay.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant());
+
+        // then
+        assertThat(deleted).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from email_verification_token where jti = 'jti-default-old'",
+                Integer.class)).isZero();
+        assertThat(partitionOf("jti-default-later")).isEqualTo("email_verification_token_default");
+    }
+
+}
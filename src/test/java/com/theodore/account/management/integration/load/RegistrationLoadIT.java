@@ -0,0 +1,165 @@
+package com.theodore.account.management.integration.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.integration.BasePostgresTest;
+import com.theodore.account.management.models.dto.requests.CreateNewSimpleAuthUserRequestDto;
+import com.theodore.account.management.models.dto.requests.CreateNewSimpleUserRequestDto;
+import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.services.AuthServerGrpcClient;
+import com.theodore.account.management.services.EmailTokenService;
+import com.theodore.account.management.services.SagaCompensationActionService;
+import com.theodore.account.management.utils.AccountManagementTestUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Fires {@value #CONCURRENT_REGISTRATIONS} simple user registrations at once against a real server
+ * while the auth server call is simulated with a fixed latency, and logs the achieved throughput.
+ * The nested classes run the same load in platform thread and in virtual thread mode, each with its own server,
+ * and the throughput of the two modes is compared once both are done.
+ * <p>
+ * Not part of the default build, run with : mvn test -Dtest='RegistrationLoadIT*'
+ */
+class RegistrationLoadIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegistrationLoadIT.class);
+
+    private static final int CONCURRENT_REGISTRATIONS = 2_000;
+    private static final Duration AUTH_SERVER_LATENCY = Duration.ofMillis(50);
+    private static final String PWD = "123paSsW0$rd";
+    private static final String PLATFORM_THREADS = "platform threads";
+    private static final String VIRTUAL_THREADS = "virtual threads";
+    // virtual threads must keep up with platform threads, the margin absorbs the noise of a single run
+    private static final double MIN_VIRTUAL_TO_PLATFORM_RATIO = 0.9;
+
+    // registrations per second of every mode that ran
+    private static final Map<String, Double> THROUGHPUT = new ConcurrentHashMap<>();
+
+    @AfterAll
+    static void compareModes() {
+        Double platform = THROUGHPUT.get(PLATFORM_THREADS);
+        Double virtual = THROUGHPUT.get(VIRTUAL_THREADS);
+        if (platform == null || virtual == null) {
+            // only one of the modes was selected
+            return;
+        }
+        double ratio = virtual / platform;
+        LOGGER.info("virtual/platform thread throughput : {}", String.format("%.2f", ratio));
+        assertThat(ratio).isGreaterThanOrEqualTo(MIN_VIRTUAL_TO_PLATFORM_RATIO);
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=false")
+    class PlatformThreads extends LoadRun {
+
+        @Override
+        protected String mode() {
+            return PLATFORM_THREADS;
+        }
+
+    }
+
+    @Nested
+    @TestPropertySource(properties = "spring.threads.virtual.enabled=true")
+    class VirtualThreads extends LoadRun {
+
+        @Override
+        protected String mode() {
+            return VIRTUAL_THREADS;
+        }
+
+    }
+
+    abstract static class LoadRun extends BasePostgresTest {
+
+        @Autowired
+        ObjectMapper objectMapper;
+        @Autowired
+        UserProfileRepository userProfileRepository;
+
+        @MockitoBean
+        AuthServerGrpcClient authServerGrpcClient;
+        @MockitoBean
+        EmailTokenService emailTokenService;
+        @MockitoBean
+        SagaCompensationActionService sagaCompensationActionService;
+
+        protected abstract String mode();
+
+        @AfterEach
+        void cleanUp() {
+            userProfileRepository.deleteAll();
+        }
+
+        @Test
+        @DisplayName("registerNewSimpleUser: concurrent registrations all succeed and throughput is reported")
+        void givenConcurrentRegistrations_whenRegisteringSimpleUsers_thenAllSucceed() throws Exception {
+            // given
+            when(authServerGrpcClient.authServerNewSimpleUserRegistration(any(CreateNewSimpleAuthUserRequestDto.class)))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(AUTH_SERVER_LATENCY);
+                        return new AuthUserIdResponseDto(AccountManagementTestUtils.generateUlId());
+                    });
+            when(emailTokenService.createSimpleUserToken(any(UserProfile.class))).thenReturn("load-test-token");
+
+            List<HttpRequest> requests = new ArrayList<>(CONCURRENT_REGISTRATIONS);
+            for (int i = 0; i < CONCURRENT_REGISTRATIONS; i++) {
+                var body = new CreateNewSimpleUserRequestDto("load" + i + "@mobilitymail.com", "69" + i, "Load", "Test", PWD);
+                requests.add(HttpRequest.newBuilder(URI.create(baseUrl() + "/register/user/simple"))
+                        .header("Content-Type", "application/json")
+                        .timeout(Duration.ofMinutes(2))
+                        .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                        .build());
+            }
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor();
+                 var httpClient = HttpClient.newBuilder().executor(executor).build()) {
+
+                // when
+                long start = System.nanoTime();
+                List<CompletableFuture<HttpResponse<Void>>> responses = requests.stream()
+                        .map(request -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding()))
+                        .toList();
+                CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).join();
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                // then
+                long created = responses.stream().map(CompletableFuture::join).filter(r -> r.statusCode() == 201).count();
+                double throughput = CONCURRENT_REGISTRATIONS * 1000.0 / Math.max(1, elapsed.toMillis());
+                LOGGER.info("[{}] {} registrations in {}ms -> {} registrations/s",
+                        mode(), CONCURRENT_REGISTRATIONS, elapsed.toMillis(), String.format("%.1f", throughput));
+
+                assertThat(created).isEqualTo(CONCURRENT_REGISTRATIONS);
+                THROUGHPUT.put(mode(), throughput);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,159 @@
+package com.theodore.account.management.saga;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InstrumentedSagaTest {
+
+    private static final String SAGA = "simple-user-registration";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SagaMetrics sagaMetrics = new SagaMetrics(meterRegistry);
+    private final SagaMetricsEndpoint endpoint = new SagaMetricsEndpoint(meterRegistry);
+
+    @Test
+    @DisplayName("run: every step and the saga are timed under the saga type (positive scenario)")
+    void givenSuccessfulSaga_whenRun_thenStepsAreTimed() {
+        // given
+        List<String> executed = new ArrayList<>();
+
+        // when
+        sagaMetrics.saga(SAGA)
+                .step("create-auth-user", () -> executed.add("create-auth-user"), () -> {
+                })
+                .step("save-user-profile", () -> executed.add("save-user-profile"), () -> {
+                })
+                .run();
+
+        // then
+        assertThat(executed).containsExactly("create-auth-user", "save-user-profile");
+        assertThat(meterRegistry.get(SagaMetrics.STEP_TIMER).tag("saga", SAGA).tag("step", "save-user-profile")
+                .tag("outcome", SagaMetrics.SUCCESS).timer().count()).isEqualTo(1);
+        var summary = endpoint.saga(SAGA);
+        assertThat(summary.runs()).isEqualTo(1);
+        assertThat(summary.failures()).isZero();
+        assertThat(summary.steps()).containsKeys("create-auth-user.success", "save-user-profile.success");
+        assertThat(endpoint.sagas()).containsOnlyKeys(SAGA);
+    }
+
+    @Test
+    @DisplayName("run: failing step, its cause and the compensations are recorded (negative scenario)")
+    void givenFailingStep_whenRun_thenFailureAndCompensationsAreRecorded() {
+        // given
+        var saga = sagaMetrics.saga(SAGA)
+                .step("create-auth-user", () -> {
+                }, () -> {
+                })
+                .step("save-user-profile", () -> {
+                    throw new IllegalStateException("database down");
+                }, () -> {
+                });
+
+        // when / then
+        assertThatThrownBy(saga::run).isInstanceOf(RuntimeException.class);
+        assertThat(meterRegistry.get(SagaMetrics.FAILURE_COUNTER).tag("saga", SAGA).tag("step", "save-user-profile")
+                .tag("cause", "IllegalStateException").counter().count()).isEqualTo(1);
+        var summary = endpoint.saga(SAGA);
+        assertThat(summary.failures()).isEqualTo(1);
+        assertThat(summary.steps().get("create-auth-user.success").compensations()).isEqualTo(1);
+        assertThat(summary.causes()).containsEntry("save-user-profile:IllegalStateException", 1L);
+    }
+
+    @Test
+    @DisplayName("stages: steps only waiting for earlier stages share a stage (positive scenario)")
+    void givenDeclaredDependencies_whenPlanning_thenIndependentStepsShareAStage() {
+        // given
+        var saga = sagaMetrics.saga(SAGA)
+                .step("create-registration-process", noOp(), noOp())
+                .step("create-organization", noOp(), noOp())
+                .step("create-organization-auth-user", Set.of("create-registration-process"), noOp(), noOp())
+                .step("save-user-profile", noOp(), noOp());
+
+        // when
+        var stages = saga.stages().stream()
+                .map(stage -> stage.stream().map(InstrumentedSaga.PlannedStep::name).toList())
+                .toList();
+
+        // then
+        assertThat(stages).containsExactly(
+                List.of("create-registration-process"),
+                List.of("create-organization", "create-organization-auth-user"),
+                List.of("save-user-profile"));
+    }
+
+    @Test
+    @DisplayName("run: independent steps run at the same time (positive scenario)")
+    void givenIndependentSteps_whenRun_thenTheyOverlap() {
+        // given
+        var bothStarted = new CountDownLatch(2);
+        Runnable waitForTheOther = () -> {
+            bothStarted.countDown();
+            try {
+                if (!bothStarted.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("steps did not run concurrently");
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        };
+
+        // when
+        sagaMetrics.saga(SAGA)
+                .step("create-organization", Set.of(), waitForTheOther, noOp())
+                .step("create-organization-auth-user", Set.of(), waitForTheOther, noOp())
+                .run();
+
+        // then
+        assertThat(bothStarted.getCount()).isZero();
+        assertThat(endpoint.saga(SAGA).failures()).isZero();
+    }
+
+    @Test
+    @DisplayName("run: partial failure of concurrent steps compensates each completed step once (negative scenario)")
+    void givenOneConcurrentStepFails_whenRun_thenCompletedStepsAreCompensatedOnce() {
+        // given
+        List<String> compensated = Collections.synchronizedList(new ArrayList<>());
+        var saga = sagaMetrics.saga(SAGA)
+                .step("create-registration-process", noOp(), () -> compensated.add("create-registration-process"))
+                .step("create-organization", () -> {
+                    throw new IllegalStateException("duplicate organization");
+                }, () -> compensated.add("create-organization"))
+                .step("create-organization-auth-user", Set.of("create-registration-process"), noOp(),
+                        () -> compensated.add("create-organization-auth-user"));
+
+        // when / then
+        assertThatThrownBy(saga::run).isInstanceOf(RuntimeException.class);
+        assertThat(compensated).containsExactly("create-organization-auth-user", "create-registration-process");
+        assertThat(endpoint.saga(SAGA).causes()).containsEntry("create-organization:IllegalStateException", 1L);
+    }
+
+    @Test
+    @DisplayName("step: dependency on a step that was not added before is rejected (negative scenario)")
+    void givenUnknownDependency_whenAddingStep_thenExceptionIsThrown() {
+        // given
+        var saga = sagaMetrics.saga(SAGA);
+
+        // when / then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> saga.step("create-organization-auth-user", Set.of("create-organization"), noOp(), noOp()));
+    }
+
+    private static Runnable noOp() {
+        return () -> {
+        };
+    }
+
+}
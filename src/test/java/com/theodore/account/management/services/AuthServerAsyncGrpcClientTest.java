@@ -0,0 +1,133 @@
+package com.theodore.account.management.services;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.SettableFuture;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
+import com.theodore.account.management.utils.AuthServerGrpcProps;
+import com.theodore.infrastructure.common.entities.enums.RoleType;
+import com.theodore.user.AuthServerNewUserRegistrationGrpc;
+import com.theodore.user.ConfirmationStatus;
+import com.theodore.user.UserConfirmationResponse;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.*;
+
+class AuthServerAsyncGrpcClientTest {
+
+    private static final String USER_ID = "test-user-id";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationFutureStub stub =
+            mock(AuthServerNewUserRegistrationGrpc.AuthServerNewUserRegistrationFutureStub.class);
+
+    private AuthServerAsyncGrpcClient client;
+
+    @BeforeEach
+    void setUp() {
+        var props = new AuthServerGrpcProps(Duration.ofSeconds(1), Map.of(), 1, Duration.ofMillis(10), 1,
+                Duration.ofSeconds(60));
+        client = new AuthServerAsyncGrpcClient(props, meterRegistry);
+        client.authServerRegistrationClient = stub;
+        when(stub.withDeadlineAfter(anyLong(), any())).thenReturn(stub);
+    }
+
+    @Test
+    @DisplayName("authServerNewUserConfirmation: response is returned and the call is timed (positive scenario)")
+    void givenAuthServerResponds_whenConfirmingUser_thenFutureCompletesWithResponse() {
+        // given
+        var confirmed = UserConfirmationResponse.newBuilder().setConfirmationStatus(ConfirmationStatus.CONFIRMED).build();
+        when(stub.confirmUserAccount(any())).thenReturn(Futures.immediateFuture(confirmed));
+
+        // when
+        var response = AuthServerAsyncGrpcClient.await(client.authServerNewUserConfirmation(USER_ID));
+
+        // then
+        assertThat(response.getConfirmationStatus()).isEqualTo(ConfirmationStatus.CONFIRMED);
+        assertThat(meterRegistry.get("auth.server.grpc.client.calls").tag("outcome", "OK").timer().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("auth.server.grpc.client.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    @DisplayName("authServerNewUserConfirmation: calls over the in flight limit are rejected (negative scenario)")
+    void givenInFlightLimitReached_whenCallingAuthServer_thenCallIsRejected() {
+        // given
+        SettableFuture<UserConfirmationResponse> pending = SettableFuture.create();
+        when(stub.confirmUserAccount(any())).thenReturn(pending);
+        var first = client.authServerNewUserConfirmation(USER_ID);
+
+        // when
+        var second = client.authServerNewUserConfirmation(USER_ID);
+
+        // then
+        assertThatThrownBy(() -> AuthServerAsyncGrpcClient.await(second))
+                .isInstanceOf(StatusRuntimeException.class)
+                .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                .isEqualTo(Status.Code.RESOURCE_EXHAUSTED);
+        assertThat(meterRegistry.get("auth.server.grpc.client.rejected").counter().count()).isEqualTo(1);
+        assertThat(first).isNotDone();
+
+        pending.setException(Status.DEADLINE_EXCEEDED.asRuntimeException());
+        assertThatThrownBy(() -> AuthServerAsyncGrpcClient.await(first))
+                .isInstanceOf(StatusRuntimeException.class);
+        assertThat(meterRegistry.get("auth.server.grpc.client.calls").tag("outcome", "DEADLINE_EXCEEDED").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("authServerNewOrganizationUserRegistrations: bulk calls over the bulk limit wait instead of being rejected (positive scenario)")
+    void givenMoreRequestsThanBulkLimit_whenRegisteringInBulk_thenCallsWaitForEarlierOnes() {
+        // given
+        var props = new AuthServerGrpcProps(Duration.ofSeconds(1), Map.of(), 4, Duration.ofMillis(10), 2,
+                Duration.ofSeconds(60));
+        var bulkClient = new AuthServerAsyncGrpcClient(props, meterRegistry);
+        bulkClient.authServerRegistrationClient = stub;
+        var scheduler = Executors.newSingleThreadScheduledExecutor();
+        var inFlight = new AtomicInteger();
+        var maxInFlight = new AtomicInteger();
+        when(stub.createOrganizationUser(any())).thenAnswer(invocation -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            SettableFuture<?> pending = SettableFuture.create();
+            scheduler.schedule(() -> {
+                inFlight.decrementAndGet();
+                pending.setException(Status.UNAVAILABLE.asRuntimeException());
+            }, 20, TimeUnit.MILLISECONDS);
+            return pending;
+        });
+        var requests = IntStream.rangeClosed(1, 5)
+                .mapToObj(i -> new CreateNewOrganizationAuthUserRequestDto("user" + i + "@theodoreorg.com", "6900000000",
+                        "Passw0rd$$$1", "test-registration-number"))
+                .toList();
+
+        // when
+        var authUsers = bulkClient.authServerNewOrganizationUserRegistrations(requests, RoleType.SIMPLE_USER);
+
+        // then
+        assertThat(authUsers).hasSize(5).allSatisfy(authUser ->
+                assertThatThrownBy(() -> AuthServerAsyncGrpcClient.await(authUser))
+                        .isInstanceOf(StatusRuntimeException.class)
+                        .extracting(ex -> ((StatusRuntimeException) ex).getStatus().getCode())
+                        .isEqualTo(Status.Code.UNAVAILABLE));
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(2);
+        then(stub).should(times(5)).createOrganizationUser(any());
+        assertThat(meterRegistry.get("auth.server.grpc.client.rejected").counter().count()).isZero();
+        scheduler.shutdownNow();
+    }
+
+}
@@ -0,0 +1,313 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.cache.VerificationTokenCache;
+import com.theodore.account.management.entities.EmailVerificationToken;
+import com.theodore.account.management.entities.Organization;
+import com.theodore.account.management.entities.OrganizationUserRegistrationRequest;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.enums.AccountConfirmedBy;
+import com.theodore.account.management.enums.RegistrationStatus;
+import com.theodore.account.management.exceptions.AccountConfirmationException;
+import com.theodore.account.management.models.VerificationTokenCacheEntry;
+import com.theodore.account.management.models.dto.responses.OrgAdminInfoResponseDto;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.infrastructure.common.exceptions.InvalidTokenException;
+import com.theodore.queue.common.emails.EmailDto;
+import com.theodore.user.ConfirmationStatus;
+import com.theodore.user.UserConfirmationResponse;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConfirmationServiceTest {
+
+    private static final String TOKEN = "token";
+    private static final String JTI = "01HZXC8Q3V7K2M4N6P8R0T2W4Y";
+    private static final String USER_ID = "user-id";
+    private static final String EMAIL = "someone@mobilitymail.com";
+    private static final String ORG_REGISTRATION_NUMBER = "GR123456789";
+
+    @Mock
+    private EmailTokenService emailTokenService;
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
+    @Mock
+    private AuthServerGrpcClient authServerGrpcClient;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private EmailVerificationTokenRepository emailVerificationTokenRepository;
+    @Mock
+    private VerificationTokenCache verificationTokenCache;
+
+    private final PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+    @InjectMocks
+    private ConfirmationServiceImpl confirmationService;
+
+    @SuppressWarnings("unchecked")
+    private void givenParsedToken() {
+        Claims claims = Jwts.claims().setSubject(USER_ID).setId(JTI);
+        claims.put("email", EMAIL);
+        claims.put("organization", ORG_REGISTRATION_NUMBER);
+        Jws<Claims> jws = mock(Jws.class);
+        given(jws.getBody()).willReturn(claims);
+        given(emailTokenService.parseToken(TOKEN)).willReturn(jws);
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: cached pending token is checked against the current profile and confirmed (positive scenario)")
+    void givenCachedPendingToken_whenConfirming_thenTokenIsNotLoaded() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.PENDING)));
+        given(userProfileRepository.findById(USER_ID)).willReturn(Optional.of(new UserProfile(USER_ID, EMAIL, "6912345678")));
+        given(authServerGrpcClient.authServerNewUserConfirmation(USER_ID)).willReturn(
+                UserConfirmationResponse.newBuilder().setConfirmationStatus(ConfirmationStatus.CONFIRMED).build());
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(1);
+
+        // when
+        confirmationService.confirmSimpleUserEmail(TOKEN);
+
+        // then
+        then(emailVerificationTokenRepository).should(never()).findByUserIdAndStatusPending(any());
+        then(verificationTokenCache).should().updateStatus(JTI, EmailVerificationToken.VerificationStatus.USED);
+        then(outboxService).should().enqueueEmail(any(EmailDto.class));
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: cached token of an email changed since it was issued is rejected (negative scenario)")
+    void givenEmailChangedAfterTokenWasIssued_whenConfirming_thenRejectedWithoutAuthServer() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.PENDING)));
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(1);
+        given(userProfileRepository.findById(USER_ID)).willReturn(
+                Optional.of(new UserProfile(USER_ID, "changed@mobilitymail.com", "6912345678")));
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmSimpleUserEmail(TOKEN))
+                .isInstanceOf(JwtException.class);
+        then(authServerGrpcClient).shouldHaveNoInteractions();
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: replayed token is rejected from the cache (negative scenario)")
+    void givenCachedUsedToken_whenConfirming_thenRejectedWithoutDatabase() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.USED)));
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmSimpleUserEmail(TOKEN))
+                .isInstanceOf(InvalidTokenException.class);
+        then(emailVerificationTokenRepository).shouldHaveNoInteractions();
+        then(userProfileRepository).shouldHaveNoInteractions();
+        then(authServerGrpcClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: token consumed concurrently is rejected before the auth server is called (negative scenario)")
+    void givenTokenAlreadyConsumed_whenConfirming_thenRejectedWithoutAuthServer() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.PENDING)));
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(0);
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmSimpleUserEmail(TOKEN))
+                .isInstanceOf(InvalidTokenException.class);
+        then(authServerGrpcClient).shouldHaveNoInteractions();
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: uncached token is consumed by jti without loading it (positive scenario)")
+    void givenUncachedToken_whenConfirming_thenTokenIsNotLoaded() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.empty());
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(1);
+        given(userProfileRepository.findById(USER_ID)).willReturn(Optional.of(new UserProfile(USER_ID, EMAIL, "6912345678")));
+        given(authServerGrpcClient.authServerNewUserConfirmation(USER_ID)).willReturn(
+                UserConfirmationResponse.newBuilder().setConfirmationStatus(ConfirmationStatus.CONFIRMED).build());
+
+        // when
+        confirmationService.confirmSimpleUserEmail(TOKEN);
+
+        // then
+        then(emailVerificationTokenRepository).should(never()).findByUserIdAndStatusPending(any());
+        then(outboxService).should().enqueueEmail(any(EmailDto.class));
+    }
+
+    @Test
+    @DisplayName("confirmSimpleUserEmail: token is given back when the auth server does not confirm (negative scenario)")
+    void givenAuthServerRejects_whenConfirming_thenTokenIsReleased() {
+        // given
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.PENDING)));
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(1);
+        given(authServerGrpcClient.authServerNewUserConfirmation(USER_ID)).willReturn(
+                UserConfirmationResponse.newBuilder().setConfirmationStatusValue(-1).build());
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmSimpleUserEmail(TOKEN))
+                .isInstanceOf(AccountConfirmationException.class);
+        then(emailVerificationTokenRepository).should().updateStatusByJti(JTI,
+                EmailVerificationToken.VerificationStatus.USED,
+                EmailVerificationToken.VerificationStatus.PENDING);
+        then(verificationTokenCache).should().updateStatus(JTI, EmailVerificationToken.VerificationStatus.PENDING);
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("confirmOrganizationUserEmailByUser: admin info is fetched between two short transactions (positive scenario)")
+    void givenPendingEmployeeRequest_whenUserConfirms_thenAuthServerIsCalledOutsideTransactions() {
+        // given
+        givenConsumablePendingToken();
+        var request = givenRegistrationRequest(RegistrationStatus.PENDING_EMPLOYEE);
+        var user = givenOrganizationUser();
+        given(authServerGrpcClient.getOrganizationAdminInfoFromAuthServer(ORG_REGISTRATION_NUMBER))
+                .willReturn(List.of(new OrgAdminInfoResponseDto("admin-id", "admin@mobilitymail.com")));
+        given(emailTokenService.createOrganizationUserToken(user.getOrganization(), USER_ID, EMAIL,
+                AccountConfirmedBy.ORGANIZATION)).willReturn("org-token");
+
+        // when
+        confirmationService.confirmOrganizationUserEmailByUser(TOKEN);
+
+        // then
+        InOrder inOrder = inOrder(transactionManager, authServerGrpcClient, outboxService);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(authServerGrpcClient).getOrganizationAdminInfoFromAuthServer(ORG_REGISTRATION_NUMBER);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxService).enqueueEmail(any(EmailDto.class));
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(request.getStatus()).isEqualTo(RegistrationStatus.PENDING_COMPANY);
+    }
+
+    @Test
+    @DisplayName("confirmOrganizationUserEmailByUser: auth server failure leaves the request untouched and gives the token back (negative scenario)")
+    void givenAuthServerFails_whenUserConfirms_thenNothingIsSavedAndTokenIsReleased() {
+        // given
+        givenConsumablePendingToken();
+        var request = givenRegistrationRequest(RegistrationStatus.PENDING_EMPLOYEE);
+        givenOrganizationUser();
+        given(authServerGrpcClient.getOrganizationAdminInfoFromAuthServer(ORG_REGISTRATION_NUMBER))
+                .willThrow(new IllegalStateException("auth server unavailable"));
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmOrganizationUserEmailByUser(TOKEN))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(request.getStatus()).isEqualTo(RegistrationStatus.PENDING_EMPLOYEE);
+        then(organizationUserRegistrationRequestRepository).should(never()).save(any());
+        then(emailVerificationTokenRepository).should().updateStatusByJti(JTI,
+                EmailVerificationToken.VerificationStatus.USED,
+                EmailVerificationToken.VerificationStatus.PENDING);
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("confirmOrganizationUserEmailByOrganization: request is approved after the auth server confirmed (positive scenario)")
+    void givenPendingCompanyRequest_whenOrganizationConfirms_thenApprovedAfterAuthServerCall() {
+        // given
+        givenConsumablePendingToken();
+        var request = givenRegistrationRequest(RegistrationStatus.PENDING_COMPANY);
+        givenOrganizationUser();
+        given(authServerGrpcClient.authServerNewUserConfirmation(USER_ID)).willReturn(
+                UserConfirmationResponse.newBuilder().setConfirmationStatus(ConfirmationStatus.CONFIRMED).build());
+
+        // when
+        confirmationService.confirmOrganizationUserEmailByOrganization(TOKEN);
+
+        // then
+        InOrder inOrder = inOrder(transactionManager, authServerGrpcClient, organizationUserRegistrationRequestRepository);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(authServerGrpcClient).authServerNewUserConfirmation(USER_ID);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(organizationUserRegistrationRequestRepository).save(request);
+        inOrder.verify(transactionManager).commit(any());
+        assertThat(request.getStatus()).isEqualTo(RegistrationStatus.APPROVED);
+        then(outboxService).should().enqueueEmail(any(EmailDto.class));
+    }
+
+    @Test
+    @DisplayName("confirmOrganizationUserEmailByOrganization: request is not approved when the auth server does not confirm (negative scenario)")
+    void givenAuthServerRejects_whenOrganizationConfirms_thenRequestStaysPending() {
+        // given
+        givenConsumablePendingToken();
+        var request = givenRegistrationRequest(RegistrationStatus.PENDING_COMPANY);
+        givenOrganizationUser();
+        given(authServerGrpcClient.authServerNewUserConfirmation(USER_ID)).willReturn(
+                UserConfirmationResponse.newBuilder().setConfirmationStatusValue(-1).build());
+
+        // when / then
+        assertThatThrownBy(() -> confirmationService.confirmOrganizationUserEmailByOrganization(TOKEN))
+                .isInstanceOf(AccountConfirmationException.class);
+        assertThat(request.getStatus()).isEqualTo(RegistrationStatus.PENDING_COMPANY);
+        then(organizationUserRegistrationRequestRepository).should(never()).save(any());
+        then(emailVerificationTokenRepository).should().updateStatusByJti(JTI,
+                EmailVerificationToken.VerificationStatus.USED,
+                EmailVerificationToken.VerificationStatus.PENDING);
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    private void givenConsumablePendingToken() {
+        givenParsedToken();
+        given(verificationTokenCache.find(JTI)).willReturn(Optional.of(
+                new VerificationTokenCacheEntry(USER_ID, EMAIL, EmailVerificationToken.VerificationStatus.PENDING)));
+        given(emailVerificationTokenRepository.consumePendingToken(eq(JTI), eq(USER_ID), any(Instant.class))).willReturn(1);
+    }
+
+    private OrganizationUserRegistrationRequest givenRegistrationRequest(RegistrationStatus status) {
+        var request = new OrganizationUserRegistrationRequest();
+        request.setOrgUserEmail(EMAIL);
+        request.setOrganizationRegistrationNumber(ORG_REGISTRATION_NUMBER);
+        request.setStatus(status);
+        given(organizationUserRegistrationRequestRepository.findByOrgUserEmail(EMAIL)).willReturn(Optional.of(request));
+        return request;
+    }
+
+    private UserProfile givenOrganizationUser() {
+        var organization = new Organization();
+        organization.setRegistrationNumber(ORG_REGISTRATION_NUMBER);
+        var user = new UserProfile(USER_ID, EMAIL, "6912345678", organization);
+        given(userProfileRepository.findWithOrganizationById(USER_ID)).willReturn(Optional.of(user));
+        return user;
+    }
+
+}
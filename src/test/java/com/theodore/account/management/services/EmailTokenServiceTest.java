@@ -0,0 +1,101 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.cache.VerificationTokenCache;
+import com.theodore.account.management.entities.EmailVerificationToken;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.repositories.EmailVerificationTokenRepository;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.then;
+
+@ExtendWith(MockitoExtension.class)
+class EmailTokenServiceTest {
+
+    private static final SecretKey KEY =
+            Keys.hmacShaKeyFor("test-signing-key-of-at-least-256-bits-long".getBytes(StandardCharsets.UTF_8));
+    private static final String USER_ID = "01HZXC8Q3V7K2M4N6P8R0T2W4Y";
+    private static final String EMAIL = "someone@mobilitymail.com";
+
+    @Mock
+    private EmailVerificationTokenRepository emailVerificationTokenRepository;
+
+    private VerificationTokenCache verificationTokenCache;
+    private EmailTokenServiceImpl emailTokenService;
+
+    @BeforeEach
+    void setUp() {
+        verificationTokenCache = new VerificationTokenCache(new ConcurrentMapCacheManager());
+        emailTokenService = new EmailTokenServiceImpl(KEY, 3600, emailVerificationTokenRepository, verificationTokenCache);
+    }
+
+    @Test
+    @DisplayName("createSimpleUserToken: token is parsed back with the same claims and a ULID jti (positive scenario)")
+    void givenUser_whenCreatingAndParsingToken_thenClaimsMatch() {
+        // given
+        var user = new UserProfile(USER_ID, EMAIL, "6912345678");
+
+        // when
+        var token = emailTokenService.createSimpleUserToken(user);
+        var claims = emailTokenService.parseToken(token).getBody();
+
+        // then
+        var captor = ArgumentCaptor.forClass(EmailVerificationToken.class);
+        then(emailVerificationTokenRepository).should().save(captor.capture());
+        assertThat(claims.getSubject()).isEqualTo(USER_ID);
+        assertThat(claims.get("email", String.class)).isEqualTo(EMAIL);
+        assertThat(claims.getId()).hasSize(26).isEqualTo(captor.getValue().getJti());
+        assertThat(captor.getValue().getJwtToken()).isEqualTo(token);
+        assertThat(verificationTokenCache.find(claims.getId())).hasValueSatisfying(entry -> {
+            assertThat(entry.userId()).isEqualTo(USER_ID);
+            assertThat(entry.email()).isEqualTo(EMAIL);
+            assertThat(entry.status()).isEqualTo(EmailVerificationToken.VerificationStatus.PENDING);
+        });
+    }
+
+    @Test
+    @DisplayName("createSimpleUserToken: every token gets its own jti (positive scenario)")
+    void givenSameUser_whenCreatingTwoTokens_thenJtisDiffer() {
+        // given
+        var user = new UserProfile(USER_ID, EMAIL, "6912345678");
+
+        // when
+        var first = emailTokenService.parseToken(emailTokenService.createSimpleUserToken(user)).getBody().getId();
+        var second = emailTokenService.parseToken(emailTokenService.createSimpleUserToken(user)).getBody().getId();
+
+        // then
+        assertThat(first).isNotEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("parseToken: token signed with another key is rejected (negative scenario)")
+    void givenTokenSignedWithOtherKey_whenParsing_thenExceptionIsThrown() {
+        // given
+        var otherKey = Keys.hmacShaKeyFor("another-signing-key-of-at-least-256-bits".getBytes(StandardCharsets.UTF_8));
+        var token = Jwts.builder()
+                .setSubject(USER_ID)
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(otherKey)
+                .compact();
+
+        // when / then
+        assertThatThrownBy(() -> emailTokenService.parseToken(token)).isInstanceOf(JwtException.class);
+    }
+
+}
@@ -0,0 +1,192 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.entities.OrganizationRegistrationProcess;
+import com.theodore.account.management.enums.OrganizationRegistrationDecision;
+import com.theodore.account.management.enums.OrganizationRegistrationDecisionOutcome;
+import com.theodore.account.management.enums.OrganizationRegistrationStatus;
+import com.theodore.account.management.mappers.OrganizationMapper;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.requests.BulkOrganizationRegistrationDecisionRequestDto;
+import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
+import com.theodore.account.management.models.dto.responses.OrganizationRegistrationDecisionResultDto;
+import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.infrastructure.common.entities.enums.Country;
+import com.theodore.queue.common.emails.EmailDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationRegistrationBulkDecisionServiceTest {
+
+    @InjectMocks
+    private OrganizationRegistrationBulkDecisionServiceImpl bulkDecisionService;
+
+    @Mock
+    private OrganizationRegistrationProcessRepository organizationRegistrationProcessRepository;
+    @Mock
+    private OrganizationRepository organizationRepository;
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private AuthServerAsyncGrpcClient authServerAsyncGrpcClient;
+    @Mock
+    private EmailTokenService emailTokenService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private SagaCompensationActionService sagaCompensationActionService;
+
+    @Spy
+    private UserProfileMapper userProfileMapper = Mappers.getMapper(UserProfileMapper.class);
+    @Spy
+    private OrganizationMapper organizationMapper = Mappers.getMapper(OrganizationMapper.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @Test
+    @DisplayName("organizationRegistrationDecisions: pending processes are approved in one batch (positive scenario)")
+    void givenPendingProcesses_whenApproving_thenAllAreSavedTogether() {
+        // given
+        var first = createProcess(1L, "reg-1", OrganizationRegistrationStatus.PENDING);
+        var second = createProcess(2L, "reg-2", OrganizationRegistrationStatus.PENDING);
+        given(organizationRegistrationProcessRepository.findAllById(any())).willReturn(List.of(first, second));
+        given(organizationRepository.findExistingRegistrationNumbers(any())).willReturn(List.of());
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willReturn(List.of(CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-1")),
+                        CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-2"))));
+        given(emailTokenService.createOrganizationAdminToken(any(), any(), any())).willReturn("token");
+
+        // when
+        var response = bulkDecisionService.organizationRegistrationDecisions(
+                new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L, 2L), OrganizationRegistrationDecision.APPROVED));
+
+        // then
+        assertThat(response.results()).extracting(OrganizationRegistrationDecisionResultDto::outcome)
+                .containsExactly(OrganizationRegistrationDecisionOutcome.APPROVED, OrganizationRegistrationDecisionOutcome.APPROVED);
+        assertThat(first.getAdminApprovedStatus()).isEqualTo(OrganizationRegistrationStatus.APPROVED);
+        then(organizationRegistrationProcessRepository).should().findAllById(any());
+        then(organizationRepository).should().saveAll(argThat(organizations -> ((List<?>) organizations).size() == 2));
+        then(userProfileRepository).should().saveAll(argThat(profiles -> ((List<?>) profiles).size() == 2));
+        then(outboxService).should(times(2)).enqueueEmail(any(EmailDto.class));
+    }
+
+    @Test
+    @DisplayName("organizationRegistrationDecisions: missing, decided and taken processes are reported per item (negative scenario)")
+    void givenUnusableProcesses_whenApproving_thenEachGetsItsOutcome() {
+        // given
+        var decided = createProcess(2L, "reg-2", OrganizationRegistrationStatus.REJECTED);
+        var taken = createProcess(3L, "REG-3", OrganizationRegistrationStatus.PENDING);
+        given(organizationRegistrationProcessRepository.findAllById(any())).willReturn(List.of(decided, taken));
+        given(organizationRepository.findExistingRegistrationNumbers(any())).willReturn(List.of("reg-3"));
+
+        // when
+        var response = bulkDecisionService.organizationRegistrationDecisions(
+                new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L, 2L, 3L), OrganizationRegistrationDecision.APPROVED));
+
+        // then
+        assertThat(response.results()).extracting(OrganizationRegistrationDecisionResultDto::outcome)
+                .containsExactly(OrganizationRegistrationDecisionOutcome.NOT_FOUND,
+                        OrganizationRegistrationDecisionOutcome.ALREADY_DECIDED,
+                        OrganizationRegistrationDecisionOutcome.FAILED);
+        then(authServerAsyncGrpcClient).shouldHaveNoInteractions();
+        then(userProfileRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("organizationRegistrationDecisions: failed auth server call only fails its own process (negative scenario)")
+    void givenOneAuthServerCallFails_whenApproving_thenOthersAreApproved() {
+        // given
+        var first = createProcess(1L, "reg-1", OrganizationRegistrationStatus.PENDING);
+        var second = createProcess(2L, "reg-2", OrganizationRegistrationStatus.PENDING);
+        given(organizationRegistrationProcessRepository.findAllById(any())).willReturn(List.of(first, second));
+        given(organizationRepository.findExistingRegistrationNumbers(any())).willReturn(List.of());
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willReturn(List.of(CompletableFuture.failedFuture(new IllegalStateException("unavailable")),
+                        CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-2"))));
+
+        // when
+        var response = bulkDecisionService.organizationRegistrationDecisions(
+                new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L, 2L), OrganizationRegistrationDecision.APPROVED));
+
+        // then
+        assertThat(response.results()).extracting(OrganizationRegistrationDecisionResultDto::outcome)
+                .containsExactly(OrganizationRegistrationDecisionOutcome.FAILED, OrganizationRegistrationDecisionOutcome.APPROVED);
+        assertThat(first.getAdminApprovedStatus()).isEqualTo(OrganizationRegistrationStatus.PENDING);
+        then(sagaCompensationActionService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("organizationRegistrationDecisions: failed chunk rolls back its auth server users (negative scenario)")
+    void givenChunkCannotBeSaved_whenApproving_thenAuthServerUsersAreRolledBack() {
+        // given
+        var process = createProcess(1L, "reg-1", OrganizationRegistrationStatus.PENDING);
+        given(organizationRegistrationProcessRepository.findAllById(any())).willReturn(List.of(process));
+        given(organizationRepository.findExistingRegistrationNumbers(any())).willReturn(List.of());
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willReturn(List.of(CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-1"))));
+        given(organizationRepository.saveAll(any())).willThrow(new IllegalStateException("constraint violation"));
+
+        // when
+        var response = bulkDecisionService.organizationRegistrationDecisions(
+                new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L), OrganizationRegistrationDecision.APPROVED));
+
+        // then
+        assertThat(response.results()).extracting(OrganizationRegistrationDecisionResultDto::outcome)
+                .containsExactly(OrganizationRegistrationDecisionOutcome.FAILED);
+        assertThat(process.getAdminApprovedStatus()).isEqualTo(OrganizationRegistrationStatus.PENDING);
+        then(sagaCompensationActionService).should().authServerCredentialsRollback(eq("auth-1"), eq(process.getOrgAdminEmail()), any());
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("organizationRegistrationDecisions: pending processes are rejected without the auth server (positive scenario)")
+    void givenPendingProcesses_whenRejecting_thenOnlyStatusIsSaved() {
+        // given
+        var process = createProcess(1L, "reg-1", OrganizationRegistrationStatus.PENDING);
+        given(organizationRegistrationProcessRepository.findAllById(any())).willReturn(List.of(process));
+
+        // when
+        var response = bulkDecisionService.organizationRegistrationDecisions(
+                new BulkOrganizationRegistrationDecisionRequestDto(List.of(1L, 1L), OrganizationRegistrationDecision.REJECTED));
+
+        // then
+        assertThat(response.results()).extracting(OrganizationRegistrationDecisionResultDto::outcome)
+                .containsExactly(OrganizationRegistrationDecisionOutcome.REJECTED);
+        assertThat(process.getAdminApprovedStatus()).isEqualTo(OrganizationRegistrationStatus.REJECTED);
+        then(organizationRegistrationProcessRepository).should().saveAll(List.of(process));
+        then(authServerAsyncGrpcClient).shouldHaveNoInteractions();
+        then(organizationRepository).shouldHaveNoInteractions();
+    }
+
+    private OrganizationRegistrationProcess createProcess(Long id, String registrationNumber, OrganizationRegistrationStatus status) {
+        OrganizationRegistrationProcess registrationProcess = new OrganizationRegistrationProcess();
+        registrationProcess.setId(id);
+        registrationProcess.setRegistrationNumber(registrationNumber);
+        registrationProcess.setOrganizationName("organization-" + id);
+        registrationProcess.setCountry(Country.GRC);
+        registrationProcess.setOrgAdminEmail("admin" + id + "@theodoreorg.com");
+        registrationProcess.setOrgAdminPhone("69000000" + id);
+        registrationProcess.setOrgAdminName("name");
+        registrationProcess.setOrgAdminSurname("surname");
+        registrationProcess.setAdminApprovedStatus(status);
+        return registrationProcess;
+    }
+
+}
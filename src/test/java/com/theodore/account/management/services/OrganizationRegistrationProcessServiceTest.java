@@ -8,14 +8,16 @@ import com.theodore.account.management.enums.OrganizationRegistrationStatus;
 import com.theodore.account.management.mappers.OrganizationMapper;
 import com.theodore.account.management.mappers.OrganizationRegistrationProcessMapper;
 import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.requests.CreateNewOrganizationAuthUserRequestDto;
 import com.theodore.account.management.models.dto.requests.OrganizationRegistrationDecisionRequestDto;
 import com.theodore.account.management.repositories.OrganizationRegistrationProcessRepository;
 import com.theodore.account.management.repositories.OrganizationRepository;
 import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.saga.SagaMetrics;
 import com.theodore.infrastructure.common.entities.enums.Country;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
 import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
-import com.theodore.queue.common.services.MessagingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -26,6 +28,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -64,14 +68,18 @@ class OrganizationRegistrationProcessServiceTest {
     @Mock
     private EmailTokenService emailTokenService;
     @Mock
-    private MessagingService messagingService;
+    private OutboxService outboxService;
 
+    @Spy
+    private SagaMetrics sagaMetrics = new SagaMetrics(new SimpleMeterRegistry());
     @Spy
     OrganizationRegistrationProcessMapper organizationRegistrationProcessMapper = Mappers.getMapper(OrganizationRegistrationProcessMapper.class);
     @Spy
     private UserProfileMapper userProfileMapper = Mappers.getMapper(UserProfileMapper.class);
     @Spy
     private OrganizationMapper organizationMapper = Mappers.getMapper(OrganizationMapper.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @Nested
     class OrganizationRegistrationDecisionTest {
@@ -238,6 +246,39 @@ class OrganizationRegistrationProcessServiceTest {
             then(sagaCompensationActionService).shouldHaveNoInteractions();
         }
 
+        @DisplayName("organizationRegistrationDecision: organization insert fails while the auth user is created alongside it (negative scenario)")
+        @Test
+        void givenOrganizationInsertFailure_whenDecidingOnOrganizationRegistration_thenAuthUserIsRolledBack() {
+            // given
+            var dto = new OrganizationRegistrationDecisionRequestDto(ID, APPROVED);
+
+            OrganizationRegistrationProcess registrationProcess = createNewOrganizationRegistrationProcess();
+
+            when(organizationRegistrationProcessRepository.findById(ID))
+                    .thenReturn(Optional.of(registrationProcess));
+
+            when(organizationRegistrationProcessRepository.save(registrationProcess))
+                    .thenReturn(registrationProcess);
+
+            when(organizationRepository.save(any())).thenThrow(new RuntimeException("duplicate registration number"));
+
+            when(authServerGrpcClient.authServerNewOrganizationUserRegistration(any(), any())).thenReturn(AUTH_USER);
+
+            // when
+            assertThatThrownBy(() -> organizationRegistrationProcessService.organizationRegistrationDecision(dto))
+                    .isInstanceOf(RuntimeException.class);
+
+            // then
+            ArgumentCaptor<CreateNewOrganizationAuthUserRequestDto> requestCaptor =
+                    ArgumentCaptor.forClass(CreateNewOrganizationAuthUserRequestDto.class);
+            then(authServerGrpcClient).should().authServerNewOrganizationUserRegistration(requestCaptor.capture(), any());
+            assertThat(requestCaptor.getValue().organizationRegNumber()).isEqualTo(ORG_REG_NUMBER);
+
+            then(sagaCompensationActionService).should().authServerCredentialsRollback(eq(USER_ID), eq(USER_EMAIL), any());
+            then(organizationRepository).should(never()).delete(any());
+            then(organizationRegistrationProcessRepository).should(times(2)).save(any());
+            then(userProfileRepository).shouldHaveNoInteractions();
+        }
 
         private OrganizationRegistrationProcess createNewOrganizationRegistrationProcess() {
             OrganizationRegistrationProcess registrationProcess = new OrganizationRegistrationProcess();
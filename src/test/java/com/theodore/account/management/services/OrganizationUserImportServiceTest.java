@@ -0,0 +1,260 @@
+package com.theodore.account.management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.entities.Organization;
+import com.theodore.account.management.entities.UserProfile;
+import com.theodore.account.management.enums.AccountConfirmedBy;
+import com.theodore.account.management.enums.OrganizationUserImportOutcome;
+import com.theodore.account.management.enums.UserImportFormat;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.dto.responses.AuthUserIdResponseDto;
+import com.theodore.account.management.models.dto.responses.OrganizationUserImportResultDto;
+import com.theodore.account.management.repositories.OrganizationRepository;
+import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.infrastructure.common.exceptions.NotFoundException;
+import com.theodore.queue.common.emails.EmailDto;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mapstruct.factory.Mappers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationUserImportServiceTest {
+
+    private static final String ORG_REG_NUMBER = "test-registration-number";
+    private static final String PASSWORD = "Passw0rd$$$1";
+    private static final String ADMIN_ID = "admin-id";
+    private static final String CSV_HEADER = "email,mobileNumber,name,surname,password\n";
+
+    @InjectMocks
+    private OrganizationUserImportServiceImpl organizationUserImportService;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private OrganizationUserRegistrationRequestRepository organizationUserRegistrationRequestRepository;
+    @Mock
+    private AuthServerAsyncGrpcClient authServerAsyncGrpcClient;
+    @Mock
+    private EmailTokenService emailTokenService;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private SagaCompensationActionService sagaCompensationActionService;
+
+    @Spy
+    private UserProfileMapper userProfileMapper = Mappers.getMapper(UserProfileMapper.class);
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("importOrganizationUsers: csv rows are registered with one lookup per chunk (positive scenario)")
+    void givenCsvUpload_whenImporting_thenRowsAreRegisteredInChunks() {
+        // given
+        var authUserIds = new AtomicInteger();
+        given(organizationRepository.findByRegistrationNumberIgnoreCase(ORG_REG_NUMBER)).willReturn(Optional.of(createOrganization()));
+        given(userProfileRepository.findExistingEmails(any())).willReturn(List.of());
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willAnswer(invocation -> ((List<?>) invocation.getArgument(0)).stream()
+                        .map(request -> CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-" + authUserIds.incrementAndGet())))
+                        .toList());
+        given(emailTokenService.createOrganizationUserToken(any(), any(), any(), eq(AccountConfirmedBy.USER))).willReturn("token");
+        int rows = OrganizationUserImportServiceImpl.CHUNK_SIZE + 1;
+        var csv = IntStream.rangeClosed(1, rows)
+                .mapToObj(i -> "user" + i + "@theodoreorg.com,69000000" + i + ",name,surname," + PASSWORD)
+                .collect(Collectors.joining("\n", CSV_HEADER, "\n"));
+
+        // when
+        List<List<OrganizationUserImportResultDto>> chunks = new ArrayList<>();
+        organizationUserImportService.importOrganizationUsers(ORG_REG_NUMBER, UserImportFormat.CSV, upload(csv), chunks::add);
+
+        // then
+        assertThat(chunks).hasSize(2);
+        assertThat(chunks.get(0)).hasSize(OrganizationUserImportServiceImpl.CHUNK_SIZE);
+        assertThat(chunks.stream().flatMap(List::stream))
+                .allMatch(result -> result.outcome() == OrganizationUserImportOutcome.REGISTERED)
+                .extracting(OrganizationUserImportResultDto::row)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, rows).mapToObj(Long::valueOf).toList());
+        then(organizationRepository).should(times(1)).findByRegistrationNumberIgnoreCase(any());
+        then(userProfileRepository).should(times(2)).findExistingEmails(any());
+        then(userProfileRepository).should(times(2)).saveAll(any());
+        then(organizationUserRegistrationRequestRepository).should(times(2)).saveAll(any());
+        then(outboxService).should(times(rows)).enqueueEmail(any(EmailDto.class));
+    }
+
+    @Test
+    @DisplayName("importOrganizationUsers: unusable rows are reported without stopping the import (negative scenario)")
+    void givenUnusableNdjsonRows_whenImporting_thenEachGetsItsOutcome() {
+        // given
+        given(organizationRepository.findByRegistrationNumberIgnoreCase(ORG_REG_NUMBER)).willReturn(Optional.of(createOrganization()));
+        given(userProfileRepository.findExistingEmails(any())).willReturn(List.of("taken@theodoreorg.com"));
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willReturn(List.of(CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-1"))));
+        var ndjson = String.join("\n",
+                json("new@theodoreorg.com"),
+                "{not json",
+                json(""),
+                json("NEW@theodoreorg.com"),
+                json("taken@theodoreorg.com"));
+
+        // when
+        List<OrganizationUserImportResultDto> results = new ArrayList<>();
+        organizationUserImportService.importOrganizationUsers(ORG_REG_NUMBER, UserImportFormat.NDJSON, upload(ndjson), results::addAll);
+
+        // then
+        assertThat(results).extracting(OrganizationUserImportResultDto::outcome)
+                .containsExactly(OrganizationUserImportOutcome.REGISTERED,
+                        OrganizationUserImportOutcome.INVALID,
+                        OrganizationUserImportOutcome.INVALID,
+                        OrganizationUserImportOutcome.DUPLICATE,
+                        OrganizationUserImportOutcome.REGISTERED);
+        assertThat(results.get(2).reason()).startsWith("email").doesNotContain(PASSWORD);
+        assertThat(results.get(4)).usingRecursiveComparison().ignoringFields("row", "email").isEqualTo(results.get(0));
+        then(authServerAsyncGrpcClient).should(times(1))
+                .authServerNewOrganizationUserRegistrations(argThat(requests -> requests.size() == 1), any());
+    }
+
+    @Test
+    @DisplayName("importOrganizationUsers: failed chunk rolls back its auth server users (negative scenario)")
+    void givenChunkCannotBeSaved_whenImporting_thenAuthServerUsersAreRolledBack() {
+        // given
+        given(organizationRepository.findByRegistrationNumberIgnoreCase(ORG_REG_NUMBER)).willReturn(Optional.of(createOrganization()));
+        given(userProfileRepository.findExistingEmails(any())).willReturn(List.of());
+        given(authServerAsyncGrpcClient.authServerNewOrganizationUserRegistrations(any(), any()))
+                .willReturn(List.of(CompletableFuture.completedFuture(new AuthUserIdResponseDto("auth-1"))));
+        given(userProfileRepository.saveAll(any())).willThrow(new IllegalStateException("constraint violation"));
+
+        // when
+        List<OrganizationUserImportResultDto> results = new ArrayList<>();
+        organizationUserImportService.importOrganizationUsers(ORG_REG_NUMBER, UserImportFormat.NDJSON,
+                upload(json("new@theodoreorg.com")), results::addAll);
+
+        // then
+        assertThat(results).extracting(OrganizationUserImportResultDto::outcome)
+                .containsExactly(OrganizationUserImportOutcome.FAILED);
+        then(sagaCompensationActionService).should().authServerCredentialsRollback(eq("auth-1"), eq("new@theodoreorg.com"), any());
+        then(outboxService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("importOrganizationUsers: unknown organization is rejected before any row is read (negative scenario)")
+    void givenUnknownOrganization_whenImporting_thenExceptionIsThrown() {
+        // given
+        given(organizationRepository.findByRegistrationNumberIgnoreCase(ORG_REG_NUMBER)).willReturn(Optional.empty());
+
+        // when / then
+        assertThatThrownBy(() -> organizationUserImportService.importOrganizationUsers(ORG_REG_NUMBER, UserImportFormat.CSV,
+                upload(CSV_HEADER), results -> {
+                }))
+                .isInstanceOf(NotFoundException.class);
+        then(authServerAsyncGrpcClient).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("checkImportAllowed: organization admin may import into their own organization (positive scenario)")
+    void givenAdminOfOrganization_whenCheckingImport_thenAllowed() {
+        // given
+        loggedInAs(ADMIN_ID, "ORGANIZATION_ADMIN");
+        given(userProfileRepository.findWithOrganizationById(ADMIN_ID))
+                .willReturn(Optional.of(new UserProfile(ADMIN_ID, "admin@theodoreorg.com", "6900000000", createOrganization())));
+
+        // when / then
+        assertThatCode(() -> organizationUserImportService.checkImportAllowed(ORG_REG_NUMBER.toUpperCase()))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("checkImportAllowed: admin of another organization is denied (negative scenario)")
+    void givenAdminOfOtherOrganization_whenCheckingImport_thenDenied() {
+        // given
+        loggedInAs(ADMIN_ID, "ORGANIZATION_ADMIN");
+        var otherOrganization = new Organization();
+        otherOrganization.setRegistrationNumber("other-registration-number");
+        given(userProfileRepository.findWithOrganizationById(ADMIN_ID))
+                .willReturn(Optional.of(new UserProfile(ADMIN_ID, "admin@otherorg.com", "6900000000", otherOrganization)));
+
+        // when / then
+        assertThatThrownBy(() -> organizationUserImportService.checkImportAllowed(ORG_REG_NUMBER))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    @Test
+    @DisplayName("checkImportAllowed: system admin may name any organization (positive scenario)")
+    void givenSystemAdmin_whenCheckingImport_thenAllowedWithoutProfileLookup() {
+        // given
+        loggedInAs(ADMIN_ID, "SYS_ADMIN");
+
+        // when / then
+        assertThatCode(() -> organizationUserImportService.checkImportAllowed(ORG_REG_NUMBER))
+                .doesNotThrowAnyException();
+        then(userProfileRepository).shouldHaveNoInteractions();
+    }
+
+    private static void loggedInAs(String userId, String role) {
+        var jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .subject(userId)
+                .build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new JwtAuthenticationToken(jwt, List.of(new SimpleGrantedAuthority("ROLE_" + role))));
+    }
+
+    private Organization createOrganization() {
+        var organization = new Organization();
+        organization.setRegistrationNumber(ORG_REG_NUMBER);
+        return organization;
+    }
+
+    private static String json(String email) {
+        return "{\"email\":\"" + email + "\",\"mobileNumber\":\"6900000000\",\"name\":\"name\",\"surname\":\"surname\",\"password\":\""
+                + PASSWORD + "\"}";
+    }
+
+    private static InputStream upload(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.theodore.account.management.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.entities.OutboxEvent;
+import com.theodore.account.management.repositories.OutboxEventRepository;
+import com.theodore.account.management.utils.OutboxRelayProps;
+import com.theodore.queue.common.emails.EmailDto;
+import com.theodore.queue.common.services.MessagingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+
+    private static final EmailDto EMAIL = new EmailDto(List.of("someone@mobilitymail.com"), "subject", "body");
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private MessagingService messagingService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private OutboxServiceImpl outboxService;
+
+    @BeforeEach
+    void setUp() {
+        var props = new OutboxRelayProps(10, 3, Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(2));
+        outboxService = new OutboxServiceImpl(outboxEventRepository, messagingService, objectMapper, props,
+                new TransactionTemplate(transactionManager));
+    }
+
+    private OutboxEvent emailEvent() throws Exception {
+        return new OutboxEvent(OutboxEvent.EventType.EMAIL, objectMapper.writeValueAsString(EMAIL));
+    }
+
+    @Test
+    @DisplayName("enqueueEmail: email is stored instead of being sent (positive scenario)")
+    void givenEmail_whenEnqueued_thenOutboxEventIsSavedAndNothingIsSent() {
+        // when
+        outboxService.enqueueEmail(EMAIL);
+
+        // then
+        var captor = ArgumentCaptor.forClass(OutboxEvent.class);
+        then(outboxEventRepository).should().save(captor.capture());
+        assertThat(captor.getValue().getEventType()).isEqualTo(OutboxEvent.EventType.EMAIL);
+        assertThat(captor.getValue().getPayload()).contains("someone@mobilitymail.com");
+        then(messagingService).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("publishDueEvents: published events are deleted in one batch (positive scenario)")
+    void givenDueEvents_whenPublishing_thenEventsAreSentAndDeleted() throws Exception {
+        // given
+        var event = emailEvent();
+        given(outboxEventRepository.findDueForUpdate(10)).willReturn(List.of(event));
+
+        // when
+        int pickedUp = outboxService.publishDueEvents();
+
+        // then
+        assertThat(pickedUp).isEqualTo(1);
+        then(messagingService).should().sendToEmailService(any(EmailDto.class));
+        then(outboxEventRepository).should().deleteAllInBatch(List.of(event));
+    }
+
+    @Test
+    @DisplayName("publishDueEvents: events are leased in one transaction and published outside of it (positive scenario)")
+    void givenDueEvents_whenPublishing_thenNoTransactionIsOpenWhilePublishing() throws Exception {
+        // given
+        var event = emailEvent();
+        given(outboxEventRepository.findDueForUpdate(10)).willReturn(List.of(event));
+
+        // when
+        outboxService.publishDueEvents();
+
+        // then
+        assertThat(event.getNextAttemptAt()).isAfter(Instant.now().plus(Duration.ofMinutes(1)));
+        var inOrder = inOrder(transactionManager, outboxEventRepository, messagingService);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).findDueForUpdate(10);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(messagingService).sendToEmailService(any(EmailDto.class));
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(outboxEventRepository).deleteAllInBatch(List.of(event));
+        inOrder.verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("publishDueEvents: broker failure keeps the event for a later attempt (negative scenario)")
+    void givenBrokerFailure_whenPublishing_thenEventIsRescheduled() throws Exception {
+        // given
+        var event = emailEvent();
+        given(outboxEventRepository.findDueForUpdate(10)).willReturn(List.of(event));
+        willThrow(new RuntimeException("broker unavailable")).given(messagingService).sendToEmailService(any(EmailDto.class));
+
+        // when
+        outboxService.publishDueEvents();
+
+        // then
+        assertThat(event.getAttempts()).isEqualTo(1);
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.PENDING);
+        assertThat(event.getNextAttemptAt()).isAfter(Instant.now());
+        assertThat(event.getLastError()).isEqualTo("broker unavailable");
+        then(outboxEventRepository).should().saveAll(List.of(event));
+        then(outboxEventRepository).should(never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    @DisplayName("publishDueEvents: event is marked as failed after the last attempt (negative scenario)")
+    void givenLastAttemptFails_whenPublishing_thenEventIsMarkedAsFailed() throws Exception {
+        // given
+        var event = emailEvent();
+        event.setAttempts(2);
+        given(outboxEventRepository.findDueForUpdate(10)).willReturn(List.of(event));
+        willThrow(new RuntimeException("broker unavailable")).given(messagingService).sendToEmailService(any(EmailDto.class));
+
+        // when
+        outboxService.publishDueEvents();
+
+        // then
+        assertThat(event.getStatus()).isEqualTo(OutboxEvent.EventStatus.FAILED);
+    }
+
+}
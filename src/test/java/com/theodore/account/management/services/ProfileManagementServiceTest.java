@@ -0,0 +1,99 @@
+package com.theodore.account.management.services;
+
+import com.theodore.account.management.cache.TwoLevelCache;
+import com.theodore.account.management.mappers.UserProfileMapper;
+import com.theodore.account.management.models.UserIdAndEmail;
+import com.theodore.account.management.models.dto.requests.UserEmailsRequestDto;
+import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.utils.CacheNames;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProfileManagementServiceTest {
+
+    private static final String CACHED_USER_ID = "cached-user-id";
+    private static final String CACHED_EMAIL = "cached@mobilitymail.com";
+    private static final String STORED_USER_ID = "stored-user-id";
+    private static final String STORED_EMAIL = "stored@mobilitymail.com";
+    private static final String UNKNOWN_USER_ID = "unknown-user-id";
+
+    @InjectMocks
+    private ProfileManagementServiceImpl profileManagementService;
+
+    @Mock
+    private UserProfileRepository userProfileRepository;
+    @Mock
+    private SagaCompensationActionService sagaCompensationActionService;
+    @Mock
+    private UserProfileMapper userProfileMapper;
+    @Mock
+    private AuthServerGrpcClient authServerGrpcClient;
+    @Mock
+    private CacheManager cacheManager;
+    @Mock
+    private TwoLevelCache cache;
+
+    @Test
+    @DisplayName("getUserEmailsByUserIds: cache hits are not queried and misses are back-filled (positive scenario)")
+    void givenSomeEmailsCached_whenGettingEmails_thenOnlyMissesAreQueriedAndCached() {
+        // given
+        var userIds = List.of(CACHED_USER_ID, STORED_USER_ID, UNKNOWN_USER_ID, STORED_USER_ID);
+        given(cacheManager.getCache(CacheNames.USER_EMAIL_FROM_ID)).willReturn(cache);
+        given(cache.getAll(anyCollection())).willReturn(Map.of(CACHED_USER_ID, CACHED_EMAIL));
+        given(userProfileRepository.findEmailsByIdIn(List.of(STORED_USER_ID, UNKNOWN_USER_ID)))
+                .willReturn(List.of(new UserIdAndEmail(STORED_USER_ID, STORED_EMAIL)));
+
+        // when
+        var emails = profileManagementService.getUserEmailsByUserIds(userIds);
+
+        // then
+        assertThat(emails).containsOnly(
+                Map.entry(CACHED_USER_ID, CACHED_EMAIL),
+                Map.entry(STORED_USER_ID, STORED_EMAIL)
+        );
+        then(cache).should().putAll(Map.of(STORED_USER_ID, STORED_EMAIL));
+    }
+
+    @Test
+    @DisplayName("getUserEmailsByUserIds: all emails cached, the database is not queried (positive scenario)")
+    void givenAllEmailsCached_whenGettingEmails_thenDatabaseIsNotQueried() {
+        // given
+        given(cacheManager.getCache(CacheNames.USER_EMAIL_FROM_ID)).willReturn(cache);
+        given(cache.getAll(anyCollection())).willReturn(Map.of(CACHED_USER_ID, CACHED_EMAIL));
+
+        // when
+        var emails = profileManagementService.getUserEmailsByUserIds(List.of(CACHED_USER_ID));
+
+        // then
+        assertThat(emails).containsOnly(Map.entry(CACHED_USER_ID, CACHED_EMAIL));
+        then(userProfileRepository).shouldHaveNoInteractions();
+    }
+
+    @Test
+    @DisplayName("getUserEmailsByUserIds: too many user ids are rejected (negative scenario)")
+    void givenTooManyUserIds_whenGettingEmails_thenIllegalArgumentIsThrown() {
+        // given
+        var userIds = IntStream.rangeClosed(0, UserEmailsRequestDto.MAX_USER_IDS).mapToObj(i -> "user-" + i).toList();
+
+        // when / then
+        assertThatThrownBy(() -> profileManagementService.getUserEmailsByUserIds(userIds))
+                .isInstanceOf(IllegalArgumentException.class);
+        then(userProfileRepository).shouldHaveNoInteractions();
+    }
+
+}
@@ -13,9 +13,10 @@ import com.theodore.account.management.repositories.OrganizationRegistrationProc
 import com.theodore.account.management.repositories.OrganizationRepository;
 import com.theodore.account.management.repositories.OrganizationUserRegistrationRequestRepository;
 import com.theodore.account.management.repositories.UserProfileRepository;
+import com.theodore.account.management.saga.SagaMetrics;
 import com.theodore.infrastructure.common.entities.enums.Country;
 import com.theodore.infrastructure.common.exceptions.NotFoundException;
-import com.theodore.queue.common.services.MessagingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -25,6 +26,8 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Optional;
 
@@ -57,7 +60,7 @@ class RegistrationServiceTest {
     @Mock
     private AuthServerGrpcClient authServerGrpcClient;
     @Mock
-    private MessagingService messagingService;
+    private OutboxService outboxService;
     @Mock
     private UserProfileRepository userProfileRepository;
     @Mock
@@ -65,10 +68,14 @@ class RegistrationServiceTest {
     @Mock
     private SagaCompensationActionService sagaCompensationActionService;
 
+    @Spy
+    private SagaMetrics sagaMetrics = new SagaMetrics(new SimpleMeterRegistry());
     @Spy
     private UserProfileMapper userProfileMapper;
     @Spy
     private OrganizationRegistrationProcessMapper organizationRegistrationProcessMapper;
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
 
     @Nested
     class RegisterNewSimpleUser {
@@ -92,7 +99,7 @@ class RegistrationServiceTest {
             then(userProfileRepository).should().existsByEmailAndMobileNumberAllIgnoreCase(any(), any());
             then(authServerGrpcClient).shouldHaveNoInteractions();
             then(emailTokenService).shouldHaveNoInteractions();
-            then(messagingService).shouldHaveNoInteractions();
+            then(outboxService).shouldHaveNoInteractions();
         }
 
         @DisplayName("registerNewSimpleUser: User is registered successfully (positive scenario)")
@@ -120,7 +127,8 @@ class RegistrationServiceTest {
             then(authServerGrpcClient).should().authServerNewSimpleUserRegistration(any());
             then(userProfileRepository).should().save(any());
             then(emailTokenService).should().createSimpleUserToken(savedProfile);
-            then(messagingService).should().sendToEmailService(any());
+            then(outboxService).should().enqueueEmail(any());
+            then(transactionTemplate).should().executeWithoutResult(any());
         }
 
         @DisplayName("registerNewSimpleUser: User is not saved successfully and a compensation is triggered (negative scenario)")
@@ -170,7 +178,7 @@ class RegistrationServiceTest {
             then(userProfileRepository).should().existsByEmailAndMobileNumberAllIgnoreCase(any(), any());
             then(authServerGrpcClient).shouldHaveNoInteractions();
             then(emailTokenService).shouldHaveNoInteractions();
-            then(messagingService).shouldHaveNoInteractions();
+            then(outboxService).shouldHaveNoInteractions();
         }
 
         @DisplayName("registerNewOrganizationUser: User already exists then return dto (negative scenario)")
@@ -196,7 +204,7 @@ class RegistrationServiceTest {
             then(organizationRepository).should().findByRegistrationNumberIgnoreCase(any());
             then(authServerGrpcClient).shouldHaveNoInteractions();
             then(emailTokenService).shouldHaveNoInteractions();
-            then(messagingService).shouldHaveNoInteractions();
+            then(outboxService).shouldHaveNoInteractions();
         }
 
         @DisplayName("registerNewOrganizationUser: User is registered successfully (positive scenario)")
@@ -228,7 +236,7 @@ class RegistrationServiceTest {
             then(authServerGrpcClient).should().authServerNewOrganizationUserRegistration(any(), any());
             then(userProfileRepository).should().save(any());
             then(emailTokenService).should().createOrganizationUserToken(any(), any(), any(), any());
-            then(messagingService).should().sendToEmailService(any());
+            then(outboxService).should().enqueueEmail(any());
         }
 
         @DisplayName("registerNewOrganizationUser: User is not saved successfully and a compensation is triggered (negative scenario)")
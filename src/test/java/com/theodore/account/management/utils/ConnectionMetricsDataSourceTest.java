@@ -0,0 +1,147 @@
+package com.theodore.account.management.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+class ConnectionMetricsDataSourceTest {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection pooledConnection = mock(Connection.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ConnectionMetricsDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        given(pool.getConnection()).willReturn(pooledConnection);
+        dataSource = new ConnectionMetricsDataSource(pool, () -> meterRegistry,
+                new DataSourceMetricsProps(true, List.of(0.99), true));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    @DisplayName("getConnection: hold time is recorded once under the mapped endpoint (positive scenario)")
+    void givenRequest_whenConnectionIsClosedTwice_thenHoldTimeIsRecordedOnce() throws Exception {
+        // given
+        var request = new MockHttpServletRequest("POST", "/confirmation/org-user");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/confirmation/org-user");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // when
+        var connection = dataSource.getConnection();
+        connection.close();
+        connection.close();
+
+        // then
+        var timer = meterRegistry.find(ConnectionMetricsDataSource.HOLD_TIMER)
+                .tag("endpoint", "POST /confirmation/org-user").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.ACQUIRE_TIMER)
+                .tag("endpoint", "POST /confirmation/org-user").timer().count()).isEqualTo(1);
+        then(pooledConnection).should(times(2)).close();
+    }
+
+    @Test
+    @DisplayName("getConnection: threads waiting for the pool are counted as pending until served (positive scenario)")
+    void givenExhaustedPool_whenWaitingForConnection_thenPendingIsReported() throws Exception {
+        // given
+        var release = new CountDownLatch(1);
+        given(pool.getConnection()).willAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return pooledConnection;
+        });
+        var endpoint = new ConnectionMetricsEndpoint(meterRegistry);
+
+        // when
+        Future<Connection> waiting;
+        ConnectionMetricsEndpoint.ConnectionsSummary whileWaiting;
+        try (var executor = Executors.newSingleThreadExecutor()) {
+            waiting = executor.submit(() -> dataSource.getConnection());
+            await(() -> meterRegistry.find(ConnectionMetricsDataSource.PENDING_GAUGE).gauge() != null
+                    && meterRegistry.find(ConnectionMetricsDataSource.PENDING_GAUGE).gauge().value() == 1);
+            whileWaiting = endpoint.connections();
+            release.countDown();
+        }
+        waiting.get().close();
+
+        // then
+        assertThat(whileWaiting.endpoints().get(ConnectionMetricsDataSource.NO_REQUEST).pending()).isEqualTo(1);
+        var summary = endpoint.connections().endpoints().get(ConnectionMetricsDataSource.NO_REQUEST);
+        assertThat(summary.pending()).isZero();
+        assertThat(summary.acquire().count()).isEqualTo(1);
+        assertThat(summary.hold().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("getConnection: failed acquisition is timed and not left pending (negative scenario)")
+    void givenPoolTimesOut_whenGettingConnection_thenAcquireIsRecorded() throws Exception {
+        // given
+        given(pool.getConnection()).willThrow(new SQLTransientConnectionException("Connection is not available"));
+
+        // when / then
+        assertThatThrownBy(() -> dataSource.getConnection()).isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.ACQUIRE_TIMER).timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.PENDING_GAUGE).gauge().value()).isZero();
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.HOLD_TIMER).timer()).isNull();
+    }
+
+    @Test
+    @DisplayName("getConnection: connections taken outside of a request are tagged as such (positive scenario)")
+    void givenNoRequest_whenConnectionIsClosed_thenRecordedWithoutEndpoint() throws Exception {
+        // when
+        dataSource.getConnection().close();
+
+        // then
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.HOLD_TIMER)
+                .tag("endpoint", ConnectionMetricsDataSource.NO_REQUEST).timer()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("getConnection: connection is not recorded until it is given back (negative scenario)")
+    void givenOpenConnection_whenNotClosed_thenNothingIsRecorded() throws Exception {
+        // when
+        var connection = dataSource.getConnection();
+        connection.createStatement();
+
+        // then
+        assertThat(meterRegistry.find(ConnectionMetricsDataSource.HOLD_TIMER).timer()).isNull();
+        assertThat(DataSourceUtils.getTargetConnection(connection)).isSameAs(pooledConnection);
+        then(pooledConnection).should().createStatement();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+}
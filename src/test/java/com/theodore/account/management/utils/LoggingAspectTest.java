@@ -0,0 +1,95 @@
+package com.theodore.account.management.utils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.*;
+
+class LoggingAspectTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LoggingAspect aspect(List<String> exclude) {
+        return new LoggingAspect(meterRegistry,
+                new MethodMetricsProps(true, List.of(0.5, 0.99, 0.999), false, exclude, Duration.ofSeconds(2)));
+    }
+
+    private ProceedingJoinPoint joinPoint(String methodName) throws Throwable {
+        var signature = mock(MethodSignature.class);
+        given(signature.getMethod()).willReturn(SampleService.class.getDeclaredMethod(methodName));
+        var joinPoint = mock(ProceedingJoinPoint.class);
+        given(joinPoint.getTarget()).willReturn(new SampleService());
+        given(joinPoint.getSignature()).willReturn(signature);
+        return joinPoint;
+    }
+
+    @Test
+    @DisplayName("monitor: calls of a method are recorded into one timer with percentiles (positive scenario)")
+    void givenRepeatedCalls_whenMonitoring_thenSameTimerIsReused() throws Throwable {
+        // given
+        var aspect = aspect(List.of());
+        var joinPoint = joinPoint("register");
+        given(joinPoint.proceed()).willReturn("done");
+
+        // when
+        aspect.monitor(joinPoint);
+        var result = aspect.monitor(joinPoint);
+
+        // then
+        assertThat(result).isEqualTo("done");
+        var timer = meterRegistry.get(LoggingAspect.METHOD_TIMER)
+                .tag("class", "SampleService").tag("method", "register")
+                .tag("layer", "service").tag("outcome", "success").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.takeSnapshot().percentileValues()).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("monitor: failed call is recorded as an error and rethrown (negative scenario)")
+    void givenFailingCall_whenMonitoring_thenErrorTimerIsUsed() throws Throwable {
+        // given
+        var aspect = aspect(List.of());
+        var joinPoint = joinPoint("register");
+        given(joinPoint.proceed()).willThrow(new IllegalStateException("boom"));
+
+        // when / then
+        assertThatThrownBy(() -> aspect.monitor(joinPoint)).isInstanceOf(IllegalStateException.class);
+        assertThat(meterRegistry.get(LoggingAspect.METHOD_TIMER).tag("outcome", "error").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("monitor: excluded methods are not timed (positive scenario)")
+    void givenExcludedMethod_whenMonitoring_thenNoTimerIsRegistered() throws Throwable {
+        // given
+        var aspect = aspect(List.of("SampleService.lookup"));
+        var joinPoint = joinPoint("lookup");
+        given(joinPoint.proceed()).willReturn("cached");
+
+        // when
+        var result = aspect.monitor(joinPoint);
+
+        // then
+        assertThat(result).isEqualTo("cached");
+        assertThat(meterRegistry.find(LoggingAspect.METHOD_TIMER).timers()).isEmpty();
+    }
+
+    static class SampleService {
+
+        String register() {
+            return "done";
+        }
+
+        String lookup() {
+            return "cached";
+        }
+    }
+
+}
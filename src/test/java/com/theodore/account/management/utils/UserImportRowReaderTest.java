@@ -0,0 +1,77 @@
+package com.theodore.account.management.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theodore.account.management.enums.UserImportFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UserImportRowReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("next: csv columns are read by header name and quoted values are unescaped (positive scenario)")
+    void givenCsvWithQuotedValues_whenReading_thenValuesAreUnescaped() throws IOException {
+        // given
+        var csv = "password,email,name,surname,mobileNumber\n"
+                + "\"Pa,ss\"\"w0rd\",user@theodoreorg.com,name,surname,6900000000\n"
+                + "\n"
+                + "only,three,values\n";
+
+        // when
+        try (var reader = reader(csv, UserImportFormat.CSV)) {
+            var first = reader.next();
+            var second = reader.next();
+
+            // then
+            assertThat(first.row()).isEqualTo(1);
+            assertThat(first.user().email()).isEqualTo("user@theodoreorg.com");
+            assertThat(first.user().password()).isEqualTo("Pa,ss\"w0rd");
+            assertThat(second.row()).isEqualTo(2);
+            assertThat(second.user()).isNull();
+            assertThat(second.error()).isEqualTo("Malformed csv row");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("next: csv header without the required columns is rejected (negative scenario)")
+    void givenCsvWithoutRequiredColumns_whenReading_thenExceptionIsThrown() throws IOException {
+        // given
+        try (var reader = reader("email,name\nuser@theodoreorg.com,name\n", UserImportFormat.CSV)) {
+
+            // when / then
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    @DisplayName("next: malformed ndjson line does not stop the following ones (negative scenario)")
+    void givenMalformedNdjsonLine_whenReading_thenNextLineIsStillRead() throws IOException {
+        // given
+        var ndjson = "{broken\n{\"email\":\"user@theodoreorg.com\"}\n";
+
+        // when
+        try (var reader = reader(ndjson, UserImportFormat.NDJSON)) {
+            var first = reader.next();
+            var second = reader.next();
+
+            // then
+            assertThat(first.error()).isEqualTo("Malformed json row");
+            assertThat(second.row()).isEqualTo(2);
+            assertThat(second.user().email()).isEqualTo("user@theodoreorg.com");
+        }
+    }
+
+    private UserImportRowReader reader(String content, UserImportFormat format) {
+        return new UserImportRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, objectMapper);
+    }
+
+}
@@ -0,0 +1,112 @@
+package com.theodore.account.management.utils;
+
+import com.theodore.account.management.services.JobLeaseService;
+import com.theodore.account.management.services.VerificationTokenPartitionService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.*;
+
+class VerificationTokenCleanerTest {
+
+    private final VerificationTokenPartitionService partitionService = mock(VerificationTokenPartitionService.class);
+    private final JobLeaseService jobLeaseService = mock(JobLeaseService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private VerificationTokenCleaner cleaner;
+
+    @BeforeEach
+    void setUp() {
+        given(jobLeaseService.runExclusively(eq(VerificationTokenCleaner.JOB_NAME), any(), any(), any()))
+                .willAnswer(invocation -> {
+                    invocation.<Runnable>getArgument(3).run();
+                    return true;
+                });
+        cleaner = new VerificationTokenCleaner(partitionService, jobLeaseService,
+                new TokenCleanupProps(Duration.ofDays(7), 5, Duration.ofMinutes(10), Duration.ofMinutes(1)),
+                meterRegistry);
+    }
+
+    @Test
+    @DisplayName("cleanVerificationTokens: partitions of the coming days are created from today (positive scenario)")
+    void givenPartitionsAhead_whenCleaning_thenPartitionsAreCreatedFromToday() {
+        // given
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+
+        // when
+        cleaner.cleanVerificationTokens();
+
+        // then
+        then(partitionService).should().createPartitions(argThat(day -> !day.isBefore(today)), eq(5));
+    }
+
+    @Test
+    @DisplayName("cleanVerificationTokens: partitions past the retention period are dropped (positive scenario)")
+    void givenRetention_whenCleaning_thenPartitionsBeforeCutoffAreDropped() {
+        // given
+        Instant before = Instant.now().minus(Duration.ofDays(7));
+        given(partitionService.dropPartitionsBefore(any(Instant.class))).willReturn(2);
+
+        // when
+        cleaner.cleanVerificationTokens();
+
+        // then
+        then(partitionService).should().dropPartitionsBefore(
+                argThat(cutoff -> !cutoff.isBefore(before) && cutoff.isBefore(Instant.now().minus(Duration.ofDays(6)))));
+        assertThat(meterRegistry.get("verification.token.cleanup.partitions.dropped").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("verification.token.cleanup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cleanVerificationTokens: expired tokens of the default partition are deleted and counted (positive scenario)")
+    void givenExpiredTokensInDefaultPartition_whenCleaning_thenTheyAreDeleted() {
+        // given
+        given(partitionService.deleteExpiredFromDefaultPartition(any(Instant.class))).willReturn(3);
+
+        // when
+        cleaner.cleanVerificationTokens();
+
+        // then
+        then(partitionService).should().deleteExpiredFromDefaultPartition(
+                argThat(cutoff -> cutoff.isBefore(Instant.now().minus(Duration.ofDays(6)))));
+        assertThat(meterRegistry.get("verification.token.cleanup.default.deleted").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("cleanVerificationTokens: failure is recorded without propagating (negative scenario)")
+    void givenPartitionFailure_whenCleaning_thenRunIsStillTimed() {
+        // given
+        given(partitionService.createPartitions(any(), anyInt())).willThrow(new IllegalStateException("boom"));
+
+        // when
+        cleaner.cleanVerificationTokens();
+
+        // then
+        then(partitionService).should(never()).dropPartitionsBefore(any());
+        assertThat(meterRegistry.get("verification.token.cleanup.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cleanVerificationTokens: nothing is touched while another node holds the lease (negative scenario)")
+    void givenLeaseHeldElsewhere_whenCleaning_thenNothingIsDone() {
+        // given
+        given(jobLeaseService.runExclusively(eq(VerificationTokenCleaner.JOB_NAME), any(), any(), any())).willReturn(false);
+
+        // when
+        cleaner.cleanVerificationTokens();
+
+        // then
+        then(partitionService).shouldHaveNoInteractions();
+    }
+
+}